@@ -0,0 +1,75 @@
+package android.location;
+
+/**
+ * JVM stand-in for the Android framework class, covering the accessors the plugin uses.
+ */
+public class Location {
+
+    private String provider;
+    private double latitude;
+    private double longitude;
+    private float accuracy;
+    private double altitude;
+    private float speed;
+    private float bearing;
+    private long time;
+    private boolean hasAccuracy;
+    private boolean hasAltitude;
+    private boolean hasSpeed;
+    private boolean hasBearing;
+
+    public Location(String provider) {
+        this.provider = provider;
+    }
+
+    public Location(Location l) {
+        set(l);
+    }
+
+    public void set(Location l) {
+        provider = l.provider;
+        latitude = l.latitude;
+        longitude = l.longitude;
+        accuracy = l.accuracy;
+        altitude = l.altitude;
+        speed = l.speed;
+        bearing = l.bearing;
+        time = l.time;
+        hasAccuracy = l.hasAccuracy;
+        hasAltitude = l.hasAltitude;
+        hasSpeed = l.hasSpeed;
+        hasBearing = l.hasBearing;
+    }
+
+    public void reset() {
+        latitude = 0;
+        longitude = 0;
+        time = 0;
+        hasAccuracy = false;
+        hasAltitude = false;
+        hasSpeed = false;
+        hasBearing = false;
+    }
+
+    public String getProvider() { return provider; }
+    public void setProvider(String provider) { this.provider = provider; }
+    public double getLatitude() { return latitude; }
+    public void setLatitude(double latitude) { this.latitude = latitude; }
+    public double getLongitude() { return longitude; }
+    public void setLongitude(double longitude) { this.longitude = longitude; }
+    public float getAccuracy() { return accuracy; }
+    public void setAccuracy(float accuracy) { this.accuracy = accuracy; hasAccuracy = true; }
+    public boolean hasAccuracy() { return hasAccuracy; }
+    public double getAltitude() { return altitude; }
+    public void setAltitude(double altitude) { this.altitude = altitude; hasAltitude = true; }
+    public boolean hasAltitude() { return hasAltitude; }
+    public float getSpeed() { return speed; }
+    public void setSpeed(float speed) { this.speed = speed; hasSpeed = true; }
+    public boolean hasSpeed() { return hasSpeed; }
+    public float getBearing() { return bearing; }
+    public void setBearing(float bearing) { this.bearing = bearing; hasBearing = true; }
+    public boolean hasBearing() { return hasBearing; }
+    public long getTime() { return time; }
+    public void setTime(long time) { this.time = time; }
+
+}
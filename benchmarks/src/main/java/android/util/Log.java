@@ -0,0 +1,13 @@
+package android.util;
+
+/**
+ * JVM stand-in for the Android framework class.
+ */
+public final class Log {
+
+    public static int d(String tag, String msg) { return 0; }
+    public static int w(String tag, String msg) { return 0; }
+    public static int e(String tag, String msg) { return 0; }
+    public static int e(String tag, String msg, Throwable tr) { return 0; }
+
+}
@@ -0,0 +1,102 @@
+package io.radar.cordova.benchmarks;
+
+import android.location.Location;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.radar.cordova.RadarCordovaApproximateRouter;
+import io.radar.cordova.RadarCordovaDecoder;
+import io.radar.sdk.Radar;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecoderBenchmark {
+
+    // 1 = a single trackOnce/getDistance origin, 25 = a searchPlaces-sized list, 625 = a 25x25 getMatrix side
+    @Param({"1", "25", "625"})
+    public int coordinateCount;
+
+    private JSONArray coordinates;
+    private JSONArray coordinatePairs;
+    private JSONArray modes;
+    private double[] distances;
+    private JSONArray strings;
+    private JSONObject metadata;
+
+    @Setup
+    public void setup() {
+        coordinates = Fixtures.coordinates(coordinateCount);
+        coordinatePairs = Fixtures.coordinatePairs(coordinateCount);
+        modes = new JSONArray().put("foot").put("CAR").put("Truck");
+        double[][] decoded = RadarCordovaDecoder.coordinatesForArray(coordinates);
+        distances = RadarCordovaApproximateRouter.distances(decoded[0], decoded[1], decoded[0], decoded[1]);
+        strings = Fixtures.strings(10);
+        metadata = Fixtures.metadata(20);
+    }
+
+    @Benchmark
+    public double[][] coordinatesForArray() {
+        return RadarCordovaDecoder.coordinatesForArray(coordinates);
+    }
+
+    @Benchmark
+    public Location[] locationsForArray() {
+        return RadarCordovaDecoder.locationsForCoordinates(RadarCordovaDecoder.coordinatesForArray(coordinates));
+    }
+
+    @Benchmark
+    public double[][] coordinatesForPairs() {
+        return RadarCordovaDecoder.coordinatesForArray(coordinatePairs);
+    }
+
+    @Benchmark
+    public Location[] reusableLocationsForArray() {
+        return RadarCordovaDecoder.reusableLocationsForCoordinates(RadarCordovaDecoder.coordinatesForArray(coordinates), RadarCordovaDecoder.SLOT_ORIGINS);
+    }
+
+    @Benchmark
+    public EnumSet<Radar.RadarRouteMode> routeModesForArray() {
+        return RadarCordovaDecoder.routeModesForArray(modes);
+    }
+
+    @Benchmark
+    public Radar.RadarRouteUnits routeUnitsForString() {
+        return RadarCordovaDecoder.routeUnitsForString("metric");
+    }
+
+    @Benchmark
+    public int[] nearestIndices() {
+        return RadarCordovaApproximateRouter.nearestIndices(distances, 0, coordinateCount, 5);
+    }
+
+    @Benchmark
+    public String[] stringArrayForArray() {
+        return RadarCordovaDecoder.stringArrayForArray(strings);
+    }
+
+    @Benchmark
+    public Map<String, String> stringMapForJSONObject() {
+        return RadarCordovaDecoder.stringMapForJSONObject(metadata);
+    }
+
+}
@@ -0,0 +1,131 @@
+package io.radar.cordova.benchmarks;
+
+import android.location.Location;
+
+import java.util.Random;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import io.radar.sdk.model.RadarEvent;
+import io.radar.sdk.model.RadarUser;
+
+final class Fixtures {
+
+    private static final Random random = new Random(42);
+
+    private Fixtures() {
+    }
+
+    static JSONArray coordinates(int count) {
+        JSONArray arr = new JSONArray();
+        for (int i = 0; i < count; i++) {
+            JSONObject coordinateObj = new JSONObject();
+            coordinateObj.put("latitude", 40.7 + random.nextDouble() * 0.1);
+            coordinateObj.put("longitude", -74.0 + random.nextDouble() * 0.1);
+            arr.put(coordinateObj);
+        }
+        return arr;
+    }
+
+    static JSONArray coordinatePairs(int count) {
+        JSONArray arr = new JSONArray();
+        for (int i = 0; i < count; i++) {
+            arr.put(40.7 + random.nextDouble() * 0.1);
+            arr.put(-74.0 + random.nextDouble() * 0.1);
+        }
+        return arr;
+    }
+
+    static JSONArray strings(int count) {
+        JSONArray arr = new JSONArray();
+        for (int i = 0; i < count; i++) {
+            arr.put("category-" + i);
+        }
+        return arr;
+    }
+
+    static JSONObject metadata(int count) {
+        JSONObject obj = new JSONObject();
+        for (int i = 0; i < count; i++) {
+            obj.put("key" + i, "value-" + i);
+        }
+        return obj;
+    }
+
+    static Location location() {
+        Location location = new Location("RadarCordovaPlugin");
+        location.setLatitude(40.78382);
+        location.setLongitude(-73.97536);
+        location.setAccuracy(12.5f);
+        location.setAltitude(18.2);
+        location.setSpeed(1.4f);
+        location.setBearing(270);
+        location.setTime(1700000000000L);
+        return location;
+    }
+
+    static JSONObject geofence(int i) {
+        JSONObject geofence = new JSONObject();
+        geofence.put("_id", "5ca7dd72208530002b30ef6" + i);
+        geofence.put("description", "Store #" + i);
+        geofence.put("tag", "store");
+        geofence.put("externalId", "store-" + i);
+        geofence.put("metadata", metadata(4));
+        return geofence;
+    }
+
+    static RadarUser user(int geofenceCount) {
+        JSONObject location = new JSONObject();
+        location.put("type", "Point");
+        location.put("coordinates", new JSONArray().put(-73.97536).put(40.78382));
+
+        JSONObject country = new JSONObject();
+        country.put("_id", "5cf694f66da6e0ff13e1fd40");
+        country.put("type", "country");
+        country.put("code", "US");
+        country.put("name", "United States");
+        country.put("flag", "🇺🇸");
+
+        JSONArray geofences = new JSONArray();
+        for (int i = 0; i < geofenceCount; i++) {
+            geofences.put(geofence(i));
+        }
+
+        JSONObject user = new JSONObject();
+        user.put("_id", "5b8dd4f2e0b4a0001a2c24c5");
+        user.put("userId", "user-1234");
+        user.put("deviceId", "C305F2DB-56DC-404F-B6C1-BC52F0B680D8");
+        user.put("description", "Benchmark user");
+        user.put("metadata", metadata(8));
+        user.put("location", location);
+        user.put("locationAccuracy", 12.5);
+        user.put("stopped", false);
+        user.put("foreground", true);
+        user.put("country", country);
+        user.put("geofences", geofences);
+        user.put("source", "FOREGROUND_LOCATION");
+        user.put("proxy", false);
+        user.put("mocked", false);
+        return new RadarUser(user);
+    }
+
+    static RadarEvent[] events(int count) {
+        RadarEvent[] events = new RadarEvent[count];
+        for (int i = 0; i < count; i++) {
+            JSONObject event = new JSONObject();
+            event.put("_id", "5ca7dd72208530002b30ef7" + i);
+            event.put("createdAt", "2023-11-14T22:13:20.000Z");
+            event.put("live", true);
+            event.put("type", "user.entered_geofence");
+            event.put("geofence", geofence(i));
+            event.put("confidence", 3);
+            event.put("duration", 0);
+            event.put("location", new JSONObject().put("type", "Point").put("coordinates", new JSONArray().put(-73.97536).put(40.78382)));
+            event.put("locationAccuracy", 12.5);
+            events[i] = new RadarEvent(event);
+        }
+        return events;
+    }
+
+}
@@ -0,0 +1,88 @@
+package io.radar.cordova.benchmarks;
+
+import android.location.Location;
+
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.radar.cordova.RadarCordovaCompactEncoder;
+import io.radar.cordova.RadarCordovaPayloads;
+import io.radar.cordova.RadarCordovaUserDelta;
+import io.radar.sdk.Radar;
+import io.radar.sdk.model.RadarEvent;
+import io.radar.sdk.model.RadarUser;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayloadBenchmark {
+
+    @Param({"1", "10"})
+    public int geofenceCount;
+
+    private Location location;
+    private RadarUser user;
+    private JSONObject userObj;
+    private String userJson;
+    private RadarEvent[] events;
+    private JSONArray eventsArr;
+    private RadarCordovaUserDelta userDelta;
+
+    @Setup
+    public void setup() {
+        location = Fixtures.location();
+        user = Fixtures.user(geofenceCount);
+        userObj = user.toJson();
+        userJson = userObj.toString();
+        events = Fixtures.events(geofenceCount);
+        eventsArr = RadarEvent.toJson(events);
+        userDelta = new RadarCordovaUserDelta();
+    }
+
+    @Benchmark
+    public String trackResult() {
+        return RadarCordovaPayloads.trackResult(Radar.RadarStatus.SUCCESS, location, events, user).toString();
+    }
+
+    @Benchmark
+    public String locationUpdate() {
+        return RadarCordovaPayloads.locationUpdate(location, userObj, false).toString();
+    }
+
+    @Benchmark
+    public String clientLocationUpdate() {
+        return RadarCordovaPayloads.clientLocationUpdate(location, false, Radar.RadarLocationSource.FOREGROUND_LOCATION.toString()).toString();
+    }
+
+    @Benchmark
+    public String eventsUpdate() {
+        return RadarCordovaPayloads.eventsUpdate(eventsArr, userObj, false, 1).toString();
+    }
+
+    @Benchmark
+    public byte[] compactLocationUpdate() {
+        return RadarCordovaCompactEncoder.encodeLocation(location, userJson, false);
+    }
+
+    @Benchmark
+    public String userDeltaEncode() {
+        return userDelta.encode(userObj).toString();
+    }
+
+}
@@ -0,0 +1,38 @@
+package io.radar.sdk;
+
+import android.location.Location;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * JVM stand-in for the Radar SDK entry point, covering the enums and serializers the plugin's
+ * marshalling code uses. {@link #jsonForLocation} mirrors the SDK's output shape.
+ */
+public class Radar {
+
+    public enum RadarStatus { SUCCESS, ERROR_PUBLISHABLE_KEY, ERROR_PERMISSIONS, ERROR_LOCATION, ERROR_BLUETOOTH, ERROR_NETWORK, ERROR_BAD_REQUEST, ERROR_UNAUTHORIZED, ERROR_PAYMENT_REQUIRED, ERROR_FORBIDDEN, ERROR_NOT_FOUND, ERROR_RATE_LIMIT, ERROR_SERVER, ERROR_UNKNOWN }
+
+    public enum RadarLocationSource { FOREGROUND_LOCATION, BACKGROUND_LOCATION, MANUAL_LOCATION, GEOFENCE_ENTER, GEOFENCE_DWELL, GEOFENCE_EXIT, MOCK_LOCATION, BEACON_ENTER, BEACON_EXIT, UNKNOWN }
+
+    public enum RadarRouteMode { FOOT, BIKE, CAR, TRUCK, MOTORBIKE }
+
+    public enum RadarRouteUnits { METRIC, IMPERIAL }
+
+    public static JSONObject jsonForLocation(Location location) {
+        try {
+            JSONObject obj = new JSONObject();
+            obj.put("latitude", location.getLatitude());
+            obj.put("longitude", location.getLongitude());
+            obj.put("accuracy", location.getAccuracy());
+            obj.put("altitude", location.getAltitude());
+            obj.put("speed", location.getSpeed());
+            obj.put("course", location.getBearing());
+            obj.put("timestamp", location.getTime());
+            return obj;
+        } catch (JSONException e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,10 @@
+package io.radar.sdk;
+
+/**
+ * JVM stand-in for the SDK tracking options, covering the desired accuracy enum the decoder maps to.
+ */
+public class RadarTrackingOptions {
+
+    public enum RadarTrackingOptionsDesiredAccuracy { HIGH, MEDIUM, LOW, NONE }
+
+}
@@ -0,0 +1,33 @@
+package io.radar.sdk.model;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * JVM stand-in for the SDK model. Wraps a prebuilt payload of realistic size.
+ */
+public class RadarEvent {
+
+    private final JSONObject json;
+
+    public RadarEvent(JSONObject json) {
+        this.json = json;
+    }
+
+    public JSONObject toJson() {
+        return new JSONObject(json.toString());
+    }
+
+    public static JSONArray toJson(RadarEvent[] events) {
+        if (events == null) {
+            return null;
+        }
+
+        JSONArray arr = new JSONArray();
+        for (RadarEvent event : events) {
+            arr.put(event.toJson());
+        }
+        return arr;
+    }
+
+}
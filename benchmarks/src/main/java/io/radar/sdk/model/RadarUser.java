@@ -0,0 +1,20 @@
+package io.radar.sdk.model;
+
+import org.json.JSONObject;
+
+/**
+ * JVM stand-in for the SDK model. Wraps a prebuilt payload of realistic size.
+ */
+public class RadarUser {
+
+    private final JSONObject json;
+
+    public RadarUser(JSONObject json) {
+        this.json = json;
+    }
+
+    public JSONObject toJson() {
+        return new JSONObject(json.toString());
+    }
+
+}
@@ -0,0 +1,252 @@
+package io.radar.cordova;
+
+import android.location.Location;
+
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+public class RadarCordovaAdaptiveTracking {
+
+    public enum Tier { EFFICIENT, RESPONSIVE, CONTINUOUS }
+
+    public interface Listener {
+        void onTransition(Tier tier, JSONObject transition);
+    }
+
+    private double movingSpeed = 2.5;
+    private double nearDistance = 200;
+    private double approachDistance = 1500;
+    private double lowBattery = 0.2;
+    private double criticalBattery = 0.1;
+    private double hysteresis = 0.2;
+    private double speedSmoothing = 0.3;
+    private long evaluationInterval = 5000;
+    private long minSwitchInterval = 30000;
+    private long downgradeDelay = 60000;
+
+    private final Executor switcher;
+
+    private Listener listener;
+    private long session;
+    private Tier tier = Tier.RESPONSIVE;
+    private String reason;
+    private long switchedAt;
+    private long evaluatedAt;
+    private Tier pendingTier;
+    private long pendingSince;
+    private String candidateReason;
+
+    private double speed = -1;
+    private double proximity = Double.POSITIVE_INFINITY;
+    private double batteryLevel = -1;
+    private boolean charging;
+
+    private long transitions;
+    private long suppressed;
+
+    public RadarCordovaAdaptiveTracking() {
+        this(Executors.newSingleThreadExecutor());
+    }
+
+    RadarCordovaAdaptiveTracking(Executor switcher) {
+        this.switcher = switcher;
+    }
+
+    public synchronized void setOptions(JSONObject optionsObj) {
+        movingSpeed = optionsObj.optDouble("movingSpeed", movingSpeed);
+        nearDistance = optionsObj.optDouble("nearDistance", nearDistance);
+        approachDistance = optionsObj.optDouble("approachDistance", approachDistance);
+        lowBattery = optionsObj.optDouble("lowBattery", lowBattery);
+        criticalBattery = optionsObj.optDouble("criticalBattery", criticalBattery);
+        hysteresis = Math.max(0, optionsObj.optDouble("hysteresis", hysteresis));
+        speedSmoothing = Math.max(0.01, Math.min(1, optionsObj.optDouble("speedSmoothing", speedSmoothing)));
+        evaluationInterval = optionsObj.optLong("evaluationInterval", evaluationInterval);
+        minSwitchInterval = optionsObj.optLong("minSwitchInterval", minSwitchInterval);
+        downgradeDelay = optionsObj.optLong("downgradeDelay", downgradeDelay);
+    }
+
+    public synchronized void start(Tier initialTier, Listener listener) {
+        this.listener = listener;
+        session++;
+        tier = initialTier;
+        reason = "initial";
+        switchedAt = System.currentTimeMillis();
+        evaluatedAt = 0;
+        pendingTier = null;
+        speed = -1;
+        proximity = Double.POSITIVE_INFINITY;
+    }
+
+    public synchronized void stop() {
+        listener = null;
+        session++;
+        pendingTier = null;
+    }
+
+    public synchronized boolean isStarted() {
+        return listener != null;
+    }
+
+    public synchronized boolean isDue(long now) {
+        return listener != null && now - evaluatedAt >= evaluationInterval;
+    }
+
+    public synchronized void updateBattery(double level, boolean charging) {
+        this.batteryLevel = level;
+        this.charging = charging;
+    }
+
+    public void evaluate(Location location, boolean stopped, double proximity, long now) {
+        final JSONObject transition;
+        Tier next;
+        final long session;
+
+        synchronized (this) {
+            if (listener == null) {
+                return;
+            }
+            evaluatedAt = now;
+
+            double fixSpeed = stopped ? 0 : location.hasSpeed() ? location.getSpeed() : -1;
+            if (fixSpeed >= 0) {
+                speed = speed < 0 ? fixSpeed : speed + speedSmoothing * (fixSpeed - speed);
+            }
+            this.proximity = proximity;
+
+            next = target(1);
+            String nextReason = candidateReason;
+            if (next == tier) {
+                pendingTier = null;
+                return;
+            }
+
+            if (next.ordinal() < tier.ordinal()) {
+                next = target(1 + hysteresis);
+                nextReason = candidateReason;
+                if (next.ordinal() >= tier.ordinal()) {
+                    pendingTier = null;
+                    return;
+                }
+
+                if (pendingTier != next) {
+                    pendingTier = next;
+                    pendingSince = now;
+                    return;
+                }
+                if (now - pendingSince < downgradeDelay) {
+                    return;
+                }
+            }
+
+            if (now - switchedAt < minSwitchInterval) {
+                suppressed++;
+                return;
+            }
+
+            try {
+                transition = new JSONObject();
+                transition.put("from", nameForTier(tier));
+                transition.put("to", nameForTier(next));
+                transition.put("reason", nextReason);
+                transition.put("speed", speed >= 0 ? speed : JSONObject.NULL);
+                transition.put("proximity", Double.isInfinite(proximity) ? JSONObject.NULL : proximity);
+                transition.put("batteryLevel", batteryLevel >= 0 ? batteryLevel : JSONObject.NULL);
+                transition.put("charging", charging);
+                transition.put("timestamp", now);
+            } catch (JSONException e) {
+                return;
+            }
+
+            tier = next;
+            reason = nextReason;
+            switchedAt = now;
+            pendingTier = null;
+            transitions++;
+            session = this.session;
+        }
+
+        final Tier switchTo = next;
+
+        // the switch runs off the receiver thread, and under the lock so a concurrent stop() cannot be undone by it
+        switcher.execute(new Runnable() {
+            @Override
+            public void run() {
+                synchronized (RadarCordovaAdaptiveTracking.this) {
+                    if (listener == null || RadarCordovaAdaptiveTracking.this.session != session || tier != switchTo) {
+                        return;
+                    }
+                    listener.onTransition(switchTo, transition);
+                }
+            }
+        });
+    }
+
+    public synchronized JSONObject getState() throws JSONException {
+        JSONObject obj = new JSONObject();
+        obj.put("enabled", listener != null);
+        obj.put("tier", nameForTier(tier));
+        obj.put("reason", reason);
+        obj.put("switchedAt", switchedAt);
+        obj.put("pendingTier", pendingTier != null ? nameForTier(pendingTier) : JSONObject.NULL);
+        obj.put("speed", speed >= 0 ? speed : JSONObject.NULL);
+        obj.put("proximity", Double.isInfinite(proximity) ? JSONObject.NULL : proximity);
+        obj.put("batteryLevel", batteryLevel >= 0 ? batteryLevel : JSONObject.NULL);
+        obj.put("charging", charging);
+        obj.put("transitions", transitions);
+        obj.put("suppressed", suppressed);
+        return obj;
+    }
+
+    public static Tier tierForString(String str, Tier defaultTier) {
+        if (str == null) {
+            return defaultTier;
+        }
+
+        for (Tier tier : Tier.values()) {
+            if (tier.name().equalsIgnoreCase(str)) {
+                return tier;
+            }
+        }
+        return defaultTier;
+    }
+
+    public static String nameForTier(Tier tier) {
+        return tier.name().toLowerCase(Locale.ROOT);
+    }
+
+    // relax > 1 widens every threshold in favor of the higher tier, so downgrades need a clear margin
+    private Tier target(double relax) {
+        boolean onBattery = !charging && batteryLevel >= 0;
+        if (onBattery && batteryLevel <= criticalBattery / relax) {
+            candidateReason = "battery_critical";
+            return Tier.EFFICIENT;
+        }
+
+        Tier target;
+        if (proximity <= nearDistance * relax) {
+            target = Tier.CONTINUOUS;
+            candidateReason = "arriving";
+        } else if (proximity <= approachDistance * relax) {
+            target = Tier.RESPONSIVE;
+            candidateReason = "approaching";
+        } else if (speed >= movingSpeed / relax) {
+            target = Tier.RESPONSIVE;
+            candidateReason = "moving";
+        } else {
+            target = Tier.EFFICIENT;
+            candidateReason = "stationary";
+        }
+
+        if (target == Tier.CONTINUOUS && onBattery && batteryLevel <= lowBattery / relax) {
+            target = Tier.RESPONSIVE;
+            candidateReason = "battery_low";
+        }
+
+        return target;
+    }
+
+}
@@ -0,0 +1,125 @@
+package io.radar.cordova;
+
+import java.util.Locale;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import io.radar.sdk.Radar;
+
+public class RadarCordovaApproximateRouter {
+
+    private static final double METERS_TO_FEET = 3.28084;
+    private static final double FEET_PER_MILE = 5280;
+
+    public static double speedForMode(Radar.RadarRouteMode mode) {
+        switch (mode) {
+            case FOOT:
+                return 1.4;
+            case BIKE:
+                return 4.2;
+            case TRUCK:
+                return 9.7;
+            case MOTORBIKE:
+            case CAR:
+            default:
+                return 11.1;
+        }
+    }
+
+    public static double detourFactorForMode(Radar.RadarRouteMode mode) {
+        return mode == Radar.RadarRouteMode.FOOT ? 1.2 : 1.3;
+    }
+
+    public static String keyForMode(Radar.RadarRouteMode mode) {
+        return mode.toString().toLowerCase(Locale.ROOT);
+    }
+
+    public static double[] distances(double[] originLatitudes, double[] originLongitudes, double[] destinationLatitudes, double[] destinationLongitudes) {
+        double[] distances = new double[originLatitudes.length * destinationLatitudes.length];
+        for (int i = 0; i < originLatitudes.length; i++) {
+            for (int j = 0; j < destinationLatitudes.length; j++) {
+                distances[i * destinationLatitudes.length + j] = RadarCordovaGeo.distance(originLatitudes[i], originLongitudes[i], destinationLatitudes[j], destinationLongitudes[j]);
+            }
+        }
+        return distances;
+    }
+
+    public static int[] nearestIndices(double[] distances, int offset, int count, int k) {
+        k = Math.min(k, count);
+        int[] nearest = new int[k];
+        int size = 0;
+        for (int j = 0; j < count; j++) {
+            double distance = distances[offset + j];
+            if (size == k && distance >= distances[offset + nearest[k - 1]]) {
+                continue;
+            }
+
+            int position = size < k ? size++ : k - 1;
+            while (position > 0 && distances[offset + nearest[position - 1]] > distance) {
+                nearest[position] = nearest[position - 1];
+                position--;
+            }
+            nearest[position] = j;
+        }
+        return nearest;
+    }
+
+    public static JSONObject routesJson(double geodesicMeters, Iterable<Radar.RadarRouteMode> modes, Radar.RadarRouteUnits units) throws JSONException {
+        JSONObject obj = new JSONObject();
+
+        JSONObject geodesic = new JSONObject();
+        geodesic.put("distance", distanceJson(geodesicMeters, units));
+        obj.put("geodesic", geodesic);
+
+        for (Radar.RadarRouteMode mode : modes) {
+            obj.put(keyForMode(mode), routeJson(geodesicMeters, mode, units));
+        }
+
+        return obj;
+    }
+
+    public static JSONArray matrixJson(double[] geodesicMeters, int originCount, int destinationCount, Radar.RadarRouteMode mode, Radar.RadarRouteUnits units) throws JSONException {
+        JSONArray matrix = new JSONArray();
+        for (int i = 0; i < originCount; i++) {
+            JSONArray row = new JSONArray();
+            for (int j = 0; j < destinationCount; j++) {
+                JSONObject route = routeJson(geodesicMeters[i * destinationCount + j], mode, units);
+                route.put("originIndex", i);
+                route.put("destinationIndex", j);
+                row.put(route);
+            }
+            matrix.put(row);
+        }
+        return matrix;
+    }
+
+    public static JSONObject routeJson(double geodesicMeters, Radar.RadarRouteMode mode, Radar.RadarRouteUnits units) throws JSONException {
+        double meters = geodesicMeters * detourFactorForMode(mode);
+        double minutes = meters / speedForMode(mode) / 60;
+
+        JSONObject duration = new JSONObject();
+        duration.put("value", minutes);
+        duration.put("text", Math.round(minutes) == 1 ? "1 min" : Math.round(minutes) + " mins");
+
+        JSONObject route = new JSONObject();
+        route.put("distance", distanceJson(meters, units));
+        route.put("duration", duration);
+        return route;
+    }
+
+    private static JSONObject distanceJson(double meters, Radar.RadarRouteUnits units) throws JSONException {
+        JSONObject distance = new JSONObject();
+        if (units == Radar.RadarRouteUnits.METRIC) {
+            distance.put("value", meters);
+            distance.put("text", meters < 1000 ? Math.round(meters) + " m" : String.format(Locale.US, "%.1f km", meters / 1000));
+        } else {
+            double feet = meters * METERS_TO_FEET;
+            distance.put("value", feet);
+            distance.put("text", feet < 1000 ? Math.round(feet) + " ft" : String.format(Locale.US, "%.1f mi", feet / FEET_PER_MILE));
+        }
+        return distance;
+    }
+
+}
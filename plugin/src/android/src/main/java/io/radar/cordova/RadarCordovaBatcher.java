@@ -0,0 +1,111 @@
+package io.radar.cordova;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.cordova.CallbackContext;
+import org.apache.cordova.PluginResult;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+public class RadarCordovaBatcher {
+
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    private final List<Object> pending = new ArrayList<Object>();
+    private CallbackContext callbackContext;
+    private ScheduledFuture<?> flushFuture;
+    private int maxBatchSize = 1;
+    private long flushInterval = 0;
+
+    public synchronized void setOptions(int maxBatchSize, long flushInterval) {
+        flush();
+
+        this.maxBatchSize = maxBatchSize;
+        this.flushInterval = flushInterval;
+    }
+
+    public synchronized boolean isEnabled() {
+        return maxBatchSize > 1 || flushInterval > 0;
+    }
+
+    public synchronized void add(CallbackContext callbackContext, Object update) {
+        if (!isEnabled()) {
+            PluginResult pluginResult = update instanceof byte[]
+                ? new PluginResult(PluginResult.Status.OK, RadarCordovaCompactEncoder.frame((byte[]) update))
+                : new PluginResult(PluginResult.Status.OK, (JSONObject) update);
+            pluginResult.setKeepCallback(true);
+            callbackContext.sendPluginResult(pluginResult);
+            return;
+        }
+
+        if (this.callbackContext != callbackContext) {
+            flush();
+            this.callbackContext = callbackContext;
+        }
+
+        if (!pending.isEmpty() && (pending.get(0) instanceof byte[]) != (update instanceof byte[])) {
+            flush();
+        }
+
+        pending.add(update);
+
+        if (maxBatchSize > 0 && pending.size() >= maxBatchSize) {
+            flush();
+        } else if (flushFuture == null && flushInterval > 0) {
+            flushFuture = scheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    flush();
+                }
+            }, flushInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public synchronized void flush() {
+        if (flushFuture != null) {
+            flushFuture.cancel(false);
+            flushFuture = null;
+        }
+
+        if (pending.isEmpty() || callbackContext == null) {
+            pending.clear();
+            return;
+        }
+
+        PluginResult pluginResult;
+        if (pending.get(0) instanceof byte[]) {
+            List<byte[]> records = new ArrayList<byte[]>();
+            for (Object update : pending) {
+                records.add((byte[]) update);
+            }
+            pluginResult = new PluginResult(PluginResult.Status.OK, RadarCordovaCompactEncoder.frame(records));
+        } else {
+            JSONArray arr = new JSONArray();
+            for (Object update : pending) {
+                arr.put(update);
+            }
+            pluginResult = new PluginResult(PluginResult.Status.OK, arr);
+        }
+        pending.clear();
+
+        pluginResult.setKeepCallback(true);
+        callbackContext.sendPluginResult(pluginResult);
+    }
+
+    public synchronized void clear() {
+        if (flushFuture != null) {
+            flushFuture.cancel(false);
+            flushFuture = null;
+        }
+
+        pending.clear();
+        callbackContext = null;
+    }
+
+}
@@ -0,0 +1,177 @@
+package io.radar.cordova;
+
+import android.location.Location;
+import android.util.Log;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import io.radar.sdk.Radar;
+import io.radar.sdk.model.RadarEvent;
+import io.radar.sdk.model.RadarUser;
+
+public class RadarCordovaBulkTracker {
+
+    public interface Listener {
+        void onComplete(JSONObject result);
+    }
+
+    private final Location[] locations;
+    private final Integer[] order;
+    private final RadarCordovaOfflineQueue queue;
+    private final Listener listener;
+
+    private final Radar.RadarStatus[] statuses;
+    private final JSONArray[] events;
+    private final boolean[] queued;
+    private RadarUser lastUser;
+    private int completed;
+
+    public RadarCordovaBulkTracker(final Location[] locations, RadarCordovaOfflineQueue queue, Listener listener) {
+        this.locations = locations;
+        this.queue = queue;
+        this.listener = listener;
+
+        statuses = new Radar.RadarStatus[locations.length];
+        events = new JSONArray[locations.length];
+        queued = new boolean[locations.length];
+
+        // the server derives entries, exits and trip state from point order, so send oldest first
+        order = new Integer[locations.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer a, Integer b) {
+                long timeA = locations[a].getTime();
+                long timeB = locations[b].getTime();
+                return timeA < timeB ? -1 : timeA > timeB ? 1 : 0;
+            }
+        });
+    }
+
+    public static Location[] locationsForArray(JSONArray arr) throws JSONException {
+        long now = System.currentTimeMillis();
+        Location[] locations = new Location[arr.length()];
+        for (int i = 0; i < arr.length(); i++) {
+            JSONObject locationObj = arr.getJSONObject(i);
+            Location location = new Location("RadarCordovaPlugin");
+            location.setLatitude(locationObj.getDouble("latitude"));
+            location.setLongitude(locationObj.getDouble("longitude"));
+            location.setAccuracy((float) locationObj.optDouble("accuracy", 0));
+            location.setTime(locationObj.optLong("timestamp", now));
+            locations[i] = location;
+        }
+        return locations;
+    }
+
+    public void start() {
+        if (locations.length == 0) {
+            finish();
+            return;
+        }
+
+        send(0);
+    }
+
+    private void send(int position) {
+        final int index = order[position];
+
+        Radar.trackOnce(locations[index], new Radar.RadarTrackCallback() {
+            @Override
+            public void onComplete(Radar.RadarStatus status, Location location, RadarEvent[] pointEvents, RadarUser user) {
+                onPointComplete(index, status, pointEvents, user);
+            }
+        });
+    }
+
+    private void onPointComplete(int index, Radar.RadarStatus status, RadarEvent[] pointEvents, RadarUser user) {
+        boolean pointQueued = false;
+        if (RadarCordovaOfflineQueue.shouldQueue(status) && queue != null && queue.isEnabled()) {
+            try {
+                pointQueued = queue.enqueueTrackOnce(locations[index]);
+            } catch (JSONException e) {
+                Log.e("RadarCordovaPlugin", "JSONException", e);
+            }
+        }
+
+        JSONArray pointEventsArr = pointEvents != null ? RadarEvent.toJson(pointEvents) : null;
+
+        int position;
+        synchronized (this) {
+            statuses[index] = status;
+            events[index] = pointEventsArr;
+            queued[index] = pointQueued;
+            if (user != null) {
+                lastUser = user;
+            }
+            position = ++completed;
+        }
+
+        if (position == locations.length) {
+            finish();
+        } else {
+            send(position);
+        }
+    }
+
+    private void finish() {
+        try {
+            Radar.RadarStatus status = Radar.RadarStatus.SUCCESS;
+            int succeeded = 0;
+            JSONArray results = new JSONArray();
+            JSONArray eventsArr = new JSONArray();
+
+            synchronized (this) {
+                for (int i = 0; i < locations.length; i++) {
+                    JSONObject result = new JSONObject();
+                    result.put("index", i);
+                    result.put("status", statuses[i].toString());
+                    if (queued[i]) {
+                        result.put("queued", true);
+                    }
+
+                    if (statuses[i] == Radar.RadarStatus.SUCCESS) {
+                        succeeded++;
+                    } else if (status == Radar.RadarStatus.SUCCESS) {
+                        status = statuses[i];
+                    }
+
+                    if (events[i] != null) {
+                        result.put("eventCount", events[i].length());
+                    }
+                    results.put(result);
+                }
+
+                for (int index : order) {
+                    if (events[index] != null) {
+                        for (int j = 0; j < events[index].length(); j++) {
+                            eventsArr.put(events[index].get(j));
+                        }
+                    }
+                }
+            }
+
+            JSONObject obj = new JSONObject();
+            obj.put("status", status.toString());
+            obj.put("succeeded", succeeded);
+            obj.put("failed", locations.length - succeeded);
+            obj.put("results", results);
+            obj.put("events", eventsArr);
+            if (lastUser != null) {
+                obj.put("user", lastUser.toJson());
+            }
+
+            listener.onComplete(obj);
+        } catch (JSONException e) {
+            Log.e("RadarCordovaPlugin", "JSONException", e);
+            listener.onComplete(null);
+        }
+    }
+
+}
@@ -0,0 +1,93 @@
+package io.radar.cordova;
+
+import android.location.Location;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.util.List;
+
+public class RadarCordovaCompactEncoder {
+
+    public static final byte KIND_LOCATION = 1;
+    public static final byte KIND_CLIENT_LOCATION = 2;
+    public static final byte KIND_EVENTS = 3;
+
+    public static final byte FLAG_STOPPED = 1;
+    public static final byte FLAG_USER_DELTA = 2;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final int HEADER_BYTES = 2;
+    private static final int LOCATION_BYTES = 7 * 8;
+
+    public static byte[] encodeLocation(Location location, String userJson, boolean userDelta) {
+        byte[] user = userJson.getBytes(UTF_8);
+        ByteBuffer buffer = allocate(HEADER_BYTES + LOCATION_BYTES + user.length);
+        buffer.put(KIND_LOCATION);
+        buffer.put(userDelta ? FLAG_USER_DELTA : 0);
+        putLocation(buffer, location);
+        buffer.put(user);
+        return buffer.array();
+    }
+
+    public static byte[] encodeClientLocation(Location location, boolean stopped, String source) {
+        byte[] sourceBytes = source.getBytes(UTF_8);
+        ByteBuffer buffer = allocate(HEADER_BYTES + LOCATION_BYTES + sourceBytes.length);
+        buffer.put(KIND_CLIENT_LOCATION);
+        buffer.put(stopped ? FLAG_STOPPED : 0);
+        putLocation(buffer, location);
+        buffer.put(sourceBytes);
+        return buffer.array();
+    }
+
+    public static byte[] encodeEvents(long cursor, String eventsJson, String userJson, boolean userDelta) {
+        byte[] events = eventsJson.getBytes(UTF_8);
+        byte[] user = userJson.getBytes(UTF_8);
+        ByteBuffer buffer = allocate(HEADER_BYTES + 8 + 4 + events.length + user.length);
+        buffer.put(KIND_EVENTS);
+        buffer.put(userDelta ? FLAG_USER_DELTA : 0);
+        buffer.putDouble(cursor);
+        buffer.putInt(events.length);
+        buffer.put(events);
+        buffer.put(user);
+        return buffer.array();
+    }
+
+    public static byte[] frame(List<byte[]> records) {
+        int length = 4;
+        for (byte[] record : records) {
+            length += 4 + record.length;
+        }
+
+        ByteBuffer buffer = allocate(length);
+        buffer.putInt(records.size());
+        for (byte[] record : records) {
+            buffer.putInt(record.length);
+            buffer.put(record);
+        }
+        return buffer.array();
+    }
+
+    public static byte[] frame(byte[] record) {
+        ByteBuffer buffer = allocate(4 + 4 + record.length);
+        buffer.putInt(1);
+        buffer.putInt(record.length);
+        buffer.put(record);
+        return buffer.array();
+    }
+
+    private static ByteBuffer allocate(int length) {
+        return ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static void putLocation(ByteBuffer buffer, Location location) {
+        buffer.putDouble(location.getLatitude());
+        buffer.putDouble(location.getLongitude());
+        buffer.putDouble(location.hasAccuracy() ? location.getAccuracy() : Double.NaN);
+        buffer.putDouble(location.hasAltitude() ? location.getAltitude() : Double.NaN);
+        buffer.putDouble(location.hasSpeed() ? location.getSpeed() : Double.NaN);
+        buffer.putDouble(location.hasBearing() ? location.getBearing() : Double.NaN);
+        buffer.putDouble(location.getTime());
+    }
+
+}
@@ -0,0 +1,335 @@
+package io.radar.cordova;
+
+import android.location.Location;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.cordova.CallbackContext;
+import org.apache.cordova.PluginResult;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import io.radar.sdk.Radar;
+import io.radar.sdk.model.RadarEvent;
+import io.radar.sdk.model.RadarUser;
+
+public class RadarCordovaCustomEventBatcher {
+
+    private static class Entry {
+
+        final String key;
+        final String customType;
+        final JSONObject metadata;
+        final long createdAt;
+        final List<CallbackContext> callbacks = new ArrayList<CallbackContext>();
+        JSONObject result;
+
+        Entry(String key, String customType, JSONObject metadata, long createdAt) {
+            this.key = key;
+            this.customType = customType;
+            this.metadata = metadata;
+            this.createdAt = createdAt;
+        }
+
+    }
+
+    private final RadarCordovaOfflineQueue queue;
+    private ScheduledExecutorService scheduler;
+    private boolean shutdown;
+
+    private final LinkedHashMap<String, Entry> pending = new LinkedHashMap<String, Entry>();
+    private final Map<String, Entry> recent = new HashMap<String, Entry>();
+    private final List<List<Entry>> batches = new ArrayList<List<Entry>>();
+    private ScheduledFuture<?> flushFuture;
+    private boolean sending;
+    private int maxBatchSize = 20;
+    private long flushInterval = 0;
+    private long dedupeWindow = 0;
+
+    private long submitted;
+    private long deduped;
+    private long sent;
+
+    public RadarCordovaCustomEventBatcher(RadarCordovaOfflineQueue queue) {
+        this.queue = queue;
+    }
+
+    public synchronized void setOptions(int maxBatchSize, long flushInterval, long dedupeWindow) {
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.flushInterval = flushInterval;
+        this.dedupeWindow = dedupeWindow;
+    }
+
+    public void add(String customType, JSONObject metadata, CallbackContext callbackContext) {
+        Entry entry;
+        synchronized (this) {
+            entry = enqueue(customType, metadata, callbackContext);
+        }
+
+        if (entry != null) {
+            send(entry);
+        }
+    }
+
+    // returns the entry to send right away, or null if it was deduped or held for a batch
+    private Entry enqueue(String customType, JSONObject metadata, CallbackContext callbackContext) {
+        long now = System.currentTimeMillis();
+        String key = customType + "|" + canonical(metadata);
+        submitted++;
+
+        if (dedupeWindow > 0) {
+            pruneRecent(now);
+
+            Entry existing = pending.get(key);
+            if (existing == null) {
+                existing = recent.get(key);
+            }
+            if (existing != null && now - existing.createdAt <= dedupeWindow) {
+                deduped++;
+                if (existing.result != null) {
+                    sendResult(callbackContext, existing.result, true);
+                } else {
+                    existing.callbacks.add(callbackContext);
+                }
+                return null;
+            }
+        }
+
+        if (pending.containsKey(key) || recent.containsKey(key)) {
+            key = key + "|" + now + "|" + submitted;
+        }
+
+        Entry entry = new Entry(key, customType, metadata, now);
+        entry.callbacks.add(callbackContext);
+        if (dedupeWindow > 0) {
+            recent.put(key, entry);
+        }
+
+        if (flushInterval <= 0 || shutdown) {
+            return entry;
+        }
+
+        pending.put(key, entry);
+        if (pending.size() >= maxBatchSize) {
+            drain();
+        } else if (flushFuture == null) {
+            if (scheduler == null) {
+                scheduler = Executors.newSingleThreadScheduledExecutor();
+            }
+            flushFuture = scheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    flush();
+                }
+            }, flushInterval, TimeUnit.MILLISECONDS);
+        }
+        return null;
+    }
+
+    public void flush() {
+        boolean start;
+        synchronized (this) {
+            start = drain();
+        }
+
+        if (start) {
+            sendNext();
+        }
+    }
+
+    public void shutdown() {
+        synchronized (this) {
+            shutdown = true;
+            if (scheduler != null) {
+                scheduler.shutdownNow();
+                scheduler = null;
+            }
+        }
+
+        flush();
+    }
+
+    // moves pending entries to the send queue, returns true if the caller must start sending
+    private boolean drain() {
+        if (flushFuture != null) {
+            flushFuture.cancel(false);
+            flushFuture = null;
+        }
+
+        if (pending.isEmpty()) {
+            return false;
+        }
+
+        batches.add(new ArrayList<Entry>(pending.values()));
+        pending.clear();
+
+        if (sending) {
+            return false;
+        }
+        sending = true;
+        return true;
+    }
+
+    public synchronized JSONObject getStats() throws JSONException {
+        int pendingCount = pending.size();
+        for (List<Entry> batch : batches) {
+            pendingCount += batch.size();
+        }
+
+        JSONObject obj = new JSONObject();
+        obj.put("submitted", submitted);
+        obj.put("deduped", deduped);
+        obj.put("sent", sent);
+        obj.put("pending", pendingCount);
+        return obj;
+    }
+
+    private void sendNext() {
+        final Entry entry;
+        synchronized (this) {
+            if (batches.isEmpty()) {
+                sending = false;
+                return;
+            }
+
+            List<Entry> batch = batches.get(0);
+            entry = batch.remove(0);
+            if (batch.isEmpty()) {
+                batches.remove(0);
+            }
+        }
+
+        Radar.sendEvent(entry.customType, entry.metadata, new Radar.RadarSendEventCallback() {
+            @Override
+            public void onComplete(Radar.RadarStatus status, Location location, RadarEvent[] events, RadarUser user) {
+                complete(entry, status, location, events, user);
+                sendNext();
+            }
+        });
+    }
+
+    private void send(final Entry entry) {
+        Radar.sendEvent(entry.customType, entry.metadata, new Radar.RadarSendEventCallback() {
+            @Override
+            public void onComplete(Radar.RadarStatus status, Location location, RadarEvent[] events, RadarUser user) {
+                complete(entry, status, location, events, user);
+            }
+        });
+    }
+
+    private void complete(Entry entry, Radar.RadarStatus status, Location location, RadarEvent[] events, RadarUser user) {
+        JSONObject obj;
+        try {
+            obj = RadarCordovaPayloads.trackResult(status, location, events, user);
+            if (RadarCordovaOfflineQueue.shouldQueue(status) && queue != null && queue.isEnabled()) {
+                if (queue.enqueueSendEvent(entry.customType, entry.metadata)) {
+                    obj.put("queued", true);
+                }
+            }
+        } catch (JSONException e) {
+            Log.e("RadarCordovaPlugin", "JSONException", e);
+            obj = null;
+        }
+
+        List<CallbackContext> callbacks;
+        synchronized (this) {
+            sent++;
+            entry.result = obj;
+            if (obj == null) {
+                recent.remove(entry.key);
+            }
+            callbacks = new ArrayList<CallbackContext>(entry.callbacks);
+            entry.callbacks.clear();
+        }
+
+        for (int i = 0; i < callbacks.size(); i++) {
+            sendResult(callbacks.get(i), obj, i > 0);
+        }
+    }
+
+    private void pruneRecent(long now) {
+        Iterator<Entry> it = recent.values().iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (now - entry.createdAt > dedupeWindow) {
+                it.remove();
+            }
+        }
+    }
+
+    static String canonical(Object value) {
+        StringBuilder sb = new StringBuilder();
+        canonical(value, sb);
+        return sb.toString();
+    }
+
+    // metadata that differs only in key order must map to the same dedupe key
+    private static void canonical(Object value, StringBuilder sb) {
+        if (value instanceof JSONObject) {
+            JSONObject obj = (JSONObject) value;
+            List<String> keys = new ArrayList<String>();
+            Iterator<String> it = obj.keys();
+            while (it.hasNext()) {
+                keys.add(it.next());
+            }
+            Collections.sort(keys);
+
+            sb.append('{');
+            for (int i = 0; i < keys.size(); i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                sb.append(JSONObject.quote(keys.get(i))).append(':');
+                canonical(obj.opt(keys.get(i)), sb);
+            }
+            sb.append('}');
+        } else if (value instanceof JSONArray) {
+            JSONArray arr = (JSONArray) value;
+            sb.append('[');
+            for (int i = 0; i < arr.length(); i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                canonical(arr.opt(i), sb);
+            }
+            sb.append(']');
+        } else if (value instanceof String) {
+            sb.append(JSONObject.quote((String) value));
+        } else {
+            sb.append(value);
+        }
+    }
+
+    private static void sendResult(CallbackContext callbackContext, JSONObject result, boolean deduped) {
+        if (result == null) {
+            callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.JSON_EXCEPTION));
+            return;
+        }
+
+        try {
+            JSONObject obj = result;
+            if (deduped) {
+                obj = new JSONObject(result.toString());
+                obj.put("deduped", true);
+            }
+            callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, obj));
+        } catch (JSONException e) {
+            Log.e("RadarCordovaPlugin", "JSONException", e);
+            callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.JSON_EXCEPTION));
+        }
+    }
+
+}
@@ -0,0 +1,186 @@
+package io.radar.cordova;
+
+import android.location.Location;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import io.radar.sdk.Radar;
+import io.radar.sdk.RadarTrackingOptions;
+
+public class RadarCordovaDecoder {
+
+    public static final int SLOT_ORIGINS = 0;
+    public static final int SLOT_DESTINATIONS = 1;
+
+    private static final Map<String, Radar.RadarRouteMode> ROUTE_MODES = lookupTable(Radar.RadarRouteMode.values());
+    private static final Map<String, Radar.RadarRouteUnits> ROUTE_UNITS = lookupTable(Radar.RadarRouteUnits.values());
+    private static final Map<String, RadarTrackingOptions.RadarTrackingOptionsDesiredAccuracy> DESIRED_ACCURACIES = lookupTable(RadarTrackingOptions.RadarTrackingOptionsDesiredAccuracy.values());
+
+    private static final ThreadLocal<Location[][]> locationPool = new ThreadLocal<Location[][]>() {
+        @Override
+        protected Location[][] initialValue() {
+            return new Location[2][0];
+        }
+    };
+
+    public static Radar.RadarRouteMode routeModeForString(String str, Radar.RadarRouteMode defaultMode) {
+        Radar.RadarRouteMode mode = lookup(ROUTE_MODES, str);
+        return mode != null ? mode : defaultMode;
+    }
+
+    public static EnumSet<Radar.RadarRouteMode> routeModesForArray(JSONArray jsonArr) {
+        EnumSet<Radar.RadarRouteMode> modes = EnumSet.noneOf(Radar.RadarRouteMode.class);
+        if (jsonArr == null) {
+            return modes;
+        }
+
+        for (int i = 0; i < jsonArr.length(); i++) {
+            Radar.RadarRouteMode mode = lookup(ROUTE_MODES, jsonArr.optString(i, null));
+            if (mode != null) {
+                modes.add(mode);
+            }
+        }
+        return modes;
+    }
+
+    public static Radar.RadarRouteUnits routeUnitsForString(String str) {
+        Radar.RadarRouteUnits units = lookup(ROUTE_UNITS, str);
+        return units != null ? units : Radar.RadarRouteUnits.IMPERIAL;
+    }
+
+    public static RadarTrackingOptions.RadarTrackingOptionsDesiredAccuracy desiredAccuracyForString(String str) {
+        return lookup(DESIRED_ACCURACIES, str);
+    }
+
+    public static Location locationForJSONObject(JSONObject jsonObj) throws JSONException {
+        Location location = new Location("RadarCordovaPlugin");
+        location.setLatitude(jsonObj.getDouble("latitude"));
+        location.setLongitude(jsonObj.getDouble("longitude"));
+        if (jsonObj.has("accuracy")) {
+            location.setAccuracy((float) jsonObj.getDouble("accuracy"));
+        }
+        return location;
+    }
+
+    public static double[][] coordinatesForArray(JSONArray jsonArr) throws JSONException {
+        if (jsonArr.length() > 0 && jsonArr.opt(0) instanceof Number) {
+            return coordinatesForPairs(jsonArr);
+        }
+
+        double[][] coordinates = new double[2][jsonArr.length()];
+        for (int i = 0; i < jsonArr.length(); i++) {
+            JSONObject coordinateObj = jsonArr.getJSONObject(i);
+            coordinates[0][i] = coordinateObj.getDouble("latitude");
+            coordinates[1][i] = coordinateObj.getDouble("longitude");
+        }
+        return coordinates;
+    }
+
+    private static double[][] coordinatesForPairs(JSONArray jsonArr) throws JSONException {
+        if (jsonArr.length() % 2 != 0) {
+            throw new JSONException("coordinate pairs must have an even length");
+        }
+
+        double[][] coordinates = new double[2][jsonArr.length() / 2];
+        for (int i = 0; i < coordinates[0].length; i++) {
+            coordinates[0][i] = jsonArr.getDouble(2 * i);
+            coordinates[1][i] = jsonArr.getDouble(2 * i + 1);
+        }
+        return coordinates;
+    }
+
+    public static Location[] locationsForCoordinates(double[][] coordinates) {
+        Location[] locations = new Location[coordinates[0].length];
+        for (int i = 0; i < locations.length; i++) {
+            Location location = new Location("RadarCordovaPlugin");
+            location.setLatitude(coordinates[0][i]);
+            location.setLongitude(coordinates[1][i]);
+            locations[i] = location;
+        }
+        return locations;
+    }
+
+    /**
+     * Returns per-thread Location instances for the given slot, overwritten in place on the next
+     * call. Only pass them to SDK calls that serialize their arguments before returning.
+     */
+    public static Location[] reusableLocationsForCoordinates(double[][] coordinates, int slot) {
+        Location[][] pool = locationPool.get();
+        Location[] locations = pool[slot];
+        int count = coordinates[0].length;
+        if (locations.length != count) {
+            Location[] resized = new Location[count];
+            System.arraycopy(locations, 0, resized, 0, Math.min(locations.length, count));
+            for (int i = locations.length; i < count; i++) {
+                resized[i] = new Location("RadarCordovaPlugin");
+            }
+            locations = resized;
+            pool[slot] = locations;
+        }
+
+        for (int i = 0; i < count; i++) {
+            locations[i].setLatitude(coordinates[0][i]);
+            locations[i].setLongitude(coordinates[1][i]);
+        }
+        return locations;
+    }
+
+    public static String[] stringArrayForArray(JSONArray jsonArr) throws JSONException {
+        if (jsonArr == null) {
+            return null;
+        }
+
+        String[] arr = new String[jsonArr.length()];
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = jsonArr.optString(i);
+        }
+        return arr;
+    }
+
+    public static Map<String, String> stringMapForJSONObject(JSONObject jsonObj) {
+        try {
+            if (jsonObj == null) {
+                return null;
+            }
+
+            Map<String, String> stringMap = new HashMap<String, String>();
+            Iterator<String> keys = jsonObj.keys();
+            while (keys.hasNext()) {
+                String key = keys.next();
+                if (jsonObj.get(key) != null) {
+                    stringMap.put(key, jsonObj.getString(key));
+                }
+            }
+            return stringMap;
+        } catch (JSONException j) {
+            return null;
+        }
+    }
+
+    private static <E extends Enum<E>> Map<String, E> lookupTable(E[] values) {
+        Map<String, E> table = new HashMap<String, E>();
+        for (E value : values) {
+            table.put(value.name(), value);
+            table.put(value.name().toLowerCase(Locale.ROOT), value);
+        }
+        return table;
+    }
+
+    private static <E> E lookup(Map<String, E> table, String str) {
+        if (str == null) {
+            return null;
+        }
+
+        E value = table.get(str);
+        return value != null ? value : table.get(str.toUpperCase(Locale.ROOT));
+    }
+
+}
@@ -0,0 +1,300 @@
+package io.radar.cordova;
+
+import android.util.Log;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+public class RadarCordovaDiagnostics {
+
+    private static final long[] BUCKET_BOUNDS = { 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000, 30000 };
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    private static class ActionStats {
+
+        final long[] buckets = new long[BUCKET_BOUNDS.length + 1];
+        long calls;
+        long completed;
+        long inFlight;
+        double totalMillis;
+        double maxMillis;
+        long messages;
+        long bytes;
+        long maxBytes;
+        long errors;
+        long jsonExceptions;
+        long unhandled;
+
+        double percentile(double q) {
+            long target = (long) Math.ceil(q * completed);
+            long seen = 0;
+            for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+                seen += buckets[i];
+                if (seen >= target) {
+                    return Math.min(BUCKET_BOUNDS[i], maxMillis);
+                }
+            }
+            return maxMillis;
+        }
+
+    }
+
+    private static class ChannelStats {
+
+        final Map<String, Long> drops = new TreeMap<String, Long>();
+        long errors;
+
+    }
+
+    private final Map<String, ActionStats> actions = new HashMap<String, ActionStats>();
+    private final Map<String, ChannelStats> channels = new HashMap<String, ChannelStats>();
+    private volatile boolean enabled;
+    private long since = System.currentTimeMillis();
+    private ScheduledFuture<?> dumpFuture;
+    private File dumpFile;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public synchronized void begin(String action, boolean tracked) {
+        ActionStats stats = statsForAction(action);
+        stats.calls++;
+        if (tracked) {
+            stats.inFlight++;
+        }
+    }
+
+    public synchronized void recordResult(String action, boolean first, long elapsedNanos, int bytes, boolean error, boolean jsonException) {
+        ActionStats stats = statsForAction(action);
+        stats.messages++;
+        stats.bytes += bytes;
+        stats.maxBytes = Math.max(stats.maxBytes, bytes);
+        if (error) {
+            stats.errors++;
+        }
+        if (jsonException) {
+            stats.jsonExceptions++;
+        }
+
+        if (!first) {
+            return;
+        }
+
+        double millis = elapsedNanos / 1e6;
+        stats.inFlight--;
+        stats.completed++;
+        stats.totalMillis += millis;
+        stats.maxMillis = Math.max(stats.maxMillis, millis);
+
+        int bucket = 0;
+        while (bucket < BUCKET_BOUNDS.length && millis > BUCKET_BOUNDS[bucket]) {
+            bucket++;
+        }
+        stats.buckets[bucket]++;
+    }
+
+    public synchronized void recordUnhandled(String action, boolean tracked) {
+        ActionStats stats = statsForAction(action);
+        stats.unhandled++;
+        if (tracked) {
+            stats.inFlight--;
+        }
+    }
+
+    public void recordDrop(String channel, String reason) {
+        if (!enabled) {
+            return;
+        }
+
+        synchronized (this) {
+            Map<String, Long> drops = statsForChannel(channel).drops;
+            Long count = drops.get(reason);
+            drops.put(reason, count != null ? count + 1 : 1);
+        }
+    }
+
+    public void recordReceiverError(String channel) {
+        if (!enabled) {
+            return;
+        }
+
+        synchronized (this) {
+            statsForChannel(channel).errors++;
+        }
+    }
+
+    public synchronized void reset() {
+        actions.clear();
+        channels.clear();
+        since = System.currentTimeMillis();
+    }
+
+    public synchronized void setDump(File file, long interval) {
+        if (dumpFuture != null) {
+            dumpFuture.cancel(false);
+            dumpFuture = null;
+        }
+
+        dumpFile = interval > 0 ? file : null;
+        if (dumpFile == null) {
+            return;
+        }
+
+        dumpFuture = scheduler.scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                dump();
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized JSONObject toJson() throws JSONException {
+        JSONObject actionsObj = new JSONObject();
+        for (Map.Entry<String, ActionStats> entry : new TreeMap<String, ActionStats>(actions).entrySet()) {
+            ActionStats stats = entry.getValue();
+
+            JSONArray histogram = new JSONArray();
+            for (int i = 0; i < stats.buckets.length; i++) {
+                if (stats.buckets[i] == 0) {
+                    continue;
+                }
+
+                JSONObject bucketObj = new JSONObject();
+                bucketObj.put("le", i < BUCKET_BOUNDS.length ? BUCKET_BOUNDS[i] : JSONObject.NULL);
+                bucketObj.put("count", stats.buckets[i]);
+                histogram.put(bucketObj);
+            }
+
+            JSONObject latencyObj = new JSONObject();
+            latencyObj.put("mean", stats.completed > 0 ? stats.totalMillis / stats.completed : 0);
+            latencyObj.put("p50", stats.percentile(0.5));
+            latencyObj.put("p90", stats.percentile(0.9));
+            latencyObj.put("p99", stats.percentile(0.99));
+            latencyObj.put("max", stats.maxMillis);
+            latencyObj.put("histogram", histogram);
+
+            JSONObject payloadObj = new JSONObject();
+            payloadObj.put("messages", stats.messages);
+            payloadObj.put("bytes", stats.bytes);
+            payloadObj.put("maxBytes", stats.maxBytes);
+            payloadObj.put("meanBytes", stats.messages > 0 ? (double) stats.bytes / stats.messages : 0);
+
+            JSONObject obj = new JSONObject();
+            obj.put("calls", stats.calls);
+            obj.put("completed", stats.completed);
+            obj.put("inFlight", stats.inFlight);
+            obj.put("errors", stats.errors);
+            obj.put("jsonExceptions", stats.jsonExceptions);
+            obj.put("unhandled", stats.unhandled);
+            obj.put("latency", latencyObj);
+            obj.put("payload", payloadObj);
+            actionsObj.put(entry.getKey(), obj);
+        }
+
+        JSONObject receiverObj = new JSONObject();
+        for (Map.Entry<String, ChannelStats> entry : channels.entrySet()) {
+            JSONObject dropsObj = new JSONObject();
+            long dropped = 0;
+            for (Map.Entry<String, Long> drop : entry.getValue().drops.entrySet()) {
+                dropsObj.put(drop.getKey(), drop.getValue());
+                dropped += drop.getValue();
+            }
+
+            JSONObject channelObj = new JSONObject();
+            channelObj.put("dropped", dropped);
+            channelObj.put("drops", dropsObj);
+            channelObj.put("errors", entry.getValue().errors);
+            receiverObj.put(entry.getKey(), channelObj);
+        }
+
+        JSONObject obj = new JSONObject();
+        obj.put("enabled", enabled);
+        obj.put("since", since);
+        obj.put("timestamp", System.currentTimeMillis());
+        obj.put("actions", actionsObj);
+        obj.put("receiver", receiverObj);
+        if (dumpFile != null) {
+            obj.put("dumpFile", dumpFile.getAbsolutePath());
+        }
+        return obj;
+    }
+
+    private void dump() {
+        File file;
+        String contents;
+        synchronized (this) {
+            file = dumpFile;
+            if (file == null) {
+                return;
+            }
+
+            try {
+                contents = toJson().toString();
+            } catch (JSONException e) {
+                Log.e("RadarCordovaPlugin", "JSONException", e);
+                return;
+            }
+        }
+
+        File tmp = new File(file.getPath() + ".tmp");
+        FileOutputStream out = null;
+        try {
+            out = new FileOutputStream(tmp);
+            out.write(contents.getBytes(UTF_8));
+            out.getFD().sync();
+            out.close();
+            out = null;
+            if (!tmp.renameTo(file)) {
+                Log.w("RadarCordovaPlugin", "Failed to write diagnostics to " + file);
+            }
+        } catch (IOException e) {
+            Log.e("RadarCordovaPlugin", "IOException", e);
+        } finally {
+            if (out != null) {
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    Log.e("RadarCordovaPlugin", "IOException", e);
+                }
+            }
+        }
+    }
+
+    private ActionStats statsForAction(String action) {
+        ActionStats stats = actions.get(action);
+        if (stats == null) {
+            stats = new ActionStats();
+            actions.put(action, stats);
+        }
+        return stats;
+    }
+
+    private ChannelStats statsForChannel(String channel) {
+        ChannelStats stats = channels.get(channel);
+        if (stats == null) {
+            stats = new ChannelStats();
+            channels.put(channel, stats);
+        }
+        return stats;
+    }
+
+}
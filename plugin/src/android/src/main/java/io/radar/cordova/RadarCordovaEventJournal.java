@@ -0,0 +1,368 @@
+package io.radar.cordova;
+
+import android.util.Log;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+public class RadarCordovaEventJournal {
+
+    private static final String SEGMENT_SUFFIX = ".jsonl";
+    private static final String CURSOR_FILE = "cursor";
+    private static final long MAX_SEGMENT_BYTES = 64 * 1024;
+    private static final long MAX_JOURNAL_BYTES = 1024 * 1024;
+    private static final Executor syncExecutor = Executors.newSingleThreadExecutor();
+
+    private final File dir;
+    private final long maxBytes;
+    private final Executor syncer;
+    private final Set<File> unsynced = new LinkedHashSet<File>();
+    private boolean syncScheduled;
+    private File segment;
+    private long segmentBytes;
+    private long totalBytes;
+    private int segmentCount;
+    private long lastSeq;
+    private long acknowledgedSeq;
+
+    public RadarCordovaEventJournal(File dir) {
+        this(dir, MAX_JOURNAL_BYTES);
+    }
+
+    public RadarCordovaEventJournal(File dir, long maxBytes) {
+        this(dir, maxBytes, syncExecutor);
+    }
+
+    RadarCordovaEventJournal(File dir, long maxBytes, Executor syncer) {
+        this.dir = dir;
+        this.maxBytes = maxBytes;
+        this.syncer = syncer;
+        dir.mkdirs();
+
+        acknowledgedSeq = readCursor();
+        lastSeq = acknowledgedSeq;
+
+        File[] segments = segments();
+        if (segments.length > 0) {
+            segment = segments[segments.length - 1];
+            truncateTornRecord(segment);
+            segmentBytes = segment.length();
+
+            List<JSONObject> records = readSegment(segment);
+            if (!records.isEmpty()) {
+                lastSeq = Math.max(lastSeq, records.get(records.size() - 1).optLong("seq"));
+            }
+        }
+        for (File file : segments) {
+            totalBytes += file.length();
+        }
+        segmentCount = segments.length;
+    }
+
+    public synchronized long append(JSONArray events, JSONObject user) throws JSONException {
+        JSONObject record = new JSONObject();
+        record.put("events", events);
+        record.put("user", user);
+        return append(record);
+    }
+
+    // returns -1 if the record could not be written
+    public synchronized long append(JSONObject record) throws JSONException {
+        long seq = lastSeq + 1;
+
+        record.put("seq", seq);
+        if (!record.has("timestamp")) {
+            record.put("timestamp", System.currentTimeMillis());
+        }
+
+        boolean rolled = segment == null || segmentBytes >= MAX_SEGMENT_BYTES;
+        File target = rolled ? new File(dir, String.format(Locale.US, "%019d", seq) + SEGMENT_SUFFIX) : segment;
+        long targetBytes = rolled ? 0 : segmentBytes;
+
+        FileOutputStream out = null;
+        byte[] bytes;
+        try {
+            bytes = (record.toString() + "\n").getBytes("UTF-8");
+            out = new FileOutputStream(target, true);
+            out.write(bytes);
+        } catch (IOException e) {
+            Log.e("RadarCordovaPlugin", "IOException", e);
+            close(out);
+            out = null;
+            // never leave a partial line behind for the next record to be written onto
+            truncate(target, targetBytes);
+            return -1;
+        } finally {
+            close(out);
+        }
+
+        segment = target;
+        segmentBytes = targetBytes + bytes.length;
+        totalBytes += bytes.length;
+        if (rolled) {
+            segmentCount++;
+        }
+        lastSeq = seq;
+
+        scheduleSync(target);
+        if (segmentCount > 1 && (rolled || totalBytes > maxBytes)) {
+            compact();
+        }
+
+        return seq;
+    }
+
+    public synchronized List<JSONObject> readUnacknowledged() {
+        return readUnacknowledged(Integer.MAX_VALUE);
+    }
+
+    public synchronized List<JSONObject> readUnacknowledged(int limit) {
+        List<JSONObject> records = new ArrayList<JSONObject>();
+        for (File segment : segments()) {
+            for (JSONObject record : readSegment(segment)) {
+                if (record.optLong("seq") > acknowledgedSeq) {
+                    records.add(record);
+                    if (records.size() >= limit) {
+                        return records;
+                    }
+                }
+            }
+        }
+        return records;
+    }
+
+    public synchronized long pendingCount() {
+        return lastSeq - acknowledgedSeq;
+    }
+
+    public synchronized void acknowledge(long seq) {
+        if (seq <= acknowledgedSeq) {
+            return;
+        }
+
+        acknowledgedSeq = Math.min(seq, lastSeq);
+        writeCursor(acknowledgedSeq);
+        compact();
+    }
+
+    // written records survive an app crash once write() returns, the fsync only guards against power loss
+    // so it runs off the caller's thread, coalescing every append made while one is pending
+    private void scheduleSync(File file) {
+        unsynced.add(file);
+        if (syncScheduled) {
+            return;
+        }
+
+        syncScheduled = true;
+        syncer.execute(new Runnable() {
+            @Override
+            public void run() {
+                sync();
+            }
+        });
+    }
+
+    private void sync() {
+        File[] files;
+        synchronized (this) {
+            syncScheduled = false;
+            files = unsynced.toArray(new File[0]);
+            unsynced.clear();
+        }
+
+        for (File file : files) {
+            RandomAccessFile raf = null;
+            try {
+                raf = new RandomAccessFile(file, "r");
+                raf.getFD().sync();
+            } catch (IOException e) {
+                // compacted away in the meantime
+            } finally {
+                close(raf);
+            }
+        }
+    }
+
+    private void compact() {
+        File[] segments = segments();
+        long totalBytes = 0;
+        for (File segment : segments) {
+            totalBytes += segment.length();
+        }
+
+        for (int i = 0; i < segments.length - 1; i++) {
+            long nextFirstSeq = firstSeq(segments[i + 1]);
+            boolean acknowledged = nextFirstSeq - 1 <= acknowledgedSeq;
+            if (!acknowledged && totalBytes <= maxBytes) {
+                break;
+            }
+            if (!acknowledged) {
+                Log.w("RadarCordovaPlugin", "Journal full, dropping unacknowledged segment " + segments[i].getName());
+                acknowledgedSeq = nextFirstSeq - 1;
+                writeCursor(acknowledgedSeq);
+            }
+            totalBytes -= segments[i].length();
+            if (segments[i].delete()) {
+                segmentCount--;
+            }
+        }
+        this.totalBytes = totalBytes;
+    }
+
+    private File[] segments() {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return new File[0];
+        }
+
+        List<File> segments = new ArrayList<File>();
+        for (File file : files) {
+            if (file.getName().endsWith(SEGMENT_SUFFIX)) {
+                segments.add(file);
+            }
+        }
+        File[] arr = segments.toArray(new File[0]);
+        Arrays.sort(arr);
+        return arr;
+    }
+
+    private static long firstSeq(File segment) {
+        String name = segment.getName();
+        try {
+            return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static List<JSONObject> readSegment(File segment) {
+        List<JSONObject> records = new ArrayList<JSONObject>();
+        BufferedReader reader = null;
+        try {
+            reader = new BufferedReader(new InputStreamReader(new FileInputStream(segment), "UTF-8"));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                try {
+                    records.add(new JSONObject(line));
+                } catch (JSONException e) {
+                    // a torn tail is truncated on open, so only a corrupt line lands here
+                    Log.w("RadarCordovaPlugin", "Skipping unreadable journal record in " + segment.getName());
+                }
+            }
+        } catch (IOException e) {
+            Log.e("RadarCordovaPlugin", "IOException", e);
+        } finally {
+            close(reader);
+        }
+        return records;
+    }
+
+    // a crash mid-append leaves the segment without its trailing newline, cut back to the last complete record
+    private static void truncateTornRecord(File segment) {
+        RandomAccessFile raf = null;
+        try {
+            raf = new RandomAccessFile(segment, "rw");
+            byte[] bytes = new byte[(int) raf.length()];
+            raf.readFully(bytes);
+
+            int end = bytes.length;
+            while (end > 0 && bytes[end - 1] != '\n') {
+                end--;
+            }
+            if (end < bytes.length) {
+                Log.w("RadarCordovaPlugin", "Truncating torn journal record in " + segment.getName());
+                raf.setLength(end);
+            }
+        } catch (IOException e) {
+            Log.e("RadarCordovaPlugin", "IOException", e);
+        } finally {
+            close(raf);
+        }
+    }
+
+    private static void truncate(File file, long length) {
+        if (!file.exists()) {
+            return;
+        }
+
+        RandomAccessFile raf = null;
+        try {
+            raf = new RandomAccessFile(file, "rw");
+            raf.setLength(length);
+        } catch (IOException e) {
+            Log.e("RadarCordovaPlugin", "IOException", e);
+        } finally {
+            close(raf);
+        }
+        if (length == 0) {
+            file.delete();
+        }
+    }
+
+    private long readCursor() {
+        BufferedReader reader = null;
+        try {
+            File file = new File(dir, CURSOR_FILE);
+            if (!file.exists()) {
+                return 0;
+            }
+            reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"));
+            String line = reader.readLine();
+            return line != null ? Long.parseLong(line.trim()) : 0;
+        } catch (IOException | NumberFormatException e) {
+            Log.e("RadarCordovaPlugin", "Failed to read event journal cursor", e);
+            return 0;
+        } finally {
+            close(reader);
+        }
+    }
+
+    private void writeCursor(long seq) {
+        File tmp = new File(dir, CURSOR_FILE + ".tmp");
+        FileOutputStream out = null;
+        try {
+            out = new FileOutputStream(tmp);
+            out.write(Long.toString(seq).getBytes("UTF-8"));
+            out.getFD().sync();
+            close(out);
+            out = null;
+            if (!tmp.renameTo(new File(dir, CURSOR_FILE))) {
+                Log.e("RadarCordovaPlugin", "Failed to write event journal cursor");
+            }
+        } catch (IOException e) {
+            Log.e("RadarCordovaPlugin", "IOException", e);
+        } finally {
+            close(out);
+        }
+    }
+
+    private static void close(Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // ignore
+        }
+    }
+
+}
@@ -0,0 +1,167 @@
+package io.radar.cordova;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RadarCordovaExecutor {
+
+    public enum Policy {
+        INLINE,
+        POOLED,
+        SERIAL
+    }
+
+    private static final int DEFAULT_MAX_QUEUE_DEPTH = 64;
+
+    private static final List<String> POOLED_ACTIONS = Arrays.asList(
+        "getContext",
+        "searchPlaces",
+        "searchGeofences",
+        "autocomplete",
+        "geocode",
+        "reverseGeocode",
+        "ipGeocode",
+        "getDistance",
+        "getMatrix",
+        "loadGeofences"
+    );
+
+    private static final List<String> SERIAL_ACTIONS = Arrays.asList(
+        "setUserId",
+        "getUserId",
+        "setDescription",
+        "getDescription",
+        "setMetadata",
+        "getMetadata",
+        "setAnonymousTrackingEnabled",
+        "setAdIdEnabled",
+        "getLocation",
+        "trackOnce",
+        "trackOnceBulk",
+        "startTrackingEfficient",
+        "startTrackingResponsive",
+        "startTrackingContinuous",
+        "startTrackingCustom",
+        "startTrackingAdaptive",
+        "mockTracking",
+        "stopMockTracking",
+        "stopTracking",
+        "isTracking",
+        "getTrackingOptions",
+        "getTripOptions",
+        "getState",
+        "startTrip",
+        "updateTrip",
+        "completeTrip",
+        "cancelTrip",
+        "setForegroundServiceOptions",
+        "setLogLevel",
+        "sendEvent"
+    );
+
+    private final Map<String, Policy> policies = new HashMap<String, Policy>();
+    private final ThreadPoolExecutor pool;
+    private final ThreadPoolExecutor serial;
+    private final AtomicInteger pooledDepth = new AtomicInteger();
+    private final AtomicInteger serialDepth = new AtomicInteger();
+    private volatile int maxQueueDepth = DEFAULT_MAX_QUEUE_DEPTH;
+
+    public RadarCordovaExecutor() {
+        for (String action : POOLED_ACTIONS) {
+            policies.put(action, Policy.POOLED);
+        }
+        for (String action : SERIAL_ACTIONS) {
+            policies.put(action, Policy.SERIAL);
+        }
+
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        pool = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<Runnable>(), new RadarCordovaThreadFactory("RadarCordova-pool"));
+        pool.allowCoreThreadTimeOut(true);
+        serial = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<Runnable>(), new RadarCordovaThreadFactory("RadarCordova-serial"));
+        serial.allowCoreThreadTimeOut(true);
+    }
+
+    public synchronized Policy policyForAction(String action) {
+        Policy policy = policies.get(action);
+        return policy != null ? policy : Policy.INLINE;
+    }
+
+    public synchronized void setPolicy(String action, Policy policy) {
+        policies.put(action, policy);
+    }
+
+    // the executors are never replaced, so actions already queued on the serial worker keep their order
+    public void setMaxQueueDepth(int maxQueueDepth) {
+        if (maxQueueDepth <= 0) {
+            throw new IllegalArgumentException("maxQueueDepth must be positive: " + maxQueueDepth);
+        }
+
+        this.maxQueueDepth = maxQueueDepth;
+    }
+
+    public boolean submit(Policy policy, final Runnable runnable) {
+        ThreadPoolExecutor executor = policy == Policy.SERIAL ? serial : pool;
+        final AtomicInteger depth = policy == Policy.SERIAL ? serialDepth : pooledDepth;
+
+        if (depth.incrementAndGet() > maxQueueDepth) {
+            depth.decrementAndGet();
+            return false;
+        }
+
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    depth.decrementAndGet();
+                    runnable.run();
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            depth.decrementAndGet();
+            return false;
+        }
+    }
+
+    public int getPooledQueueDepth() {
+        return pooledDepth.get();
+    }
+
+    public int getSerialQueueDepth() {
+        return serialDepth.get();
+    }
+
+    public synchronized void shutdown() {
+        pool.shutdown();
+        serial.shutdown();
+    }
+
+    private static class RadarCordovaThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+        private final String prefix;
+
+        RadarCordovaThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+
+    }
+
+}
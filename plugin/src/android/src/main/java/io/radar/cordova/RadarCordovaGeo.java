@@ -0,0 +1,56 @@
+package io.radar.cordova;
+
+public class RadarCordovaGeo {
+
+    private static final String GEOHASH_BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+    private static final double EARTH_RADIUS = 6371008.8;
+
+    public static double distance(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double dLatitude = Math.toRadians(latitude2 - latitude1);
+        double dLongitude = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(dLatitude / 2) * Math.sin(dLatitude / 2)
+            + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2)) * Math.sin(dLongitude / 2) * Math.sin(dLongitude / 2);
+        return 2 * EARTH_RADIUS * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    public static String geohash(double latitude, double longitude, int precision) {
+        double minLatitude = -90, maxLatitude = 90;
+        double minLongitude = -180, maxLongitude = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean even = true;
+        int bit = 0;
+        int ch = 0;
+
+        while (hash.length() < precision) {
+            if (even) {
+                double mid = (minLongitude + maxLongitude) / 2;
+                if (longitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLongitude = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLongitude = mid;
+                }
+            } else {
+                double mid = (minLatitude + maxLatitude) / 2;
+                if (latitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLatitude = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLatitude = mid;
+                }
+            }
+            even = !even;
+
+            if (++bit == 5) {
+                hash.append(GEOHASH_BASE32.charAt(ch));
+                bit = 0;
+                ch = 0;
+            }
+        }
+
+        return hash.toString();
+    }
+
+}
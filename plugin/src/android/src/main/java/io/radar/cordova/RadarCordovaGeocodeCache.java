@@ -0,0 +1,102 @@
+package io.radar.cordova;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+public class RadarCordovaGeocodeCache {
+
+    private static class Entry {
+
+        final JSONObject result;
+        final long expiresAt;
+
+        Entry(JSONObject result, long expiresAt) {
+            this.result = result;
+            this.expiresAt = expiresAt;
+        }
+
+    }
+
+    private int maxEntries = 256;
+    private long ttl = 60 * 60 * 1000;
+    private int precision = 8;
+    private long hits;
+    private long misses;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    public synchronized void setOptions(int maxEntries, long ttl, int precision) {
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.precision = precision;
+        entries.clear();
+    }
+
+    public synchronized String reverseGeocodeKey(double latitude, double longitude) {
+        return "reverseGeocode:" + RadarCordovaGeo.geohash(latitude, longitude, precision);
+    }
+
+    public synchronized String geocodeKey(String query) {
+        return "geocode:" + normalize(query);
+    }
+
+    public synchronized String autocompleteKey(String query, double latitude, double longitude, boolean hasNear, String[] layers, int limit, String country) {
+        String near = hasNear ? RadarCordovaGeo.geohash(latitude, longitude, precision) : "";
+        return "autocomplete:" + normalize(query) + "|" + near + "|" + Arrays.toString(layers) + "|" + limit + "|" + normalize(country);
+    }
+
+    public synchronized JSONObject get(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt < System.currentTimeMillis()) {
+            entries.remove(key);
+            entry = null;
+        }
+
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+
+        hits++;
+        return entry.result;
+    }
+
+    public synchronized void put(String key, JSONObject result) {
+        if (maxEntries <= 0 || ttl <= 0) {
+            return;
+        }
+
+        entries.put(key, new Entry(result, System.currentTimeMillis() + ttl));
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized JSONObject getStats() throws JSONException {
+        JSONObject obj = new JSONObject();
+        obj.put("hits", hits);
+        obj.put("misses", misses);
+        obj.put("size", entries.size());
+        return obj;
+    }
+
+    private static String normalize(String str) {
+        if (str == null) {
+            return "";
+        }
+
+        return str.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+}
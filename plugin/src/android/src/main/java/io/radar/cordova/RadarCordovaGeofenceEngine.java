@@ -0,0 +1,319 @@
+package io.radar.cordova;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import io.radar.sdk.model.RadarCircleGeometry;
+import io.radar.sdk.model.RadarCoordinate;
+import io.radar.sdk.model.RadarGeofence;
+import io.radar.sdk.model.RadarPolygonGeometry;
+
+public class RadarCordovaGeofenceEngine {
+
+    private static final double CELL_SIZE = 0.01;
+    private static final int MAX_CELLS_PER_GEOFENCE = 4096;
+    private static final double METERS_PER_DEGREE = 111320;
+
+    private static class Shape {
+
+        final String id;
+        final JSONObject json;
+        final double latitude;
+        final double longitude;
+        final double radius;
+        final double[] latitudes;
+        final double[] longitudes;
+        final double minLatitude;
+        final double maxLatitude;
+        final double minLongitude;
+        final double maxLongitude;
+
+        Shape(String id, JSONObject json, double latitude, double longitude, double radius) {
+            this.id = id;
+            this.json = json;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.radius = radius;
+            this.latitudes = null;
+            this.longitudes = null;
+            double dLatitude = radius / METERS_PER_DEGREE;
+            double dLongitude = radius / (METERS_PER_DEGREE * Math.max(Math.cos(Math.toRadians(latitude)), 0.01));
+            this.minLatitude = latitude - dLatitude;
+            this.maxLatitude = latitude + dLatitude;
+            this.minLongitude = longitude - dLongitude;
+            this.maxLongitude = longitude + dLongitude;
+        }
+
+        Shape(String id, JSONObject json, double[] latitudes, double[] longitudes) {
+            this.id = id;
+            this.json = json;
+            this.latitudes = latitudes;
+            this.longitudes = longitudes;
+            this.radius = 0;
+            double minLatitude = 90, maxLatitude = -90, minLongitude = 180, maxLongitude = -180;
+            for (int i = 0; i < latitudes.length; i++) {
+                minLatitude = Math.min(minLatitude, latitudes[i]);
+                maxLatitude = Math.max(maxLatitude, latitudes[i]);
+                minLongitude = Math.min(minLongitude, longitudes[i]);
+                maxLongitude = Math.max(maxLongitude, longitudes[i]);
+            }
+            this.minLatitude = minLatitude;
+            this.maxLatitude = maxLatitude;
+            this.minLongitude = minLongitude;
+            this.maxLongitude = maxLongitude;
+            this.latitude = (minLatitude + maxLatitude) / 2;
+            this.longitude = (minLongitude + maxLongitude) / 2;
+        }
+
+        boolean isPolygon() {
+            return latitudes != null;
+        }
+
+        // negative inside, positive outside, in meters
+        double signedDistance(double lat, double lon) {
+            if (!isPolygon()) {
+                return RadarCordovaGeo.distance(latitude, longitude, lat, lon) - radius;
+            }
+
+            double metersPerDegreeLongitude = METERS_PER_DEGREE * Math.cos(Math.toRadians(lat));
+            boolean inside = false;
+            double minDistance = Double.MAX_VALUE;
+            int n = latitudes.length;
+            for (int i = 0, j = n - 1; i < n; j = i++) {
+                double xi = (longitudes[i] - lon) * metersPerDegreeLongitude, yi = (latitudes[i] - lat) * METERS_PER_DEGREE;
+                double xj = (longitudes[j] - lon) * metersPerDegreeLongitude, yj = (latitudes[j] - lat) * METERS_PER_DEGREE;
+
+                if ((yi > 0) != (yj > 0) && 0 < (xj - xi) * (0 - yi) / (yj - yi) + xi) {
+                    inside = !inside;
+                }
+
+                double dx = xj - xi, dy = yj - yi;
+                double lengthSquared = dx * dx + dy * dy;
+                double t = lengthSquared > 0 ? Math.max(0, Math.min(1, -(xi * dx + yi * dy) / lengthSquared)) : 0;
+                double px = xi + t * dx, py = yi + t * dy;
+                minDistance = Math.min(minDistance, Math.sqrt(px * px + py * py));
+            }
+
+            return inside ? -minDistance : minDistance;
+        }
+
+    }
+
+    private final Map<String, Shape> shapes = new LinkedHashMap<String, Shape>();
+    private final Map<Long, List<Shape>> cells = new HashMap<Long, List<Shape>>();
+    private final List<Shape> largeShapes = new ArrayList<Shape>();
+    private final Set<String> inside = new HashSet<String>();
+    private final Map<String, Integer> pending = new HashMap<String, Integer>();
+
+    private double hysteresis = 25;
+    private int confirmations = 1;
+    private double maxAccuracy = 100;
+
+    public synchronized void setOptions(double hysteresis, int confirmations, double maxAccuracy) {
+        this.hysteresis = hysteresis;
+        this.confirmations = Math.max(1, confirmations);
+        this.maxAccuracy = maxAccuracy;
+    }
+
+    public synchronized int size() {
+        return shapes.size();
+    }
+
+    public synchronized void addGeofences(RadarGeofence[] geofences) throws JSONException {
+        for (RadarGeofence geofence : geofences) {
+            JSONObject json = geofence.toJson();
+            String id = geofence.get_id();
+            if (geofence.getGeometry() instanceof RadarPolygonGeometry) {
+                RadarCoordinate[] coordinates = ((RadarPolygonGeometry) geofence.getGeometry()).getCoordinates();
+                double[] latitudes = new double[coordinates.length];
+                double[] longitudes = new double[coordinates.length];
+                for (int i = 0; i < coordinates.length; i++) {
+                    latitudes[i] = coordinates[i].getLatitude();
+                    longitudes[i] = coordinates[i].getLongitude();
+                }
+                shapes.put(id, new Shape(id, json, latitudes, longitudes));
+            } else if (geofence.getGeometry() instanceof RadarCircleGeometry) {
+                RadarCircleGeometry circle = (RadarCircleGeometry) geofence.getGeometry();
+                shapes.put(id, new Shape(id, json, circle.getCenter().getLatitude(), circle.getCenter().getLongitude(), circle.getRadius()));
+            }
+        }
+
+        reindex();
+    }
+
+    public synchronized void addGeofences(JSONArray geofencesArr) throws JSONException {
+        for (int i = 0; i < geofencesArr.length(); i++) {
+            JSONObject json = geofencesArr.getJSONObject(i);
+            String id = json.has("_id") ? json.getString("_id") : json.optString("externalId", Integer.toString(i));
+
+            double[][] ring = ringForGeofence(json);
+            if (ring != null) {
+                shapes.put(id, new Shape(id, json, ring[0], ring[1]));
+                continue;
+            }
+
+            double latitude, longitude;
+            if (json.has("geometryCenter")) {
+                JSONArray center = json.getJSONObject("geometryCenter").getJSONArray("coordinates");
+                longitude = center.getDouble(0);
+                latitude = center.getDouble(1);
+            } else {
+                JSONObject center = json.getJSONObject("center");
+                latitude = center.getDouble("latitude");
+                longitude = center.getDouble("longitude");
+            }
+            double radius = json.has("geometryRadius") ? json.getDouble("geometryRadius") : json.getDouble("radius");
+            shapes.put(id, new Shape(id, json, latitude, longitude, radius));
+        }
+
+        reindex();
+    }
+
+    public synchronized double nearestDistance(double latitude, double longitude) {
+        double nearest = Double.POSITIVE_INFINITY;
+        for (Shape shape : shapes.values()) {
+            nearest = Math.min(nearest, Math.max(0, shape.signedDistance(latitude, longitude)));
+        }
+        return nearest;
+    }
+
+    public synchronized void clear() {
+        shapes.clear();
+        cells.clear();
+        largeShapes.clear();
+        inside.clear();
+        pending.clear();
+    }
+
+    public synchronized JSONArray evaluate(double latitude, double longitude, float accuracy, JSONObject locationObj) throws JSONException {
+        JSONArray events = new JSONArray();
+        if (shapes.isEmpty() || accuracy > maxAccuracy) {
+            return events;
+        }
+
+        Set<Shape> candidates = new HashSet<Shape>(largeShapes);
+        List<Shape> cell = cells.get(cellKey(cellIndex(latitude), cellIndex(longitude)));
+        if (cell != null) {
+            candidates.addAll(cell);
+        }
+        for (String id : inside) {
+            Shape shape = shapes.get(id);
+            if (shape != null) {
+                candidates.add(shape);
+            }
+        }
+
+        for (Shape shape : candidates) {
+            double distance = shape.signedDistance(latitude, longitude);
+            boolean wasInside = inside.contains(shape.id);
+            boolean crossing = wasInside ? distance > hysteresis : distance <= 0;
+
+            if (!crossing) {
+                pending.remove(shape.id);
+                continue;
+            }
+
+            Integer count = pending.get(shape.id);
+            count = count == null ? 1 : count + 1;
+            if (count < confirmations) {
+                pending.put(shape.id, count);
+                continue;
+            }
+            pending.remove(shape.id);
+
+            if (wasInside) {
+                inside.remove(shape.id);
+            } else {
+                inside.add(shape.id);
+            }
+
+            JSONObject event = new JSONObject();
+            event.put("type", wasInside ? "user.exited_geofence" : "user.entered_geofence");
+            event.put("geofence", shape.json);
+            event.put("location", locationObj);
+            event.put("distance", distance);
+            event.put("provisional", true);
+            event.put("createdAt", System.currentTimeMillis());
+            events.put(event);
+        }
+
+        return events;
+    }
+
+    private void reindex() {
+        cells.clear();
+        largeShapes.clear();
+
+        double margin = hysteresis / METERS_PER_DEGREE;
+        for (Shape shape : shapes.values()) {
+            int minLatitudeIndex = cellIndex(shape.minLatitude - margin);
+            int maxLatitudeIndex = cellIndex(shape.maxLatitude + margin);
+            int minLongitudeIndex = cellIndex(shape.minLongitude - margin);
+            int maxLongitudeIndex = cellIndex(shape.maxLongitude + margin);
+
+            long cellCount = (long) (maxLatitudeIndex - minLatitudeIndex + 1) * (maxLongitudeIndex - minLongitudeIndex + 1);
+            if (cellCount > MAX_CELLS_PER_GEOFENCE) {
+                largeShapes.add(shape);
+                continue;
+            }
+
+            for (int i = minLatitudeIndex; i <= maxLatitudeIndex; i++) {
+                for (int j = minLongitudeIndex; j <= maxLongitudeIndex; j++) {
+                    long key = cellKey(i, j);
+                    List<Shape> cell = cells.get(key);
+                    if (cell == null) {
+                        cell = new ArrayList<Shape>();
+                        cells.put(key, cell);
+                    }
+                    cell.add(shape);
+                }
+            }
+        }
+
+        inside.retainAll(shapes.keySet());
+    }
+
+    private static double[][] ringForGeofence(JSONObject json) throws JSONException {
+        JSONObject geometry = json.optJSONObject("geometry");
+        if (geometry != null && "Polygon".equalsIgnoreCase(geometry.optString("type"))) {
+            JSONArray ring = geometry.getJSONArray("coordinates").getJSONArray(0);
+            double[][] coordinates = new double[2][ring.length()];
+            for (int i = 0; i < ring.length(); i++) {
+                coordinates[0][i] = ring.getJSONArray(i).getDouble(1);
+                coordinates[1][i] = ring.getJSONArray(i).getDouble(0);
+            }
+            return coordinates;
+        }
+
+        JSONArray points = json.optJSONArray("coordinates");
+        if (points != null) {
+            double[][] coordinates = new double[2][points.length()];
+            for (int i = 0; i < points.length(); i++) {
+                JSONObject point = points.getJSONObject(i);
+                coordinates[0][i] = point.getDouble("latitude");
+                coordinates[1][i] = point.getDouble("longitude");
+            }
+            return coordinates;
+        }
+
+        return null;
+    }
+
+    private static int cellIndex(double degrees) {
+        return (int) Math.floor(degrees / CELL_SIZE);
+    }
+
+    private static long cellKey(int latitudeIndex, int longitudeIndex) {
+        return ((long) latitudeIndex << 32) | (longitudeIndex & 0xffffffffL);
+    }
+
+}
@@ -0,0 +1,98 @@
+package io.radar.cordova;
+
+import org.apache.cordova.CallbackContext;
+import org.apache.cordova.CordovaWebView;
+import org.apache.cordova.PluginResult;
+
+public class RadarCordovaInstrumentedCallbackContext extends CallbackContext {
+
+    private final String action;
+    private final CallbackContext delegate;
+    private final RadarCordovaDiagnostics diagnostics;
+    private final boolean tracked;
+    private final long startedAt = System.nanoTime();
+    private boolean responded;
+
+    public RadarCordovaInstrumentedCallbackContext(String action, CallbackContext delegate, CordovaWebView webView, RadarCordovaDiagnostics diagnostics) {
+        super(delegate.getCallbackId(), webView);
+        this.action = action;
+        this.delegate = delegate;
+        this.diagnostics = diagnostics;
+        // subscriptions stay open until their first update and unsubscribes never answer, so neither counts as in flight
+        this.tracked = !action.startsWith("on") && !action.startsWith("off");
+
+        diagnostics.begin(action, tracked);
+    }
+
+    @Override
+    public String getCallbackId() {
+        return delegate.getCallbackId();
+    }
+
+    @Override
+    public boolean isFinished() {
+        return delegate.isFinished();
+    }
+
+    @Override
+    public void sendPluginResult(PluginResult pluginResult) {
+        boolean first;
+        synchronized (this) {
+            first = tracked && !responded;
+            responded = true;
+        }
+
+        int status = pluginResult.getStatus();
+        diagnostics.recordResult(action, first, System.nanoTime() - startedAt, payloadBytes(pluginResult),
+            status != PluginResult.Status.OK.ordinal() && status != PluginResult.Status.NO_RESULT.ordinal(),
+            status == PluginResult.Status.JSON_EXCEPTION.ordinal());
+
+        delegate.sendPluginResult(pluginResult);
+    }
+
+    public void recordUnhandled() {
+        synchronized (this) {
+            if (responded) {
+                return;
+            }
+            responded = true;
+        }
+
+        diagnostics.recordUnhandled(action, tracked);
+    }
+
+    static int payloadBytes(PluginResult pluginResult) {
+        String message = pluginResult.getMessage();
+        if (message == null) {
+            return 0;
+        }
+
+        int type = pluginResult.getMessageType();
+        if (type == PluginResult.MESSAGE_TYPE_ARRAYBUFFER || type == PluginResult.MESSAGE_TYPE_BINARYSTRING) {
+            // binary results are carried as unwrapped Base64, count the decoded bytes
+            int padding = message.endsWith("==") ? 2 : message.endsWith("=") ? 1 : 0;
+            return message.length() / 4 * 3 - padding;
+        }
+
+        return utf8Length(message);
+    }
+
+    static int utf8Length(String str) {
+        int bytes = 0;
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < str.length() && Character.isLowSurrogate(str.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+}
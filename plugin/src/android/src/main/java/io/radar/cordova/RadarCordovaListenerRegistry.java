@@ -0,0 +1,186 @@
+package io.radar.cordova;
+
+import android.location.Location;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.cordova.CallbackContext;
+import org.apache.cordova.PluginResult;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+public class RadarCordovaListenerRegistry {
+
+    public static class Subscriber {
+
+        final String id;
+        final CallbackContext callbackContext;
+        final RadarCordovaBatcher batcher = new RadarCordovaBatcher();
+        final String filterKey;
+        private final Set<String> eventTypes;
+        private final Set<String> geofenceTags;
+        private final double minAccuracy;
+
+        Subscriber(String id, CallbackContext callbackContext, JSONObject optionsObj) {
+            this.id = id;
+            this.callbackContext = callbackContext;
+            this.eventTypes = stringSetForArray(optionsObj != null ? optionsObj.optJSONArray("eventTypes") : null);
+            this.geofenceTags = stringSetForArray(optionsObj != null ? optionsObj.optJSONArray("geofenceTags") : null);
+            this.minAccuracy = optionsObj != null ? optionsObj.optDouble("minAccuracy", 0) : 0;
+            this.filterKey = (eventTypes != null ? new TreeSet<String>(eventTypes).toString() : "*") + "|" +
+                (geofenceTags != null ? new TreeSet<String>(geofenceTags).toString() : "*");
+        }
+
+        public boolean hasEventFilter() {
+            return eventTypes != null || geofenceTags != null;
+        }
+
+        public JSONArray filterEvents(JSONArray events) {
+            if (!hasEventFilter()) {
+                return events;
+            }
+
+            JSONArray filtered = new JSONArray();
+            for (int i = 0; i < events.length(); i++) {
+                JSONObject event = events.optJSONObject(i);
+                if (event != null && acceptsEvent(event)) {
+                    filtered.put(event);
+                }
+            }
+            return filtered;
+        }
+
+        public boolean acceptsLocation(Location location) {
+            return minAccuracy <= 0 || (location.hasAccuracy() && location.getAccuracy() <= minAccuracy);
+        }
+
+        public void send(PluginResult pluginResult) {
+            pluginResult.setKeepCallback(true);
+            callbackContext.sendPluginResult(pluginResult);
+        }
+
+        public void add(Object update) {
+            batcher.add(callbackContext, update);
+        }
+
+        private boolean acceptsEvent(JSONObject event) {
+            if (eventTypes != null && !eventTypes.contains(event.optString("type"))) {
+                return false;
+            }
+
+            if (geofenceTags != null) {
+                JSONObject geofence = event.optJSONObject("geofence");
+                if (geofence == null || !geofenceTags.contains(geofence.optString("tag"))) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private static Set<String> stringSetForArray(JSONArray arr) {
+            if (arr == null) {
+                return null;
+            }
+
+            Set<String> set = new HashSet<String>();
+            for (int i = 0; i < arr.length(); i++) {
+                set.add(arr.optString(i));
+            }
+            return set;
+        }
+
+    }
+
+    private static final Subscriber[] EMPTY = new Subscriber[0];
+
+    private volatile Subscriber[] subscribers = EMPTY;
+    private int maxBatchSize = 1;
+    private long flushInterval = 0;
+
+    public Subscriber[] subscribers() {
+        return subscribers;
+    }
+
+    public boolean isEmpty() {
+        return subscribers.length == 0;
+    }
+
+    public synchronized Subscriber add(String id, CallbackContext callbackContext, JSONObject optionsObj) {
+        Subscriber subscriber = new Subscriber(id, callbackContext, optionsObj);
+        subscriber.batcher.setOptions(maxBatchSize, flushInterval);
+
+        Subscriber[] current = subscribers;
+        Subscriber[] next = Arrays.copyOf(current, current.length + 1);
+        int index = current.length;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i].id.equals(id)) {
+                release(current[i]);
+                next = Arrays.copyOf(current, current.length);
+                index = i;
+                break;
+            }
+        }
+        next[index] = subscriber;
+        subscribers = next;
+
+        return subscriber;
+    }
+
+    public synchronized void remove(String id) {
+        Subscriber[] current = subscribers;
+        int count = 0;
+        Subscriber[] next = new Subscriber[current.length];
+        for (Subscriber subscriber : current) {
+            if (id == null || subscriber.id.equals(id)) {
+                release(subscriber);
+            } else {
+                next[count++] = subscriber;
+            }
+        }
+        subscribers = count == 0 ? EMPTY : Arrays.copyOf(next, count);
+    }
+
+    public synchronized void setBatching(int maxBatchSize, long flushInterval) {
+        this.maxBatchSize = maxBatchSize;
+        this.flushInterval = flushInterval;
+
+        for (Subscriber subscriber : subscribers) {
+            subscriber.batcher.setOptions(maxBatchSize, flushInterval);
+        }
+    }
+
+    public void flush() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.batcher.flush();
+        }
+    }
+
+    public void sendError() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.send(new PluginResult(PluginResult.Status.JSON_EXCEPTION));
+        }
+    }
+
+    public JSONArray getSubscriberIds() {
+        JSONArray arr = new JSONArray();
+        for (Subscriber subscriber : subscribers) {
+            arr.put(subscriber.id);
+        }
+        return arr;
+    }
+
+    private static void release(Subscriber subscriber) {
+        subscriber.batcher.flush();
+        subscriber.batcher.clear();
+
+        PluginResult pluginResult = new PluginResult(PluginResult.Status.NO_RESULT);
+        pluginResult.setKeepCallback(false);
+        subscriber.callbackContext.sendPluginResult(pluginResult);
+    }
+
+}
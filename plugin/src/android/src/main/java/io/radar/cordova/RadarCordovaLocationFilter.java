@@ -0,0 +1,121 @@
+package io.radar.cordova;
+
+import android.location.Location;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+public class RadarCordovaLocationFilter {
+
+    private double minDistance;
+    private long minInterval;
+    private double maxAccuracy;
+    private double maxSpeed;
+    private boolean smoothing;
+    private double processNoise = 3;
+
+    private Location lastAccepted;
+    private double smoothedLatitude;
+    private double smoothedLongitude;
+    private double variance = -1;
+    private long smoothedTime;
+
+    private long received;
+    private long accepted;
+    private long droppedAccuracy;
+    private long droppedInterval;
+    private long droppedDistance;
+    private long droppedSpeed;
+
+    public synchronized void setOptions(double minDistance, long minInterval, double maxAccuracy, double maxSpeed, boolean smoothing, double processNoise) {
+        this.minDistance = minDistance;
+        this.minInterval = minInterval;
+        this.maxAccuracy = maxAccuracy;
+        this.maxSpeed = maxSpeed;
+        this.smoothing = smoothing;
+        this.processNoise = processNoise;
+
+        reset();
+    }
+
+    public synchronized void reset() {
+        lastAccepted = null;
+        variance = -1;
+    }
+
+    public synchronized Location filter(Location location, boolean stopped) {
+        received++;
+
+        double accuracy = location.hasAccuracy() ? location.getAccuracy() : 0;
+        if (maxAccuracy > 0 && (!location.hasAccuracy() || accuracy > maxAccuracy)) {
+            droppedAccuracy++;
+            return null;
+        }
+
+        if (lastAccepted != null) {
+            long elapsed = location.getTime() - lastAccepted.getTime();
+            double distance = RadarCordovaGeo.distance(lastAccepted.getLatitude(), lastAccepted.getLongitude(), location.getLatitude(), location.getLongitude());
+
+            if (!stopped && minInterval > 0 && elapsed < minInterval) {
+                droppedInterval++;
+                return null;
+            }
+
+            if (!stopped && minDistance > 0 && distance < minDistance) {
+                droppedDistance++;
+                return null;
+            }
+
+            if (maxSpeed > 0 && elapsed > 0 && distance / (elapsed / 1000.0) > maxSpeed) {
+                droppedSpeed++;
+                return null;
+            }
+        }
+
+        lastAccepted = new Location(location);
+        accepted++;
+
+        if (!smoothing) {
+            return location;
+        }
+
+        return smooth(location, Math.max(accuracy, 1));
+    }
+
+    public synchronized JSONObject getStats() throws JSONException {
+        JSONObject obj = new JSONObject();
+        obj.put("received", received);
+        obj.put("accepted", accepted);
+        obj.put("droppedAccuracy", droppedAccuracy);
+        obj.put("droppedInterval", droppedInterval);
+        obj.put("droppedDistance", droppedDistance);
+        obj.put("droppedSpeed", droppedSpeed);
+        return obj;
+    }
+
+    private Location smooth(Location location, double accuracy) {
+        if (variance < 0) {
+            smoothedLatitude = location.getLatitude();
+            smoothedLongitude = location.getLongitude();
+            variance = accuracy * accuracy;
+        } else {
+            long elapsed = location.getTime() - smoothedTime;
+            if (elapsed > 0) {
+                variance += elapsed * processNoise * processNoise / 1000.0;
+            }
+
+            double gain = variance / (variance + accuracy * accuracy);
+            smoothedLatitude += gain * (location.getLatitude() - smoothedLatitude);
+            smoothedLongitude += gain * (location.getLongitude() - smoothedLongitude);
+            variance = (1 - gain) * variance;
+        }
+        smoothedTime = location.getTime();
+
+        Location smoothed = new Location(location);
+        smoothed.setLatitude(smoothedLatitude);
+        smoothed.setLongitude(smoothedLongitude);
+        smoothed.setAccuracy((float) Math.sqrt(variance));
+        return smoothed;
+    }
+
+}
@@ -0,0 +1,310 @@
+package io.radar.cordova;
+
+import android.util.Log;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+public class RadarCordovaLogBuffer {
+
+    public interface Listener {
+        void onLogs(JSONArray logs);
+    }
+
+    private static final class Entry {
+
+        final long seq;
+        final long timestamp;
+        final String level;
+        final String message;
+
+        Entry(long seq, long timestamp, String level, String message) {
+            this.seq = seq;
+            this.timestamp = timestamp;
+            this.level = level;
+            this.message = message;
+        }
+
+    }
+
+    private static final class Ring {
+
+        final AtomicReferenceArray<Entry> slots;
+        final int mask;
+
+        Ring(int capacity) {
+            int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+            slots = new AtomicReferenceArray<Entry>(size);
+            mask = size - 1;
+        }
+
+    }
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    private final AtomicLong head = new AtomicLong();
+    private volatile Ring ring;
+    private volatile String level = "none";
+    private volatile long floor;
+
+    private long flushInterval = 1000;
+    private ScheduledFuture<?> drainFuture;
+    private Listener listener;
+    private long streamCursor;
+
+    private File file;
+    private long maxFileBytes;
+    private int maxFiles;
+    private OutputStream out;
+    private long fileBytes;
+    private long fileCursor;
+    private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.US);
+
+    public RadarCordovaLogBuffer(int capacity) {
+        ring = new Ring(capacity);
+        dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+    }
+
+    public void append(String message) {
+        long seq = head.getAndIncrement();
+        Ring ring = this.ring;
+        ring.slots.set((int) (seq & ring.mask), new Entry(seq, System.currentTimeMillis(), level, message));
+    }
+
+    public void setLevel(String level) {
+        this.level = level;
+    }
+
+    public synchronized void setCapacity(int capacity) {
+        if (capacity != ring.slots.length()) {
+            ring = new Ring(capacity);
+            floor = head.get();
+        }
+    }
+
+    public void clear() {
+        floor = head.get();
+    }
+
+    public JSONObject read(long since, int limit) throws JSONException {
+        Ring ring = this.ring;
+        long end = head.get();
+        long start = Math.max(Math.max(since, floor), end - ring.slots.length());
+        long dropped = Math.max(0, start - Math.max(since, floor));
+
+        JSONArray logs = new JSONArray();
+        long next = start;
+        while (next < end && logs.length() < limit) {
+            Entry entry = ring.slots.get((int) (next & ring.mask));
+            if (entry == null || entry.seq < next) {
+                break;
+            }
+            if (entry.seq > next) {
+                dropped++;
+            } else {
+                logs.put(toJson(entry));
+            }
+            next++;
+        }
+
+        JSONObject obj = new JSONObject();
+        obj.put("logs", logs);
+        obj.put("next", next);
+        obj.put("dropped", dropped);
+        obj.put("level", level);
+        synchronized (this) {
+            if (file != null) {
+                obj.put("file", file.getAbsolutePath());
+            }
+        }
+        return obj;
+    }
+
+    public synchronized void setFile(File file, long maxFileBytes, int maxFiles) {
+        closeFile();
+
+        this.file = file;
+        this.maxFileBytes = maxFileBytes;
+        this.maxFiles = Math.max(1, maxFiles);
+        fileCursor = Math.max(floor, head.get() - ring.slots.length());
+
+        reschedule();
+    }
+
+    public synchronized void setFlushInterval(long flushInterval) {
+        this.flushInterval = Math.max(50, flushInterval);
+
+        if (drainFuture != null) {
+            drainFuture.cancel(false);
+            drainFuture = null;
+        }
+        reschedule();
+    }
+
+    public synchronized void start(Listener listener) {
+        if (this.listener == null) {
+            streamCursor = head.get();
+        }
+        this.listener = listener;
+
+        reschedule();
+    }
+
+    public synchronized void stop() {
+        listener = null;
+
+        reschedule();
+    }
+
+    private void reschedule() {
+        boolean active = listener != null || file != null;
+        if (active && drainFuture == null) {
+            drainFuture = scheduler.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    drain();
+                }
+            }, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+        } else if (!active && drainFuture != null) {
+            drainFuture.cancel(false);
+            drainFuture = null;
+        }
+    }
+
+    private void drain() {
+        Listener listener;
+        JSONArray logs = null;
+
+        synchronized (this) {
+            listener = this.listener;
+
+            try {
+                if (file != null) {
+                    fileCursor = writeFile(fileCursor);
+                }
+
+                if (listener != null) {
+                    JSONObject obj = read(streamCursor, Integer.MAX_VALUE);
+                    streamCursor = obj.getLong("next");
+                    logs = obj.getJSONArray("logs");
+                }
+            } catch (JSONException e) {
+                Log.e("RadarCordovaPlugin", "JSONException", e);
+            } catch (IOException e) {
+                Log.e("RadarCordovaPlugin", "IOException", e);
+                closeFile();
+            }
+        }
+
+        if (listener != null && logs != null && logs.length() > 0) {
+            listener.onLogs(logs);
+        }
+    }
+
+    private long writeFile(long cursor) throws IOException {
+        Ring ring = this.ring;
+        long end = head.get();
+        long from = Math.max(cursor, floor);
+        long start = Math.max(from, end - ring.slots.length());
+        if (start >= end) {
+            return start;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        if (start > from) {
+            sb.append(dateFormat.format(new Date())).append(" WARNING ").append(start - from).append(" log entries dropped\n");
+        }
+
+        long next = start;
+        while (next < end) {
+            Entry entry = ring.slots.get((int) (next & ring.mask));
+            if (entry == null || entry.seq < next) {
+                break;
+            }
+            if (entry.seq == next) {
+                sb.append(dateFormat.format(new Date(entry.timestamp))).append(' ')
+                    .append(entry.level.toUpperCase(Locale.US)).append(' ')
+                    .append(entry.message.replace('\n', ' ')).append('\n');
+            }
+            next++;
+        }
+
+        byte[] bytes = sb.toString().getBytes(UTF_8);
+        if (out == null) {
+            fileBytes = file.exists() ? file.length() : 0;
+            out = new FileOutputStream(file, true);
+        }
+        if (fileBytes > 0 && fileBytes + bytes.length > maxFileBytes) {
+            rotate();
+        }
+        out.write(bytes);
+        out.flush();
+        fileBytes += bytes.length;
+
+        return next;
+    }
+
+    private void rotate() throws IOException {
+        out.close();
+        out = null;
+
+        int backups = maxFiles - 1;
+        if (backups == 0) {
+            file.delete();
+        } else {
+            new File(file.getPath() + "." + backups).delete();
+            for (int i = backups - 1; i >= 1; i--) {
+                File rotated = new File(file.getPath() + "." + i);
+                if (rotated.exists()) {
+                    rotated.renameTo(new File(file.getPath() + "." + (i + 1)));
+                }
+            }
+            file.renameTo(new File(file.getPath() + ".1"));
+        }
+
+        out = new FileOutputStream(file, true);
+        fileBytes = 0;
+    }
+
+    private void closeFile() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                Log.e("RadarCordovaPlugin", "IOException", e);
+            }
+            out = null;
+        }
+
+        file = null;
+        reschedule();
+    }
+
+    private static JSONObject toJson(Entry entry) throws JSONException {
+        JSONObject obj = new JSONObject();
+        obj.put("seq", entry.seq);
+        obj.put("timestamp", entry.timestamp);
+        obj.put("level", entry.level);
+        obj.put("message", entry.message);
+        return obj;
+    }
+
+}
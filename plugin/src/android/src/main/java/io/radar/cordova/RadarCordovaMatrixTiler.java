@@ -0,0 +1,215 @@
+package io.radar.cordova;
+
+import android.location.Location;
+import android.util.Log;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import io.radar.sdk.Radar;
+import io.radar.sdk.model.RadarRouteMatrix;
+
+public class RadarCordovaMatrixTiler {
+
+    public interface Listener {
+        void onRows(JSONArray rows);
+        void onComplete(Radar.RadarStatus status, JSONArray matrix);
+    }
+
+    private static class Tile {
+
+        final int originStart;
+        final int originEnd;
+        final int[] destinationIndices;
+
+        Tile(int originStart, int originEnd, int[] destinationIndices) {
+            this.originStart = originStart;
+            this.originEnd = originEnd;
+            this.destinationIndices = destinationIndices;
+        }
+
+    }
+
+    private final Location[] origins;
+    private final Location[] destinations;
+    private final Radar.RadarRouteMode mode;
+    private final Radar.RadarRouteUnits units;
+    private final int parallelism;
+    private final Listener listener;
+
+    private final LinkedList<Tile> queue = new LinkedList<Tile>();
+    private final JSONArray[] rows;
+    private final int[] remainingTilesInBand;
+    private final int tileOrigins;
+    private int inFlight;
+    private Radar.RadarStatus failure;
+
+    public RadarCordovaMatrixTiler(Location[] origins, Location[] destinations, Radar.RadarRouteMode mode, Radar.RadarRouteUnits units,
+                                   int tileOrigins, int tileDestinations, int parallelism, Listener listener) {
+        this(origins, destinations, mode, units, tileOrigins, parallelism, listener);
+        tileDestinations = Math.max(1, tileDestinations);
+
+        for (int band = 0; band < remainingTilesInBand.length; band++) {
+            int originStart = band * this.tileOrigins;
+            int originEnd = Math.min(originStart + this.tileOrigins, origins.length);
+            for (int destinationStart = 0; destinationStart < destinations.length; destinationStart += tileDestinations) {
+                int destinationEnd = Math.min(destinationStart + tileDestinations, destinations.length);
+                int[] destinationIndices = new int[destinationEnd - destinationStart];
+                for (int j = 0; j < destinationIndices.length; j++) {
+                    destinationIndices[j] = destinationStart + j;
+                }
+                queue.add(new Tile(originStart, originEnd, destinationIndices));
+                remainingTilesInBand[band]++;
+            }
+        }
+    }
+
+    // one request per origin against its own subset of destinations, rows only hold the requested cells
+    public RadarCordovaMatrixTiler(Location[] origins, Location[] destinations, int[][] destinationIndices, Radar.RadarRouteMode mode, Radar.RadarRouteUnits units,
+                                   int parallelism, Listener listener) {
+        this(origins, destinations, mode, units, 1, parallelism, listener);
+
+        for (int i = 0; i < origins.length; i++) {
+            if (destinationIndices[i].length == 0) {
+                continue;
+            }
+            queue.add(new Tile(i, i + 1, destinationIndices[i]));
+            remainingTilesInBand[i]++;
+        }
+    }
+
+    private RadarCordovaMatrixTiler(Location[] origins, Location[] destinations, Radar.RadarRouteMode mode, Radar.RadarRouteUnits units,
+                                    int tileOrigins, int parallelism, Listener listener) {
+        this.origins = origins;
+        this.destinations = destinations;
+        this.mode = mode;
+        this.units = units;
+        this.parallelism = Math.max(1, parallelism);
+        this.listener = listener;
+        this.tileOrigins = Math.max(1, tileOrigins);
+
+        rows = new JSONArray[origins.length];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = new JSONArray();
+        }
+
+        remainingTilesInBand = new int[(origins.length + this.tileOrigins - 1) / this.tileOrigins];
+    }
+
+    public void start() {
+        synchronized (this) {
+            if (queue.isEmpty()) {
+                listener.onComplete(Radar.RadarStatus.SUCCESS, new JSONArray());
+                return;
+            }
+        }
+
+        launchNext();
+    }
+
+    private void launchNext() {
+        while (true) {
+            final Tile tile;
+            synchronized (this) {
+                if (failure != null || queue.isEmpty() || inFlight >= parallelism) {
+                    return;
+                }
+                tile = queue.removeFirst();
+                inFlight++;
+            }
+
+            Location[] tileOrigins = Arrays.copyOfRange(origins, tile.originStart, tile.originEnd);
+            Location[] tileDestinations = new Location[tile.destinationIndices.length];
+            for (int j = 0; j < tileDestinations.length; j++) {
+                tileDestinations[j] = destinations[tile.destinationIndices[j]];
+            }
+            Radar.getMatrix(tileOrigins, tileDestinations, mode, units, new Radar.RadarMatrixCallback() {
+                @Override
+                public void onComplete(Radar.RadarStatus status, RadarRouteMatrix matrix) {
+                    onTileComplete(tile, status, matrix);
+                }
+            });
+        }
+    }
+
+    private void onTileComplete(Tile tile, Radar.RadarStatus status, RadarRouteMatrix matrix) {
+        JSONArray completedRows = null;
+        boolean done;
+
+        synchronized (this) {
+            inFlight--;
+
+            if (status != Radar.RadarStatus.SUCCESS || matrix == null) {
+                if (failure == null) {
+                    failure = status;
+                }
+                queue.clear();
+            } else if (failure == null) {
+                try {
+                    stitch(tile, matrix.toJson());
+
+                    int band = tile.originStart / tileOrigins;
+                    if (--remainingTilesInBand[band] == 0) {
+                        completedRows = new JSONArray();
+                        for (int i = tile.originStart; i < tile.originEnd; i++) {
+                            JSONObject row = new JSONObject();
+                            row.put("originIndex", i);
+                            row.put("routes", rows[i]);
+                            completedRows.put(row);
+                        }
+                    }
+                } catch (JSONException e) {
+                    Log.e("RadarCordovaPlugin", "JSONException", e);
+                    failure = Radar.RadarStatus.ERROR_UNKNOWN;
+                    queue.clear();
+                }
+            }
+
+            done = inFlight == 0 && queue.isEmpty();
+        }
+
+        if (completedRows != null) {
+            listener.onRows(completedRows);
+        }
+
+        if (done) {
+            if (failure != null) {
+                listener.onComplete(failure, null);
+            } else {
+                JSONArray arr = new JSONArray();
+                for (JSONArray row : rows) {
+                    arr.put(row);
+                }
+                listener.onComplete(Radar.RadarStatus.SUCCESS, arr);
+            }
+        } else {
+            launchNext();
+        }
+    }
+
+    private void stitch(Tile tile, JSONArray tileMatrix) throws JSONException {
+        for (int i = 0; i < tileMatrix.length(); i++) {
+            JSONArray tileRow = tileMatrix.getJSONArray(i);
+            int originIndex = tile.originStart + i;
+            for (int j = 0; j < tileRow.length(); j++) {
+                int destinationIndex = tile.destinationIndices[j];
+                Object route = tileRow.opt(j);
+                if (route instanceof JSONObject) {
+                    JSONObject routeObj = (JSONObject) route;
+                    if (routeObj.has("originIndex")) {
+                        routeObj.put("originIndex", originIndex);
+                    }
+                    if (routeObj.has("destinationIndex")) {
+                        routeObj.put("destinationIndex", destinationIndex);
+                    }
+                }
+                rows[originIndex].put(destinationIndex, route != null ? route : JSONObject.NULL);
+            }
+        }
+    }
+
+}
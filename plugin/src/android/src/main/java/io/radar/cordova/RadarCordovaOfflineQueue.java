@@ -0,0 +1,289 @@
+package io.radar.cordova;
+
+import android.content.Context;
+import android.location.Location;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.os.Build;
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import io.radar.sdk.Radar;
+import io.radar.sdk.model.RadarEvent;
+import io.radar.sdk.model.RadarUser;
+
+public class RadarCordovaOfflineQueue {
+
+    public static final String TYPE_TRACK_ONCE = "trackOnce";
+    public static final String TYPE_SEND_EVENT = "sendEvent";
+
+    private static final long MAX_QUEUE_BYTES = 512 * 1024;
+    private static final long INITIAL_BACKOFF = 1000;
+
+    private final RadarCordovaEventJournal journal;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    private boolean enabled;
+    private boolean stampQueuedAt;
+    private int batchSize = 10;
+    private long maxBackoff = 5 * 60 * 1000;
+
+    private long backoff = INITIAL_BACKOFF;
+    private ScheduledFuture<?> drainFuture;
+    private boolean draining;
+    private long nextAttemptAt;
+    private long batchStartedAt;
+    private long enqueued;
+    private long replayed;
+    private long discarded;
+    private double drainRate;
+
+    public RadarCordovaOfflineQueue(Context context) {
+        journal = new RadarCordovaEventJournal(new File(context.getApplicationContext().getFilesDir(), "radar_cordova_queue"), MAX_QUEUE_BYTES);
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+            ConnectivityManager connectivityManager = (ConnectivityManager) context.getApplicationContext().getSystemService(Context.CONNECTIVITY_SERVICE);
+            if (connectivityManager != null) {
+                connectivityManager.registerDefaultNetworkCallback(new ConnectivityManager.NetworkCallback() {
+                    @Override
+                    public void onAvailable(Network network) {
+                        drainNow();
+                    }
+                });
+            }
+        }
+    }
+
+    public static boolean shouldQueue(Radar.RadarStatus status) {
+        return status == Radar.RadarStatus.ERROR_NETWORK;
+    }
+
+    public synchronized void setOptions(boolean enabled, int batchSize, long maxBackoff, boolean stampQueuedAt) {
+        this.enabled = enabled;
+        this.stampQueuedAt = stampQueuedAt;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBackoff = Math.max(INITIAL_BACKOFF, maxBackoff);
+
+        if (enabled) {
+            scheduleDrain(0);
+        } else if (drainFuture != null) {
+            drainFuture.cancel(false);
+            drainFuture = null;
+        }
+    }
+
+    public synchronized boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean enqueueTrackOnce(Location location) throws JSONException {
+        JSONObject locationObj = new JSONObject();
+        locationObj.put("latitude", location.getLatitude());
+        locationObj.put("longitude", location.getLongitude());
+        locationObj.put("accuracy", location.getAccuracy());
+
+        JSONObject record = new JSONObject();
+        record.put("type", TYPE_TRACK_ONCE);
+        record.put("location", locationObj);
+        record.put("timestamp", location.getTime() > 0 ? location.getTime() : System.currentTimeMillis());
+        return enqueue(record);
+    }
+
+    public boolean enqueueSendEvent(String customType, JSONObject metadata) throws JSONException {
+        JSONObject record = new JSONObject();
+        record.put("type", TYPE_SEND_EVENT);
+        record.put("customType", customType);
+        record.put("metadata", metadata != null ? metadata : new JSONObject());
+        record.put("timestamp", System.currentTimeMillis());
+        return enqueue(record);
+    }
+
+    public synchronized void drainNow() {
+        if (journal.pendingCount() == 0) {
+            return;
+        }
+
+        backoff = INITIAL_BACKOFF;
+        if (drainFuture != null) {
+            drainFuture.cancel(false);
+            drainFuture = null;
+        }
+        scheduleDrain(0);
+    }
+
+    public void clear() {
+        scheduler.execute(new Runnable() {
+            @Override
+            public void run() {
+                journal.acknowledge(Long.MAX_VALUE);
+            }
+        });
+    }
+
+    public synchronized JSONObject getStats() throws JSONException {
+        JSONObject obj = new JSONObject();
+        obj.put("enabled", enabled);
+        obj.put("depth", journal.pendingCount());
+        obj.put("enqueued", enqueued);
+        obj.put("replayed", replayed);
+        obj.put("discarded", discarded);
+        obj.put("drainRate", drainRate);
+        obj.put("backoff", backoff);
+        if (drainFuture != null) {
+            obj.put("nextAttemptAt", nextAttemptAt);
+        }
+        return obj;
+    }
+
+    private boolean enqueue(JSONObject record) throws JSONException {
+        if (journal.append(record) < 0) {
+            return false;
+        }
+
+        synchronized (this) {
+            enqueued++;
+            scheduleDrain(backoff);
+        }
+        return true;
+    }
+
+    private void scheduleDrain(long delay) {
+        if (!enabled || draining || drainFuture != null) {
+            return;
+        }
+
+        nextAttemptAt = System.currentTimeMillis() + delay;
+        drainFuture = scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                drainBatch();
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void drainBatch() {
+        final List<JSONObject> batch;
+        synchronized (this) {
+            drainFuture = null;
+            if (!enabled || draining) {
+                return;
+            }
+
+            batch = journal.readUnacknowledged(batchSize);
+            if (batch.isEmpty()) {
+                backoff = INITIAL_BACKOFF;
+                return;
+            }
+
+            draining = true;
+            batchStartedAt = SystemClock.elapsedRealtime();
+        }
+
+        replayNext(batch, 0);
+    }
+
+    private void replayNext(final List<JSONObject> batch, final int index) {
+        if (index >= batch.size()) {
+            onBatchComplete(batch.size());
+            return;
+        }
+
+        final JSONObject record = batch.get(index);
+        final String type = record.optString("type");
+        try {
+            if (type.equals(TYPE_TRACK_ONCE)) {
+                JSONObject locationObj = record.getJSONObject("location");
+                Location location = new Location("RadarCordovaPlugin");
+                location.setLatitude(locationObj.getDouble("latitude"));
+                location.setLongitude(locationObj.getDouble("longitude"));
+                location.setAccuracy((float) locationObj.optDouble("accuracy", 0));
+                location.setTime(record.getLong("timestamp"));
+
+                Radar.trackOnce(location, new Radar.RadarTrackCallback() {
+                    @Override
+                    public void onComplete(Radar.RadarStatus status, Location location, RadarEvent[] events, RadarUser user) {
+                        onReplayed(batch, index, record, status);
+                    }
+                });
+            } else if (type.equals(TYPE_SEND_EVENT)) {
+                JSONObject metadata = record.getJSONObject("metadata");
+                boolean stamp;
+                synchronized (this) {
+                    stamp = stampQueuedAt;
+                }
+                if (stamp && !metadata.has("queuedAt")) {
+                    metadata.put("queuedAt", record.getLong("timestamp"));
+                }
+
+                Radar.sendEvent(record.getString("customType"), metadata, new Radar.RadarSendEventCallback() {
+                    @Override
+                    public void onComplete(Radar.RadarStatus status, Location location, RadarEvent[] events, RadarUser user) {
+                        onReplayed(batch, index, record, status);
+                    }
+                });
+            } else {
+                onReplayed(batch, index, record, Radar.RadarStatus.ERROR_BAD_REQUEST);
+            }
+        } catch (JSONException e) {
+            Log.e("RadarCordovaPlugin", "JSONException", e);
+            onReplayed(batch, index, record, Radar.RadarStatus.ERROR_BAD_REQUEST);
+        }
+    }
+
+    private void onReplayed(final List<JSONObject> batch, final int index, final JSONObject record, final Radar.RadarStatus status) {
+        scheduler.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (shouldQueue(status)) {
+                    synchronized (RadarCordovaOfflineQueue.this) {
+                        updateDrainRate(index);
+                        draining = false;
+                        scheduleDrain(backoff);
+                        backoff = Math.min(backoff * 2, maxBackoff);
+                    }
+                    return;
+                }
+
+                journal.acknowledge(record.optLong("seq"));
+                synchronized (RadarCordovaOfflineQueue.this) {
+                    if (status == Radar.RadarStatus.SUCCESS) {
+                        replayed++;
+                    } else {
+                        Log.w("RadarCordovaPlugin", "Discarding queued " + record.optString("type") + ": " + status);
+                        discarded++;
+                    }
+                }
+
+                replayNext(batch, index + 1);
+            }
+        });
+    }
+
+    private synchronized void onBatchComplete(int count) {
+        updateDrainRate(count);
+        draining = false;
+        backoff = INITIAL_BACKOFF;
+
+        if (journal.pendingCount() > 0) {
+            scheduleDrain(0);
+        }
+    }
+
+    private void updateDrainRate(int count) {
+        long elapsed = SystemClock.elapsedRealtime() - batchStartedAt;
+        if (count > 0 && elapsed > 0) {
+            drainRate = count * 1000.0 / elapsed;
+        }
+    }
+
+}
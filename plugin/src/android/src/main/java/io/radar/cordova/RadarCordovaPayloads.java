@@ -0,0 +1,53 @@
+package io.radar.cordova;
+
+import android.location.Location;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import io.radar.sdk.Radar;
+import io.radar.sdk.model.RadarEvent;
+import io.radar.sdk.model.RadarUser;
+
+public class RadarCordovaPayloads {
+
+    public static JSONObject trackResult(Radar.RadarStatus status, Location location, RadarEvent[] events, RadarUser user) throws JSONException {
+        JSONObject obj = new JSONObject();
+        obj.put("status", status.toString());
+        if (location != null) {
+            obj.put("location", Radar.jsonForLocation(location));
+        }
+        if (events != null) {
+            obj.put("events", RadarEvent.toJson(events));
+        }
+        if (user != null) {
+            obj.put("user", user.toJson());
+        }
+        return obj;
+    }
+
+    public static JSONObject eventsUpdate(JSONArray events, JSONObject userPayload, boolean userDelta, long cursor) throws JSONException {
+        JSONObject obj = new JSONObject();
+        obj.put("events", events);
+        obj.put(userDelta ? "userDelta" : "user", userPayload);
+        obj.put("cursor", cursor);
+        return obj;
+    }
+
+    public static JSONObject locationUpdate(Location location, JSONObject userPayload, boolean userDelta) throws JSONException {
+        JSONObject obj = new JSONObject();
+        obj.put("location", Radar.jsonForLocation(location));
+        obj.put(userDelta ? "userDelta" : "user", userPayload);
+        return obj;
+    }
+
+    public static JSONObject clientLocationUpdate(Location location, boolean stopped, String source) throws JSONException {
+        JSONObject obj = new JSONObject();
+        obj.put("location", Radar.jsonForLocation(location));
+        obj.put("stopped", stopped);
+        obj.put("source", source);
+        return obj;
+    }
+
+}
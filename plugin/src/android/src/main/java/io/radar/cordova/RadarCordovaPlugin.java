@@ -2,16 +2,27 @@ package io.radar.cordova;
 
 import android.Manifest;
 import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
 import android.location.Location;
+import android.os.BatteryManager;
 import android.os.Build;
 import android.util.Log;
 
-import java.util.Arrays;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.cordova.CallbackContext;
 import org.apache.cordova.CordovaPlugin;
@@ -22,6 +33,7 @@ import org.apache.cordova.CordovaWebView;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
+import org.xmlpull.v1.XmlPullParserException;
 
 import io.radar.sdk.Radar;
 import io.radar.sdk.RadarReceiver;
@@ -29,32 +41,200 @@ import io.radar.sdk.RadarTrackingOptions;
 import io.radar.sdk.RadarTrackingOptions.RadarTrackingOptionsForegroundService;
 import io.radar.sdk.RadarTripOptions;
 import io.radar.sdk.model.RadarAddress;
+import io.radar.sdk.model.RadarCircleGeometry;
 import io.radar.sdk.model.RadarContext;
+import io.radar.sdk.model.RadarCoordinate;
 import io.radar.sdk.model.RadarEvent;
 import io.radar.sdk.model.RadarGeofence;
 import io.radar.sdk.model.RadarPlace;
+import io.radar.sdk.model.RadarPolygonGeometry;
 import io.radar.sdk.model.RadarRouteMatrix;
 import io.radar.sdk.model.RadarRoutes;
 import io.radar.sdk.model.RadarTrip;
 import io.radar.sdk.model.RadarUser;
 
 import android.app.Activity;
-import android.content.Intent;
 import android.annotation.TargetApi;
 
 import androidx.annotation.Nullable;
 
 public class RadarCordovaPlugin extends CordovaPlugin {
 
-    private static CallbackContext eventsCallbackContext;
-    private static CallbackContext locationCallbackContext;
-    private static CallbackContext clientLocationCallbackContext;
-    private static CallbackContext errorCallbackContext;
+    private static final RadarCordovaListenerRegistry eventsListeners = new RadarCordovaListenerRegistry();
+    private static final RadarCordovaListenerRegistry locationListeners = new RadarCordovaListenerRegistry();
+    private static final RadarCordovaListenerRegistry clientLocationListeners = new RadarCordovaListenerRegistry();
+    private static final RadarCordovaListenerRegistry errorListeners = new RadarCordovaListenerRegistry();
+    private static final RadarCordovaListenerRegistry tripProgressListeners = new RadarCordovaListenerRegistry();
+    private static final RadarCordovaListenerRegistry trackingTransitionListeners = new RadarCordovaListenerRegistry();
+    private static final RadarCordovaListenerRegistry logListeners = new RadarCordovaListenerRegistry();
+    private static final RadarCordovaListenerRegistry stateListeners = new RadarCordovaListenerRegistry();
+    private static final RadarCordovaListenerRegistry provisionalEventsListeners = new RadarCordovaListenerRegistry();
+
+
+    private static RadarCordovaEventJournal eventJournal;
+    private static RadarCordovaOfflineQueue offlineQueue;
+    private static RadarCordovaCustomEventBatcher customEventBatcher;
+    private static RadarCordovaTraceReplayer traceReplayer;
+    private static volatile boolean compactEncoding;
+    private static volatile boolean userDeltaEnabled;
+    private static final RadarCordovaUserDelta locationUserDelta = new RadarCordovaUserDelta();
+    private static final RadarCordovaUserDelta eventsUserDelta = new RadarCordovaUserDelta();
+
+    private static final RadarCordovaLocationFilter clientLocationFilter = new RadarCordovaLocationFilter();
+    private static final RadarCordovaGeocodeCache geocodeCache = new RadarCordovaGeocodeCache();
+    private static final RadarCordovaSearchCache searchCache = new RadarCordovaSearchCache();
+    private static final RadarCordovaRequestCoalescer requestCoalescer = new RadarCordovaRequestCoalescer();
+    private static final RadarCordovaGeofenceEngine geofenceEngine = new RadarCordovaGeofenceEngine();
+    private static final RadarCordovaTripProgress tripProgress = new RadarCordovaTripProgress();
+    private static final RadarCordovaTripProgress.Listener tripProgressListener = new RadarCordovaTripProgress.Listener() {
+        @Override
+        public void onProgress(JSONObject progress) {
+            RadarCordovaListenerRegistry.Subscriber[] subscribers = RadarCordovaPlugin.tripProgressListeners.subscribers();
+            if (subscribers.length == 0) {
+                RadarCordovaPlugin.tripProgress.stop();
+                return;
+            }
+
+            for (RadarCordovaListenerRegistry.Subscriber subscriber : subscribers) {
+                subscriber.send(new PluginResult(PluginResult.Status.OK, progress));
+            }
+        }
+    };
+
+    private static final RadarCordovaDiagnostics diagnostics = new RadarCordovaDiagnostics();
+    private static final RadarCordovaStartup startup = new RadarCordovaStartup();
+    private static final RadarCordovaStateCache stateCache = new RadarCordovaStateCache();
+    private static final RadarCordovaStateCache.Listener stateListener = new RadarCordovaStateCache.Listener() {
+        @Override
+        public void onStateChange(JSONObject change) {
+            RadarCordovaListenerRegistry.Subscriber[] subscribers = RadarCordovaPlugin.stateListeners.subscribers();
+            if (subscribers.length == 0) {
+                RadarCordovaPlugin.stateCache.setListener(null);
+                return;
+            }
+
+            for (RadarCordovaListenerRegistry.Subscriber subscriber : subscribers) {
+                subscriber.send(new PluginResult(PluginResult.Status.OK, change));
+            }
+        }
+    };
+    private static final RadarCordovaLogBuffer logBuffer = new RadarCordovaLogBuffer(512);
+    private static final RadarCordovaLogBuffer.Listener logListener = new RadarCordovaLogBuffer.Listener() {
+        @Override
+        public void onLogs(JSONArray logs) {
+            RadarCordovaListenerRegistry.Subscriber[] subscribers = RadarCordovaPlugin.logListeners.subscribers();
+            if (subscribers.length == 0) {
+                RadarCordovaPlugin.logBuffer.stop();
+                return;
+            }
+
+            try {
+                JSONObject obj = new JSONObject();
+                obj.put("logs", logs);
+
+                for (RadarCordovaListenerRegistry.Subscriber subscriber : subscribers) {
+                    subscriber.send(new PluginResult(PluginResult.Status.OK, obj));
+                }
+            } catch (JSONException e) {
+                Log.e("RadarCordovaPlugin", "JSONException", e);
+                RadarCordovaPlugin.logListeners.sendError();
+            }
+        }
+    };
+    private static final RadarCordovaAdaptiveTracking adaptiveTracking = new RadarCordovaAdaptiveTracking();
+    private static final RadarTrackingOptions[] adaptivePresets = new RadarTrackingOptions[RadarCordovaAdaptiveTracking.Tier.values().length];
+    private static final RadarCordovaAdaptiveTracking.Listener adaptiveTrackingListener = new RadarCordovaAdaptiveTracking.Listener() {
+        @Override
+        public void onTransition(RadarCordovaAdaptiveTracking.Tier tier, JSONObject transition) {
+            Radar.startTracking(RadarCordovaPlugin.adaptivePresets[tier.ordinal()]);
+            RadarCordovaPlugin.publishTrackingState();
+
+            for (RadarCordovaListenerRegistry.Subscriber subscriber : RadarCordovaPlugin.trackingTransitionListeners.subscribers()) {
+                subscriber.send(new PluginResult(PluginResult.Status.OK, transition));
+            }
+        }
+    };
+
+    private final RadarCordovaExecutor executor = new RadarCordovaExecutor();
+
+    public boolean execute(final String action, final JSONArray args, final CallbackContext originalCallbackContext) throws JSONException {
+        final CallbackContext callbackContext = RadarCordovaPlugin.diagnostics.isEnabled()
+            ? new RadarCordovaInstrumentedCallbackContext(action, originalCallbackContext, webView, RadarCordovaPlugin.diagnostics)
+            : originalCallbackContext;
+
+        if (action.equals("trackOnce") || action.startsWith("startTracking")) {
+            RadarCordovaPlugin.startup.markTrackRequested();
+        }
+
+        final RadarCordovaExecutor.Policy policy = executor.policyForAction(action);
+
+        // serial actions queue behind initialize, pooled and inline ones are held until it completes
+        if (policy != RadarCordovaExecutor.Policy.SERIAL && waitsForStartup(action)) {
+            boolean deferred = RadarCordovaPlugin.startup.defer(new Runnable() {
+                @Override
+                public void run() {
+                    if (!dispatch(action, args, callbackContext, policy)) {
+                        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.INVALID_ACTION));
+                    }
+                }
+            });
+            if (deferred) {
+                return true;
+            }
+        }
+
+        return dispatch(action, args, callbackContext, policy);
+    }
+
+    private static boolean waitsForStartup(String action) {
+        return !action.equals("initialize") && !action.equals("ready") && !action.equals("getStartupMetrics");
+    }
+
+    private boolean dispatch(final String action, final JSONArray args, final CallbackContext callbackContext, RadarCordovaExecutor.Policy policy) {
+        if (policy == RadarCordovaExecutor.Policy.INLINE) {
+            boolean handled = executeAction(action, args, callbackContext);
+            if (!handled && callbackContext instanceof RadarCordovaInstrumentedCallbackContext) {
+                ((RadarCordovaInstrumentedCallbackContext) callbackContext).recordUnhandled();
+            }
+            return handled;
+        }
+
+        boolean submitted = executor.submit(policy, new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    if (!executeAction(action, args, callbackContext)) {
+                        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.JSON_EXCEPTION));
+                    }
+                } catch (RuntimeException e) {
+                    Log.e("RadarCordovaPlugin", "Exception in " + action, e);
+                    callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.ERROR, e.toString()));
+                }
+            }
+        });
+
+        if (!submitted) {
+            Log.w("RadarCordovaPlugin", "Action queue full, rejecting " + action);
+            callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.ERROR, "queue full: " + action));
+        }
+
+        return true;
+    }
 
-    public boolean execute(String action, final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+    private boolean executeAction(String action, final JSONArray args, final CallbackContext callbackContext) {
         try {
             if (action.equals("initialize")) {
                 initialize(args, callbackContext);
+            } else if (action.equals("ready")) {
+                ready(args, callbackContext);
+            } else if (action.equals("getStartupMetrics")) {
+                getStartupMetrics(args, callbackContext);
+            } else if (action.equals("getState")) {
+                getState(args, callbackContext);
+            } else if (action.equals("onStateChange")) {
+                onStateChange(args, callbackContext);
+            } else if (action.equals("offStateChange")) {
+                offStateChange(args, callbackContext);
             } else if (action.equals("setUserId")) {
                 setUserId(args, callbackContext);
             } else if (action.equals("getUserId")) {
@@ -79,6 +259,8 @@ public class RadarCordovaPlugin extends CordovaPlugin {
                 getLocation(args, callbackContext);
             } else if (action.equals("trackOnce")) {
                 trackOnce(args, callbackContext);
+            } else if (action.equals("trackOnceBulk")) {
+                trackOnceBulk(args, callbackContext);
             } else if (action.equals("startTrackingEfficient")) {
                 startTrackingEfficient(args, callbackContext);
             } else if (action.equals("startTrackingResponsive")) {
@@ -89,6 +271,8 @@ public class RadarCordovaPlugin extends CordovaPlugin {
                 startTrackingCustom(args, callbackContext);
             } else if (action.equals("mockTracking")) {
                 mockTracking(args, callbackContext);
+            } else if (action.equals("stopMockTracking")) {
+                stopMockTracking(args, callbackContext);
             } else if (action.equals("stopTracking")) {
                 stopTracking(args, callbackContext);
             } else if (action.equals("isTracking")) {
@@ -103,6 +287,8 @@ public class RadarCordovaPlugin extends CordovaPlugin {
                 onClientLocation(args, callbackContext);
             } else if (action.equals("onError")) {
                 onError(args, callbackContext);
+            } else if (action.equals("acknowledgeEvents")) {
+                acknowledgeEvents(args, callbackContext);
             } else if (action.equals("offEvents")) {
                 offEvents(args, callbackContext);
             } else if (action.equals("offLocation")) {
@@ -111,6 +297,8 @@ public class RadarCordovaPlugin extends CordovaPlugin {
                 offClientLocation(args, callbackContext);
             } else if (action.equals("offError")) {
                 offError(args, callbackContext);
+            } else if (action.equals("getListeners")) {
+                getListeners(args, callbackContext);
             } else if (action.equals("getTripOptions")) {
                 getTripOptions(args, callbackContext);
             } else if (action.equals("startTrip")) {
@@ -145,6 +333,90 @@ public class RadarCordovaPlugin extends CordovaPlugin {
                 setLogLevel(args, callbackContext);
             } else if (action.equals("sendEvent")) {
                 sendEvent(args, callbackContext);
+            } else if (action.equals("setBridgeEncoding")) {
+                setBridgeEncoding(args, callbackContext);
+            } else if (action.equals("setUserDelta")) {
+                setUserDelta(args, callbackContext);
+            } else if (action.equals("resetUserDelta")) {
+                resetUserDelta(args, callbackContext);
+            } else if (action.equals("setBatching")) {
+                setBatching(args, callbackContext);
+            } else if (action.equals("setExecutorOptions")) {
+                setExecutorOptions(args, callbackContext);
+            } else if (action.equals("setLocationFilter")) {
+                setLocationFilter(args, callbackContext);
+            } else if (action.equals("getLocationFilterStats")) {
+                getLocationFilterStats(args, callbackContext);
+            } else if (action.equals("setOfflineQueueOptions")) {
+                setOfflineQueueOptions(args, callbackContext);
+            } else if (action.equals("getOfflineQueueStats")) {
+                getOfflineQueueStats(args, callbackContext);
+            } else if (action.equals("clearOfflineQueue")) {
+                clearOfflineQueue(args, callbackContext);
+            } else if (action.equals("setCustomEventBatching")) {
+                setCustomEventBatching(args, callbackContext);
+            } else if (action.equals("sendEventBatched")) {
+                sendEventBatched(args, callbackContext);
+            } else if (action.equals("flushCustomEvents")) {
+                flushCustomEvents(args, callbackContext);
+            } else if (action.equals("getCustomEventStats")) {
+                getCustomEventStats(args, callbackContext);
+            } else if (action.equals("startTrackingAdaptive")) {
+                startTrackingAdaptive(args, callbackContext);
+            } else if (action.equals("getAdaptiveTrackingState")) {
+                getAdaptiveTrackingState(args, callbackContext);
+            } else if (action.equals("onTrackingTransition")) {
+                onTrackingTransition(args, callbackContext);
+            } else if (action.equals("offTrackingTransition")) {
+                offTrackingTransition(args, callbackContext);
+            } else if (action.equals("setLogOptions")) {
+                setLogOptions(args, callbackContext);
+            } else if (action.equals("getLogs")) {
+                getLogs(args, callbackContext);
+            } else if (action.equals("clearLogs")) {
+                clearLogs(args, callbackContext);
+            } else if (action.equals("onLog")) {
+                onLog(args, callbackContext);
+            } else if (action.equals("offLog")) {
+                offLog(args, callbackContext);
+            } else if (action.equals("getDiagnostics")) {
+                getDiagnostics(args, callbackContext);
+            } else if (action.equals("resetDiagnostics")) {
+                resetDiagnostics(args, callbackContext);
+            } else if (action.equals("setDiagnosticsOptions")) {
+                setDiagnosticsOptions(args, callbackContext);
+            } else if (action.equals("onTripProgress")) {
+                onTripProgress(args, callbackContext);
+            } else if (action.equals("offTripProgress")) {
+                offTripProgress(args, callbackContext);
+            } else if (action.equals("setTripProgressOptions")) {
+                setTripProgressOptions(args, callbackContext);
+            } else if (action.equals("getTripProgress")) {
+                getTripProgress(args, callbackContext);
+            } else if (action.equals("setGeocodeCacheOptions")) {
+                setGeocodeCacheOptions(args, callbackContext);
+            } else if (action.equals("getGeocodeCacheStats")) {
+                getGeocodeCacheStats(args, callbackContext);
+            } else if (action.equals("clearGeocodeCache")) {
+                clearGeocodeCache(args, callbackContext);
+            } else if (action.equals("setSearchCacheOptions")) {
+                setSearchCacheOptions(args, callbackContext);
+            } else if (action.equals("getSearchCacheStats")) {
+                getSearchCacheStats(args, callbackContext);
+            } else if (action.equals("clearSearchCache")) {
+                clearSearchCache(args, callbackContext);
+            } else if (action.equals("getCoalescingStats")) {
+                getCoalescingStats(args, callbackContext);
+            } else if (action.equals("loadGeofences")) {
+                loadGeofences(args, callbackContext);
+            } else if (action.equals("clearGeofences")) {
+                clearGeofences(args, callbackContext);
+            } else if (action.equals("setGeofenceEngineOptions")) {
+                setGeofenceEngineOptions(args, callbackContext);
+            } else if (action.equals("onProvisionalEvents")) {
+                onProvisionalEvents(args, callbackContext);
+            } else if (action.equals("offProvisionalEvents")) {
+                offProvisionalEvents(args, callbackContext);
             } else {
                 return false;
             }
@@ -159,75 +431,333 @@ public class RadarCordovaPlugin extends CordovaPlugin {
     @Override
     public void initialize(CordovaInterface cordova, CordovaWebView webView) {
         super.initialize(cordova, webView);
+        RadarCordovaPlugin.startup.markLoaded();
         Radar.setReceiver(new RadarCordovaReceiver());
+
+        String publishableKey = preferences.getString("RadarPublishableKey", null);
+        if (publishableKey != null && publishableKey.length() > 0) {
+            initializeRadar(publishableKey, preferences.getBoolean("RadarInitializeAsync", true), null);
+        }
+    }
+
+    private void initializeRadar(final String publishableKey, boolean async, final CallbackContext callbackContext) {
+        if (!RadarCordovaPlugin.startup.begin(publishableKey, async ? "async" : "sync")) {
+            if (callbackContext != null) {
+                RadarCordovaPlugin.startup.await(callbackContext);
+            }
+            return;
+        }
+
+        Runnable runnable = new Runnable() {
+            @Override
+            public void run() {
+                Radar.initialize(cordova.getActivity().getApplicationContext(), publishableKey);
+
+                try {
+                    RadarCordovaPlugin.stateCache.load(sdkState());
+                    RadarCordovaPlugin.startup.complete(stateSnapshot());
+                } catch (JSONException e) {
+                    Log.e("RadarCordovaPlugin", "JSONException", e);
+                    RadarCordovaPlugin.startup.complete(new JSONObject());
+                }
+
+                if (callbackContext != null) {
+                    RadarCordovaPlugin.startup.await(callbackContext);
+                }
+            }
+        };
+
+        // serial actions queue behind this runnable, and execute() defers the rest until startup completes
+        if (!async || !executor.submit(RadarCordovaExecutor.Policy.SERIAL, runnable)) {
+            runnable.run();
+        }
+    }
+
+    private JSONObject stateSnapshot() throws JSONException {
+        ensureStateLoaded();
+
+        // tracking and trip state can change inside the SDK without a plugin call, so it is always read live
+        JSONObject obj = RadarCordovaPlugin.stateCache.toJson();
+        JSONObject trackingState = trackingState();
+        Iterator<String> keys = trackingState.keys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            obj.put(key, trackingState.get(key));
+        }
+        obj.put("permissionsStatus", permissionsStatus());
+        return obj;
+    }
+
+    private static JSONObject sdkState() throws JSONException {
+        JSONObject obj = new JSONObject();
+        obj.put("userId", Radar.getUserId());
+        obj.put("description", Radar.getDescription());
+        JSONObject metadata = Radar.getMetadata();
+        obj.put("metadata", metadata != null ? metadata : JSONObject.NULL);
+
+        JSONObject trackingState = trackingState();
+        Iterator<String> keys = trackingState.keys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            obj.put(key, trackingState.get(key));
+        }
+        return obj;
+    }
+
+    private static JSONObject trackingState() throws JSONException {
+        RadarTrackingOptions trackingOptions = Radar.getTrackingOptions();
+        RadarTripOptions tripOptions = Radar.getTripOptions();
+
+        JSONObject obj = new JSONObject();
+        obj.put("isTracking", Radar.isTracking());
+        obj.put("trackingOptions", trackingOptions != null ? trackingOptions.toJson() : JSONObject.NULL);
+        obj.put("tripOptions", tripOptions != null ? tripOptions.toJson() : JSONObject.NULL);
+        return obj;
+    }
+
+    private static void ensureStateLoaded() throws JSONException {
+        if (!RadarCordovaPlugin.stateCache.isLoaded()) {
+            RadarCordovaPlugin.stateCache.load(sdkState());
+        }
+    }
+
+    // reads stay live, but changes made through the plugin are pushed through the cache so onStateChange fires
+    private static void publishTrackingState() {
+        try {
+            RadarCordovaPlugin.stateCache.update(trackingState());
+        } catch (JSONException e) {
+            Log.e("RadarCordovaPlugin", "JSONException", e);
+        }
+    }
+
+    private static void cacheState(String key, Object value) {
+        try {
+            RadarCordovaPlugin.stateCache.put(key, value);
+        } catch (JSONException e) {
+            Log.e("RadarCordovaPlugin", "JSONException", e);
+        }
+    }
+
+    @Override
+    public void onDestroy() {
+        executor.shutdown();
+        RadarCordovaPlugin.shutdownCustomEventBatcher();
+        super.onDestroy();
     }
 
     public static class RadarCordovaReceiver extends RadarReceiver {
 
         @Override
         public void onEventsReceived(Context context, RadarEvent[] events, RadarUser user) {
-            if (RadarCordovaPlugin.eventsCallbackContext == null) {
+            RadarCordovaPlugin.reconcileTrip(user.getTrip());
+
+            RadarCordovaEventJournal journal = RadarCordovaPlugin.eventJournal(context);
+
+            synchronized (journal) {
+                try {
+                    JSONArray eventsArr = RadarEvent.toJson(events);
+                    JSONObject userObj = user.toJson();
+                    long cursor = journal.append(eventsArr, userObj);
+
+                    RadarCordovaListenerRegistry.Subscriber[] subscribers = RadarCordovaPlugin.eventsListeners.subscribers();
+                    if (subscribers.length == 0) {
+                        RadarCordovaPlugin.diagnostics.recordDrop("events", "noListeners");
+                        return;
+                    }
+
+                    Map<String, JSONArray> filtered = new HashMap<String, JSONArray>();
+                    boolean delivered = false;
+                    for (RadarCordovaListenerRegistry.Subscriber subscriber : subscribers) {
+                        if (!filtered.containsKey(subscriber.filterKey)) {
+                            JSONArray filteredArr = subscriber.filterEvents(eventsArr);
+                            filtered.put(subscriber.filterKey, filteredArr);
+                            delivered |= filteredArr.length() > 0;
+                        }
+                    }
+                    if (!delivered) {
+                        RadarCordovaPlugin.diagnostics.recordDrop("events", "filtered");
+                        return;
+                    }
+
+                    // the delta only advances for updates someone receives, otherwise the JS side sees a version gap
+                    boolean userDelta = RadarCordovaPlugin.userDeltaEnabled;
+                    JSONObject userPayload = userDelta ? RadarCordovaPlugin.eventsUserDelta.encode(userObj) : userObj;
+                    String userStr = RadarCordovaPlugin.compactEncoding ? userPayload.toString() : null;
+
+                    Map<String, Object> payloads = new HashMap<String, Object>();
+                    for (RadarCordovaListenerRegistry.Subscriber subscriber : subscribers) {
+                        Object payload = payloads.get(subscriber.filterKey);
+                        if (payload == null) {
+                            JSONArray filteredArr = filtered.get(subscriber.filterKey);
+                            if (filteredArr.length() == 0) {
+                                payload = JSONObject.NULL;
+                            } else if (RadarCordovaPlugin.compactEncoding) {
+                                payload = RadarCordovaCompactEncoder.frame(RadarCordovaCompactEncoder.encodeEvents(cursor, filteredArr.toString(), userStr, userDelta));
+                            } else {
+                                payload = RadarCordovaPayloads.eventsUpdate(filteredArr, userPayload, userDelta, cursor);
+                            }
+                            payloads.put(subscriber.filterKey, payload);
+                        }
+
+                        if (payload instanceof byte[]) {
+                            subscriber.send(new PluginResult(PluginResult.Status.OK, (byte[]) payload));
+                        } else if (payload instanceof JSONObject) {
+                            subscriber.send(new PluginResult(PluginResult.Status.OK, (JSONObject) payload));
+                        }
+                    }
+                } catch (JSONException e) {
+                    Log.e("RadarCordovaPlugin", "JSONException", e);
+                    RadarCordovaPlugin.diagnostics.recordReceiverError("events");
+                    RadarCordovaPlugin.eventsListeners.sendError();
+                }
+            }
+        }
+
+        @Override
+        public void onLocationUpdated(Context context, Location location, RadarUser user) {
+            RadarCordovaPlugin.startup.markTracked();
+            RadarCordovaPlugin.reconcileTrip(user.getTrip());
+
+            // like events, the user delta is only encoded once some subscriber accepts the fix
+            RadarCordovaListenerRegistry.Subscriber[] subscribers = RadarCordovaPlugin.locationListeners.subscribers();
+            if (!acceptsLocation(subscribers, location)) {
+                RadarCordovaPlugin.diagnostics.recordDrop("location", subscribers.length == 0 ? "noListeners" : "accuracy");
                 return;
             }
 
             try {
-                JSONObject obj = new JSONObject();
-                obj.put("events", RadarEvent.toJson(events));
-                obj.put("user", user.toJson());
+                boolean userDelta = RadarCordovaPlugin.userDeltaEnabled;
+                JSONObject userPayload = userDelta ? RadarCordovaPlugin.locationUserDelta.encode(user.toJson()) : user.toJson();
+
+                Object update;
+                if (RadarCordovaPlugin.compactEncoding) {
+                    update = RadarCordovaCompactEncoder.encodeLocation(location, userPayload.toString(), userDelta);
+                } else {
+                    update = RadarCordovaPayloads.locationUpdate(location, userPayload, userDelta);
+                }
 
-                PluginResult pluginResult = new PluginResult(PluginResult.Status.OK, obj);
-                pluginResult.setKeepCallback(true);
-                RadarCordovaPlugin.eventsCallbackContext.sendPluginResult(pluginResult);
+                publishLocation(subscribers, location, update);
             } catch (JSONException e) {
                 Log.e("RadarCordovaPlugin", "JSONException", e);
-                RadarCordovaPlugin.eventsCallbackContext.sendPluginResult(new PluginResult(PluginResult.Status.JSON_EXCEPTION));
+                RadarCordovaPlugin.diagnostics.recordReceiverError("location");
+                RadarCordovaPlugin.locationListeners.sendError();
             }
         }
 
         @Override
-        public void onLocationUpdated(Context context, Location location, RadarUser user) {
-            if (RadarCordovaPlugin.locationCallbackContext == null) {
+        public void onClientLocationUpdated(Context context, Location location, boolean stopped, Radar.RadarLocationSource source) {
+            evaluateGeofences(location);
+            if (source != Radar.RadarLocationSource.MOCK_LOCATION) {
+                evaluateAdaptiveTracking(context, location, stopped);
+                if (RadarCordovaPlugin.tripProgress.update(location, System.currentTimeMillis())) {
+                    RadarCordovaPlugin.fetchTripRoute();
+                }
+            }
+
+            RadarCordovaListenerRegistry.Subscriber[] subscribers = RadarCordovaPlugin.clientLocationListeners.subscribers();
+            if (subscribers.length == 0) {
+                RadarCordovaPlugin.diagnostics.recordDrop("clientLocation", "noListeners");
+                return;
+            }
+
+            location = RadarCordovaPlugin.clientLocationFilter.filter(location, stopped);
+            if (location == null) {
+                RadarCordovaPlugin.diagnostics.recordDrop("clientLocation", "filtered");
+                return;
+            }
+            if (!acceptsLocation(subscribers, location)) {
+                RadarCordovaPlugin.diagnostics.recordDrop("clientLocation", "accuracy");
                 return;
             }
 
             try {
-                JSONObject obj = new JSONObject();
-                obj.put("location", Radar.jsonForLocation(location));
-                obj.put("user", user.toJson());
+                Object update;
+                if (RadarCordovaPlugin.compactEncoding) {
+                    update = RadarCordovaCompactEncoder.encodeClientLocation(location, stopped, source.toString());
+                } else {
+                    update = RadarCordovaPayloads.clientLocationUpdate(location, stopped, source.toString());
+                }
 
-                PluginResult pluginResult = new PluginResult(PluginResult.Status.OK, obj);
-                pluginResult.setKeepCallback(true);
-                RadarCordovaPlugin.locationCallbackContext.sendPluginResult(pluginResult);
+                publishLocation(subscribers, location, update);
             } catch (JSONException e) {
                 Log.e("RadarCordovaPlugin", "JSONException", e);
-                RadarCordovaPlugin.locationCallbackContext.sendPluginResult(new PluginResult(PluginResult.Status.JSON_EXCEPTION));
+                RadarCordovaPlugin.diagnostics.recordReceiverError("clientLocation");
+                RadarCordovaPlugin.clientLocationListeners.sendError();
             }
         }
 
-        @Override
-        public void onClientLocationUpdated(Context context, Location location, boolean stopped, Radar.RadarLocationSource source) {
-            if (RadarCordovaPlugin.clientLocationCallbackContext == null) {
+        private boolean acceptsLocation(RadarCordovaListenerRegistry.Subscriber[] subscribers, Location location) {
+            for (RadarCordovaListenerRegistry.Subscriber subscriber : subscribers) {
+                if (subscriber.acceptsLocation(location)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void publishLocation(RadarCordovaListenerRegistry.Subscriber[] subscribers, Location location, Object update) {
+            for (RadarCordovaListenerRegistry.Subscriber subscriber : subscribers) {
+                if (subscriber.acceptsLocation(location)) {
+                    subscriber.add(update);
+                }
+            }
+        }
+
+        private void evaluateAdaptiveTracking(Context context, Location location, boolean stopped) {
+            long now = System.currentTimeMillis();
+            if (!RadarCordovaPlugin.adaptiveTracking.isDue(now)) {
+                return;
+            }
+
+            Intent batteryIntent = context.registerReceiver(null, new IntentFilter(Intent.ACTION_BATTERY_CHANGED));
+            if (batteryIntent != null) {
+                int level = batteryIntent.getIntExtra(BatteryManager.EXTRA_LEVEL, -1);
+                int scale = batteryIntent.getIntExtra(BatteryManager.EXTRA_SCALE, -1);
+                int status = batteryIntent.getIntExtra(BatteryManager.EXTRA_STATUS, -1);
+                boolean charging = status == BatteryManager.BATTERY_STATUS_CHARGING || status == BatteryManager.BATTERY_STATUS_FULL;
+                RadarCordovaPlugin.adaptiveTracking.updateBattery(level >= 0 && scale > 0 ? (double) level / scale : -1, charging);
+            }
+
+            double proximity = Math.min(
+                RadarCordovaPlugin.tripProgress.distanceToDestination(location.getLatitude(), location.getLongitude()),
+                RadarCordovaPlugin.geofenceEngine.nearestDistance(location.getLatitude(), location.getLongitude()));
+
+            RadarCordovaPlugin.adaptiveTracking.evaluate(location, stopped, proximity, now);
+        }
+
+        private void evaluateGeofences(Location location) {
+            RadarCordovaListenerRegistry.Subscriber[] subscribers = RadarCordovaPlugin.provisionalEventsListeners.subscribers();
+            if (subscribers.length == 0 || RadarCordovaPlugin.geofenceEngine.size() == 0) {
                 return;
             }
 
             try {
-                JSONObject obj = new JSONObject();
-                obj.put("location", Radar.jsonForLocation(location));
-                obj.put("stopped", stopped);
-                obj.put("source", source.toString());
+                JSONArray events = RadarCordovaPlugin.geofenceEngine.evaluate(location.getLatitude(), location.getLongitude(), location.getAccuracy(), Radar.jsonForLocation(location));
+                if (events.length() == 0) {
+                    return;
+                }
 
-                PluginResult pluginResult = new PluginResult(PluginResult.Status.OK, obj);
-                pluginResult.setKeepCallback(true);
-                RadarCordovaPlugin.clientLocationCallbackContext.sendPluginResult(pluginResult);
+                for (RadarCordovaListenerRegistry.Subscriber subscriber : subscribers) {
+                    JSONArray subscriberEvents = subscriber.filterEvents(events);
+                    if (subscriberEvents.length() == 0) {
+                        continue;
+                    }
+
+                    JSONObject obj = new JSONObject();
+                    obj.put("events", subscriberEvents);
+                    subscriber.send(new PluginResult(PluginResult.Status.OK, obj));
+                }
             } catch (JSONException e) {
                 Log.e("RadarCordovaPlugin", "JSONException", e);
-                RadarCordovaPlugin.clientLocationCallbackContext.sendPluginResult(new PluginResult(PluginResult.Status.JSON_EXCEPTION));
+                RadarCordovaPlugin.provisionalEventsListeners.sendError();
             }
         }
 
         @Override
         public void onError(Context context, Radar.RadarStatus status) {
-            if (RadarCordovaPlugin.errorCallbackContext == null) {
+            RadarCordovaListenerRegistry.Subscriber[] subscribers = RadarCordovaPlugin.errorListeners.subscribers();
+            if (subscribers.length == 0) {
+                RadarCordovaPlugin.diagnostics.recordDrop("error", "noListeners");
                 return;
             }
 
@@ -235,71 +765,135 @@ public class RadarCordovaPlugin extends CordovaPlugin {
                 JSONObject obj = new JSONObject();
                 obj.put("status", status.toString());
 
-                PluginResult pluginResult = new PluginResult(PluginResult.Status.OK, obj);
-                pluginResult.setKeepCallback(true);
-                RadarCordovaPlugin.errorCallbackContext.sendPluginResult(pluginResult);
+                for (RadarCordovaListenerRegistry.Subscriber subscriber : subscribers) {
+                    subscriber.send(new PluginResult(PluginResult.Status.OK, obj));
+                }
             } catch (JSONException e) {
                 Log.e("RadarCordovaPlugin", "JSONException", e);
-                RadarCordovaPlugin.errorCallbackContext.sendPluginResult(new PluginResult(PluginResult.Status.JSON_EXCEPTION));
+                RadarCordovaPlugin.diagnostics.recordReceiverError("error");
+                RadarCordovaPlugin.errorListeners.sendError();
             }
         }
 
         @Override
         public void onLog(Context context, String message) {
+            RadarCordovaPlugin.logBuffer.append(message);
+        }
+
+    }
 
+    private static synchronized RadarCordovaEventJournal eventJournal(Context context) {
+        if (RadarCordovaPlugin.eventJournal == null) {
+            RadarCordovaPlugin.eventJournal = new RadarCordovaEventJournal(new File(context.getApplicationContext().getFilesDir(), "radar_cordova_events"));
         }
+        return RadarCordovaPlugin.eventJournal;
+    }
 
+    private static synchronized RadarCordovaOfflineQueue offlineQueue(Context context) {
+        if (RadarCordovaPlugin.offlineQueue == null) {
+            RadarCordovaPlugin.offlineQueue = new RadarCordovaOfflineQueue(context);
+        }
+        return RadarCordovaPlugin.offlineQueue;
     }
 
-    private static String[] stringArrayForArray(JSONArray jsonArr) throws JSONException {
-        if (jsonArr == null) {
-            return null;
+    private static synchronized RadarCordovaCustomEventBatcher customEventBatcher(Context context) {
+        if (customEventBatcher == null) {
+            customEventBatcher = new RadarCordovaCustomEventBatcher(offlineQueue(context));
         }
+        return customEventBatcher;
+    }
 
-        String[] arr = new String[jsonArr.length()];
-        for (int i = 0; i < arr.length; i++) {
-            arr[i] = jsonArr.optString(i);
+    private static synchronized void shutdownCustomEventBatcher() {
+        if (customEventBatcher != null) {
+            customEventBatcher.shutdown();
+            customEventBatcher = null;
         }
-        return arr;
     }
 
-    private static Map<String, String> stringMapForJSONObject(JSONObject jsonObj) {
-        try {
-            if (jsonObj == null) {
-                return null;
-            }
+    private static RadarCoordinate centerForGeofence(RadarGeofence geofence) {
+        if (geofence.getGeometry() instanceof RadarCircleGeometry) {
+            return ((RadarCircleGeometry) geofence.getGeometry()).getCenter();
+        } else if (geofence.getGeometry() instanceof RadarPolygonGeometry) {
+            return ((RadarPolygonGeometry) geofence.getGeometry()).getCenter();
+        }
+        return null;
+    }
 
-            Map<String, String> stringMap = new HashMap<String, String>();
-            Iterator<String> keys = jsonObj.keys();
-            while (keys.hasNext()) {
-                String key = keys.next();
-                if (jsonObj.get(key) != null) {
-                    stringMap.put(key, jsonObj.getString(key));
-                }
+    private String readFile(String path) throws IOException {
+        InputStream in;
+        if (path.startsWith("file://")) {
+            in = new FileInputStream(new File(path.substring("file://".length())));
+        } else if (path.startsWith("/")) {
+            in = new FileInputStream(new File(path));
+        } else {
+            in = this.cordova.getActivity().getAssets().open(path);
+        }
+
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
             }
-            return stringMap;
-        } catch (JSONException j) {
-            return null;
+            return out.toString("UTF-8");
+        } finally {
+            in.close();
         }
     }
 
     public void initialize(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
         final String publishableKey = args.getString(0);
-        Context context=this.cordova.getActivity().getApplicationContext(); 
-        Radar.initialize(context, publishableKey);
-        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK));
+        final JSONObject optionsObj = args.optJSONObject(1);
+        boolean async = optionsObj != null && optionsObj.optBoolean("async", false);
+
+        initializeRadar(publishableKey, async, callbackContext);
+    }
+
+    public void ready(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        RadarCordovaPlugin.startup.await(callbackContext);
+    }
+
+    public void getStartupMetrics(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, RadarCordovaPlugin.startup.toJson()));
+    }
+
+    public void getState(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        final JSONObject optionsObj = args != null && args.length() > 0 ? args.optJSONObject(0) : null;
+
+        if (optionsObj != null && optionsObj.optBoolean("refresh", false)) {
+            RadarCordovaPlugin.stateCache.load(sdkState());
+        }
+
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, stateSnapshot()));
+    }
+
+    public void onStateChange(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        final JSONObject optionsObj = args != null && args.length() > 0 ? args.optJSONObject(0) : null;
+
+        RadarCordovaPlugin.stateListeners.add(subscriberId(optionsObj, callbackContext), callbackContext, optionsObj);
+        RadarCordovaPlugin.stateCache.setListener(RadarCordovaPlugin.stateListener);
+    }
+
+    public void offStateChange(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        RadarCordovaPlugin.stateListeners.remove(optString(args, 0));
+        if (RadarCordovaPlugin.stateListeners.isEmpty()) {
+            RadarCordovaPlugin.stateCache.setListener(null);
+        }
     }
 
     public void setUserId(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
           final String userId = args.getString(0);
 
           Radar.setUserId(userId);
+          RadarCordovaPlugin.cacheState("userId", userId);
 
           callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK));
     }
 
     public void getUserId(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
-        String userId = Radar.getUserId();
+        ensureStateLoaded();
+        String userId = (String) RadarCordovaPlugin.stateCache.get("userId");
         
         callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, userId));
     }
@@ -327,6 +921,7 @@ public class RadarCordovaPlugin extends CordovaPlugin {
             return;
         }
         Radar.setLogLevel(logLevel);
+        RadarCordovaPlugin.logBuffer.setLevel(level);
 
         callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK));
     }
@@ -342,12 +937,14 @@ public class RadarCordovaPlugin extends CordovaPlugin {
         final String description = args.getString(0);
 
         Radar.setDescription(description);
+        RadarCordovaPlugin.cacheState("description", description);
 
         callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK));
     }
 
     public void getDescription(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
-        String description = Radar.getDescription();
+        ensureStateLoaded();
+        String description = (String) RadarCordovaPlugin.stateCache.get("description");
         
         callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, description));
     }
@@ -356,12 +953,14 @@ public class RadarCordovaPlugin extends CordovaPlugin {
         final JSONObject metadata = args.getJSONObject(0);
 
         Radar.setMetadata(metadata);
+        RadarCordovaPlugin.cacheState("metadata", metadata);
 
         callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK));
     }
 
     public void getMetadata(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
-        JSONObject metadata = Radar.getMetadata();
+        ensureStateLoaded();
+        JSONObject metadata = (JSONObject) RadarCordovaPlugin.stateCache.get("metadata");
         
         callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, metadata));
     }
@@ -383,6 +982,10 @@ public class RadarCordovaPlugin extends CordovaPlugin {
     }
 
     public void getPermissionsStatus(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, permissionsStatus()));
+    }
+
+    private String permissionsStatus() {
         String str;
         boolean foreground = cordova.hasPermission("android.permission.ACCESS_FINE_LOCATION");
         if (Build.VERSION.SDK_INT >= 29) {
@@ -396,7 +999,7 @@ public class RadarCordovaPlugin extends CordovaPlugin {
             str = foreground ? "GRANTED_BACKGROUND" : "DENIED";
         }
 
-        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, str));
+        return str;
     }
 
     public void requestPermissions(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
@@ -413,16 +1016,11 @@ public class RadarCordovaPlugin extends CordovaPlugin {
 
     public void getLocation(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
         String desiredAccuracy = args.getString(0);
-        RadarTrackingOptions.RadarTrackingOptionsDesiredAccuracy accuracyLevel = RadarTrackingOptions.RadarTrackingOptionsDesiredAccuracy.MEDIUM;
-        String accuracy = desiredAccuracy != null ? desiredAccuracy.toLowerCase()  : "medium";
-
-        if (accuracy.equals("low")) {
-            accuracyLevel = RadarTrackingOptions.RadarTrackingOptionsDesiredAccuracy.LOW;
-        } else if (accuracy.equals("medium")) {
-            accuracyLevel = RadarTrackingOptions.RadarTrackingOptionsDesiredAccuracy.MEDIUM;
-        } else if (accuracy.equals("high")) {
-            accuracyLevel = RadarTrackingOptions.RadarTrackingOptionsDesiredAccuracy.HIGH;
-        } else {
+        RadarTrackingOptions.RadarTrackingOptionsDesiredAccuracy accuracyLevel = desiredAccuracy != null
+            ? RadarCordovaDecoder.desiredAccuracyForString(desiredAccuracy)
+            : RadarTrackingOptions.RadarTrackingOptionsDesiredAccuracy.MEDIUM;
+
+        if (accuracyLevel == null || accuracyLevel == RadarTrackingOptions.RadarTrackingOptionsDesiredAccuracy.NONE) {
             callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.JSON_EXCEPTION, "invalid desiredAccuracy: " + desiredAccuracy));
             return;
         }
@@ -448,20 +1046,26 @@ public class RadarCordovaPlugin extends CordovaPlugin {
     }
 
     public void trackOnce(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        final RadarCordovaOfflineQueue queue = RadarCordovaPlugin.offlineQueue(this.cordova.getActivity().getApplicationContext());
+        final Location[] requestedLocation = new Location[1];
+
         Radar.RadarTrackCallback callback = new Radar.RadarTrackCallback() {
             @Override
             public void onComplete(Radar.RadarStatus status, Location location, RadarEvent[] events, RadarUser user) {
+                if (status == Radar.RadarStatus.SUCCESS) {
+                    RadarCordovaPlugin.startup.markTracked();
+                }
+
                 try {
-                    JSONObject obj = new JSONObject();
-                    obj.put("status", status.toString());
-                    if (location != null) {
-                        obj.put("location", Radar.jsonForLocation(location));
-                    }
-                    if (events != null) {
-                        obj.put("events", RadarEvent.toJson(events));
-                    }
-                    if (user != null) {
-                        obj.put("user", user.toJson());
+                    JSONObject obj = RadarCordovaPayloads.trackResult(status, location, events, user);
+
+                    Location queuedLocation = requestedLocation[0] != null ? requestedLocation[0] : location;
+                    if (RadarCordovaOfflineQueue.shouldQueue(status) && queue.isEnabled() && queuedLocation != null) {
+                        if (queue.enqueueTrackOnce(queuedLocation)) {
+                            obj.put("queued", true);
+                        }
+                    } else if (status == Radar.RadarStatus.SUCCESS) {
+                        queue.drainNow();
                     }
 
                     callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, obj));
@@ -478,27 +1082,13 @@ public class RadarCordovaPlugin extends CordovaPlugin {
         if (args != null && args.length() > 0) {
             final JSONObject optionsObj = args.getJSONObject(0);
             if (optionsObj.has("location")) {
-                JSONObject locationObj = optionsObj.getJSONObject("location");
-                double latitude = locationObj.getDouble("latitude");
-                double longitude = locationObj.getDouble("longitude");
-                float accuracy = (float)locationObj.getDouble("accuracy");
-                location = new Location("RadarCordovaPlugin");
-                location.setLatitude(latitude);
-                location.setLongitude(longitude);
-                location.setAccuracy(accuracy);
+                location = RadarCordovaDecoder.locationForJSONObject(optionsObj.getJSONObject("location"));
             }
             if (optionsObj.has("desiredAccuracy")) {
-                String desiredAccuracyStr = optionsObj.getString("desiredAccuracy").toLowerCase();
-                if (desiredAccuracyStr.equals("none")) {
-                    desiredAccuracy = RadarTrackingOptions.RadarTrackingOptionsDesiredAccuracy.NONE;
-                } else if (desiredAccuracyStr.equals("low")) {
-                    desiredAccuracy = RadarTrackingOptions.RadarTrackingOptionsDesiredAccuracy.LOW;
-                } else if (desiredAccuracyStr.equals("medium")) {
-                    desiredAccuracy = RadarTrackingOptions.RadarTrackingOptionsDesiredAccuracy.MEDIUM;
-                } else if (desiredAccuracyStr.equals("high")) {
-                    desiredAccuracy = RadarTrackingOptions.RadarTrackingOptionsDesiredAccuracy.HIGH;
-                } else {
-                    callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.JSON_EXCEPTION, "invalid desiredAccuracy: " + desiredAccuracy));
+                String desiredAccuracyStr = optionsObj.getString("desiredAccuracy");
+                desiredAccuracy = RadarCordovaDecoder.desiredAccuracyForString(desiredAccuracyStr);
+                if (desiredAccuracy == null) {
+                    callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.JSON_EXCEPTION, "invalid desiredAccuracy: " + desiredAccuracyStr));
                     return;
                 }
             }
@@ -506,26 +1096,52 @@ public class RadarCordovaPlugin extends CordovaPlugin {
         }
 
         if (location != null) {
+            requestedLocation[0] = location;
             Radar.trackOnce(location, callback);
         } else {
             Radar.trackOnce(desiredAccuracy, beacons, callback);
         }
     }
 
+    public void trackOnceBulk(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        final JSONObject optionsObj = args.getJSONObject(0);
+
+        Location[] locations = RadarCordovaBulkTracker.locationsForArray(optionsObj.getJSONArray("locations"));
+        RadarCordovaOfflineQueue queue = RadarCordovaPlugin.offlineQueue(this.cordova.getActivity().getApplicationContext());
+
+        new RadarCordovaBulkTracker(locations, queue, new RadarCordovaBulkTracker.Listener() {
+            @Override
+            public void onComplete(JSONObject result) {
+                if (result == null) {
+                    callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.JSON_EXCEPTION));
+                    return;
+                }
+
+                callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, result));
+            }
+        }).start();
+    }
+
     public void startTrackingEfficient(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        RadarCordovaPlugin.adaptiveTracking.stop();
         Radar.startTracking(RadarTrackingOptions.EFFICIENT);
+        RadarCordovaPlugin.publishTrackingState();
 
         callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK));
     }
 
     public void startTrackingResponsive(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        RadarCordovaPlugin.adaptiveTracking.stop();
         Radar.startTracking(RadarTrackingOptions.RESPONSIVE);
+        RadarCordovaPlugin.publishTrackingState();
 
         callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK));
     }
 
     public void startTrackingContinuous(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        RadarCordovaPlugin.adaptiveTracking.stop();
         Radar.startTracking(RadarTrackingOptions.CONTINUOUS);
+        RadarCordovaPlugin.publishTrackingState();
 
         callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK));
     }
@@ -534,35 +1150,61 @@ public class RadarCordovaPlugin extends CordovaPlugin {
         final JSONObject optionsObj = args.getJSONObject(0);
 
         RadarTrackingOptions options = RadarTrackingOptions.fromJson(optionsObj);
+        RadarCordovaPlugin.adaptiveTracking.stop();
         Radar.startTracking(options);
+        RadarCordovaPlugin.publishTrackingState();
+
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK));
+    }
+
+    public void startTrackingAdaptive(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        final JSONObject optionsObj = args != null && args.length() > 0 && !args.isNull(0) ? args.getJSONObject(0) : new JSONObject();
+
+        JSONObject presetsObj = optionsObj.optJSONObject("presets");
+        RadarCordovaPlugin.adaptivePresets[RadarCordovaAdaptiveTracking.Tier.EFFICIENT.ordinal()] = presetsObj != null && presetsObj.has("efficient")
+            ? RadarTrackingOptions.fromJson(presetsObj.getJSONObject("efficient"))
+            : RadarTrackingOptions.EFFICIENT;
+        RadarCordovaPlugin.adaptivePresets[RadarCordovaAdaptiveTracking.Tier.RESPONSIVE.ordinal()] = presetsObj != null && presetsObj.has("responsive")
+            ? RadarTrackingOptions.fromJson(presetsObj.getJSONObject("responsive"))
+            : RadarTrackingOptions.RESPONSIVE;
+        RadarCordovaPlugin.adaptivePresets[RadarCordovaAdaptiveTracking.Tier.CONTINUOUS.ordinal()] = presetsObj != null && presetsObj.has("continuous")
+            ? RadarTrackingOptions.fromJson(presetsObj.getJSONObject("continuous"))
+            : RadarTrackingOptions.CONTINUOUS;
+
+        RadarCordovaAdaptiveTracking.Tier initialTier = RadarCordovaAdaptiveTracking.tierForString(optionsObj.optString("initialPreset", null), RadarCordovaAdaptiveTracking.Tier.RESPONSIVE);
+        RadarCordovaPlugin.adaptiveTracking.setOptions(optionsObj);
+        RadarCordovaPlugin.adaptiveTracking.start(initialTier, RadarCordovaPlugin.adaptiveTrackingListener);
+        Radar.startTracking(RadarCordovaPlugin.adaptivePresets[initialTier.ordinal()]);
+        RadarCordovaPlugin.publishTrackingState();
 
         callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK));
     }
 
+    public void getAdaptiveTrackingState(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, RadarCordovaPlugin.adaptiveTracking.getState()));
+    }
+
+    public void onTrackingTransition(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        final JSONObject optionsObj = args != null && args.length() > 0 ? args.optJSONObject(0) : null;
+
+        RadarCordovaPlugin.trackingTransitionListeners.add(subscriberId(optionsObj, callbackContext), callbackContext, optionsObj);
+    }
+
+    public void offTrackingTransition(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        RadarCordovaPlugin.trackingTransitionListeners.remove(optString(args, 0));
+    }
+
     public void mockTracking(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
         final JSONObject optionsObj = args.getJSONObject(0);
 
-        JSONObject originObj = optionsObj.getJSONObject("origin");
-        double originLatitude = originObj.getDouble("latitude");
-        double originLongitude = originObj.getDouble("longitude");
-        Location origin = new Location("RNRadarModule");
-        origin.setLatitude(originLatitude);
-        origin.setLongitude(originLongitude);
-        JSONObject destinationObj = optionsObj.getJSONObject("destination");
-        double destinationLatitude = destinationObj.getDouble("latitude");
-        double destinationLongitude = destinationObj.getDouble("longitude");
-        Location destination = new Location("RNRadarModule");
-        destination.setLatitude(destinationLatitude);
-        destination.setLongitude(destinationLongitude);
-        String modeStr = optionsObj.getString("mode");
-        Radar.RadarRouteMode mode = Radar.RadarRouteMode.CAR;
-        if (modeStr.equals("FOOT") || modeStr.equals("foot")) {
-            mode = Radar.RadarRouteMode.FOOT;
-        } else if (modeStr.equals("BIKE") || modeStr.equals("bike")) {
-            mode = Radar.RadarRouteMode.BIKE;
-        } else if (modeStr.equals("CAR") || modeStr.equals("car")) {
-            mode = Radar.RadarRouteMode.CAR;
+        if (optionsObj.has("path") || optionsObj.has("data")) {
+            replayTrace(optionsObj, callbackContext);
+            return;
         }
+
+        Location origin = RadarCordovaDecoder.locationForJSONObject(optionsObj.getJSONObject("origin"));
+        Location destination = RadarCordovaDecoder.locationForJSONObject(optionsObj.getJSONObject("destination"));
+        Radar.RadarRouteMode mode = RadarCordovaDecoder.routeModeForString(optionsObj.getString("mode"), Radar.RadarRouteMode.CAR);
         int steps = optionsObj.has("steps") ? optionsObj.getInt("steps") : 10;
         int interval = optionsObj.has("interval") ? optionsObj.getInt("interval") : 1;
 
@@ -594,7 +1236,9 @@ public class RadarCordovaPlugin extends CordovaPlugin {
     }
 
     public void stopTracking(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        RadarCordovaPlugin.adaptiveTracking.stop();
         Radar.stopTracking();
+        RadarCordovaPlugin.publishTrackingState();
 
         callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK));
     }
@@ -611,35 +1255,527 @@ public class RadarCordovaPlugin extends CordovaPlugin {
     }
 
     public void onEvents(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
-        RadarCordovaPlugin.eventsCallbackContext = callbackContext;
-    }
+        final JSONObject optionsObj = args != null && args.length() > 0 ? args.optJSONObject(0) : null;
+        final String id = subscriberId(optionsObj, callbackContext);
+        boolean replay = optionsObj != null && optionsObj.optBoolean("replay", false);
 
-    public void onLocation(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
-        RadarCordovaPlugin.locationCallbackContext = callbackContext;
-    }
+        RadarCordovaPlugin.eventsUserDelta.requestKeyframe();
 
-    public void onClientLocation(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
-        RadarCordovaPlugin.clientLocationCallbackContext = callbackContext;
-    }
+        if (!replay) {
+            RadarCordovaPlugin.eventsListeners.add(id, callbackContext, optionsObj);
+            return;
+        }
 
-    public void onError(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
-        RadarCordovaPlugin.errorCallbackContext = callbackContext;
+        RadarCordovaEventJournal journal = RadarCordovaPlugin.eventJournal(this.cordova.getActivity().getApplicationContext());
+
+        synchronized (journal) {
+            RadarCordovaListenerRegistry.Subscriber subscriber = RadarCordovaPlugin.eventsListeners.add(id, callbackContext, optionsObj);
+
+            for (JSONObject record : journal.readUnacknowledged()) {
+                JSONArray eventsArr = subscriber.filterEvents(record.getJSONArray("events"));
+                if (eventsArr.length() == 0) {
+                    continue;
+                }
+
+                JSONObject obj = new JSONObject();
+                obj.put("events", eventsArr);
+                obj.put("user", record.getJSONObject("user"));
+                obj.put("cursor", record.getLong("seq"));
+                obj.put("replayed", true);
+
+                subscriber.send(new PluginResult(PluginResult.Status.OK, obj));
+            }
+        }
+    }
+
+    public void acknowledgeEvents(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        final long cursor = args.getLong(0);
+
+        RadarCordovaPlugin.eventJournal(this.cordova.getActivity().getApplicationContext()).acknowledge(cursor);
+
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK));
+    }
+
+    public void onLocation(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        final JSONObject optionsObj = args != null && args.length() > 0 ? args.optJSONObject(0) : null;
+
+        RadarCordovaPlugin.locationUserDelta.requestKeyframe();
+        RadarCordovaPlugin.locationListeners.add(subscriberId(optionsObj, callbackContext), callbackContext, optionsObj);
+    }
+
+    public void onClientLocation(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        final JSONObject optionsObj = args != null && args.length() > 0 ? args.optJSONObject(0) : null;
+
+        RadarCordovaPlugin.clientLocationListeners.add(subscriberId(optionsObj, callbackContext), callbackContext, optionsObj);
+    }
+
+    public void onError(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        final JSONObject optionsObj = args != null && args.length() > 0 ? args.optJSONObject(0) : null;
+
+        RadarCordovaPlugin.errorListeners.add(subscriberId(optionsObj, callbackContext), callbackContext, optionsObj);
     }
 
     public void offEvents(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
-        RadarCordovaPlugin.eventsCallbackContext = null;
+        RadarCordovaPlugin.eventsListeners.remove(optString(args, 0));
     }
 
     public void offLocation(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
-        RadarCordovaPlugin.locationCallbackContext = null;
+        RadarCordovaPlugin.locationListeners.remove(optString(args, 0));
     }
 
     public void offClientLocation(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
-        RadarCordovaPlugin.clientLocationCallbackContext = null;
+        RadarCordovaPlugin.clientLocationListeners.remove(optString(args, 0));
     }
 
     public void offError(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
-        RadarCordovaPlugin.errorCallbackContext = null;
+        RadarCordovaPlugin.errorListeners.remove(optString(args, 0));
+    }
+
+    public void getListeners(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        JSONObject obj = new JSONObject();
+        obj.put("events", RadarCordovaPlugin.eventsListeners.getSubscriberIds());
+        obj.put("location", RadarCordovaPlugin.locationListeners.getSubscriberIds());
+        obj.put("clientLocation", RadarCordovaPlugin.clientLocationListeners.getSubscriberIds());
+        obj.put("error", RadarCordovaPlugin.errorListeners.getSubscriberIds());
+        obj.put("tripProgress", RadarCordovaPlugin.tripProgressListeners.getSubscriberIds());
+        obj.put("trackingTransition", RadarCordovaPlugin.trackingTransitionListeners.getSubscriberIds());
+        obj.put("log", RadarCordovaPlugin.logListeners.getSubscriberIds());
+        obj.put("state", RadarCordovaPlugin.stateListeners.getSubscriberIds());
+        obj.put("provisionalEvents", RadarCordovaPlugin.provisionalEventsListeners.getSubscriberIds());
+
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, obj));
+    }
+
+    private static String subscriberId(JSONObject optionsObj, CallbackContext callbackContext) {
+        String id = optionsObj != null ? optionsObj.optString("id", null) : null;
+        return id != null ? id : callbackContext.getCallbackId();
+    }
+
+    private static String optString(JSONArray args, int index) {
+        return args != null && args.length() > index && !args.isNull(index) ? args.optString(index) : null;
+    }
+
+    public void setBridgeEncoding(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        final String encoding = args.getString(0);
+
+        if (encoding.equalsIgnoreCase("compact")) {
+            RadarCordovaPlugin.compactEncoding = true;
+        } else if (encoding.equalsIgnoreCase("json")) {
+            RadarCordovaPlugin.compactEncoding = false;
+        } else {
+            callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.JSON_EXCEPTION, "invalid encoding: " + encoding));
+            return;
+        }
+
+        RadarCordovaPlugin.locationListeners.flush();
+        RadarCordovaPlugin.clientLocationListeners.flush();
+
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK));
+    }
+
+    public void setUserDelta(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        final JSONObject optionsObj = args.getJSONObject(0);
+
+        int keyframeInterval = optionsObj.optInt("keyframeInterval", 50);
+        RadarCordovaPlugin.locationUserDelta.setKeyframeInterval(keyframeInterval);
+        RadarCordovaPlugin.eventsUserDelta.setKeyframeInterval(keyframeInterval);
+        RadarCordovaPlugin.userDeltaEnabled = optionsObj.optBoolean("enabled", true);
+
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK));
+    }
+
+    public void resetUserDelta(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        final String channel = args.getString(0);
+
+        if (channel.equals("events")) {
+            RadarCordovaPlugin.eventsUserDelta.requestKeyframe();
+        } else {
+            RadarCordovaPlugin.locationUserDelta.requestKeyframe();
+        }
+
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK));
+    }
+
+    public void setBatching(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        final JSONObject optionsObj = args.getJSONObject(0);
+
+        boolean enabled = optionsObj.optBoolean("enabled", true);
+        int maxBatchSize = enabled ? optionsObj.optInt("maxBatchSize", 10) : 1;
+        long flushInterval = enabled ? optionsObj.optLong("flushInterval", 1000) : 0;
+
+        RadarCordovaPlugin.locationListeners.setBatching(maxBatchSize, flushInterval);
+        RadarCordovaPlugin.clientLocationListeners.setBatching(maxBatchSize, flushInterval);
+
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK));
+    }
+
+    public void setExecutorOptions(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        final JSONObject optionsObj = args.getJSONObject(0);
+
+        if (optionsObj.has("maxQueueDepth")) {
+            int maxQueueDepth = optionsObj.getInt("maxQueueDepth");
+            if (maxQueueDepth <= 0) {
+                callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.JSON_EXCEPTION, "invalid maxQueueDepth: " + maxQueueDepth));
+                return;
+            }
+            executor.setMaxQueueDepth(maxQueueDepth);
+        }
+
+        JSONObject policiesObj = optionsObj.optJSONObject("policies");
+        if (policiesObj != null) {
+            Iterator<String> actions = policiesObj.keys();
+            while (actions.hasNext()) {
+                String policyAction = actions.next();
+                String policyStr = policiesObj.getString(policyAction);
+                if (policyStr.equalsIgnoreCase("inline")) {
+                    executor.setPolicy(policyAction, RadarCordovaExecutor.Policy.INLINE);
+                } else if (policyStr.equalsIgnoreCase("pooled")) {
+                    executor.setPolicy(policyAction, RadarCordovaExecutor.Policy.POOLED);
+                } else if (policyStr.equalsIgnoreCase("serial")) {
+                    executor.setPolicy(policyAction, RadarCordovaExecutor.Policy.SERIAL);
+                } else {
+                    callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.JSON_EXCEPTION, "invalid policy: " + policyStr));
+                    return;
+                }
+            }
+        }
+
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK));
+    }
+
+    public void setLocationFilter(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        final JSONObject optionsObj = args.getJSONObject(0);
+
+        double minDistance = optionsObj.optDouble("minDistance", 0);
+        long minInterval = optionsObj.optLong("minInterval", 0);
+        double maxAccuracy = optionsObj.optDouble("maxAccuracy", 0);
+        double maxSpeed = optionsObj.optDouble("maxSpeed", 0);
+        boolean smoothing = optionsObj.optBoolean("smoothing", false);
+        double processNoise = optionsObj.optDouble("processNoise", 3);
+
+        RadarCordovaPlugin.clientLocationFilter.setOptions(minDistance, minInterval, maxAccuracy, maxSpeed, smoothing, processNoise);
+
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK));
+    }
+
+    public void getLocationFilterStats(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, RadarCordovaPlugin.clientLocationFilter.getStats()));
+    }
+
+    public void setOfflineQueueOptions(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        final JSONObject optionsObj = args.getJSONObject(0);
+
+        boolean enabled = optionsObj.optBoolean("enabled", true);
+        int batchSize = optionsObj.optInt("batchSize", 10);
+        long maxBackoff = optionsObj.optLong("maxBackoff", 5 * 60 * 1000);
+        boolean stampQueuedAt = optionsObj.optBoolean("stampQueuedAt", false);
+
+        RadarCordovaPlugin.offlineQueue(this.cordova.getActivity().getApplicationContext()).setOptions(enabled, batchSize, maxBackoff, stampQueuedAt);
+
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK));
+    }
+
+    public void getOfflineQueueStats(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        JSONObject stats = RadarCordovaPlugin.offlineQueue(this.cordova.getActivity().getApplicationContext()).getStats();
+
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, stats));
+    }
+
+    public void clearOfflineQueue(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        RadarCordovaPlugin.offlineQueue(this.cordova.getActivity().getApplicationContext()).clear();
+
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK));
+    }
+
+    public void setCustomEventBatching(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        final JSONObject optionsObj = args.getJSONObject(0);
+
+        int maxBatchSize = optionsObj.optInt("maxBatchSize", 20);
+        long flushInterval = optionsObj.optLong("flushInterval", 0);
+        long dedupeWindow = optionsObj.optLong("dedupeWindow", 0);
+
+        RadarCordovaPlugin.customEventBatcher(this.cordova.getActivity().getApplicationContext()).setOptions(maxBatchSize, flushInterval, dedupeWindow);
+
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK));
+    }
+
+    public void sendEventBatched(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        final JSONObject optionsObj = args.getJSONObject(0);
+
+        String customType = optionsObj.getString("customType");
+        JSONObject metadata = optionsObj.optJSONObject("metadata");
+
+        RadarCordovaPlugin.customEventBatcher(this.cordova.getActivity().getApplicationContext()).add(customType, metadata != null ? metadata : new JSONObject(), callbackContext);
+    }
+
+    public void flushCustomEvents(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        RadarCordovaPlugin.customEventBatcher(this.cordova.getActivity().getApplicationContext()).flush();
+
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK));
+    }
+
+    public void getCustomEventStats(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        JSONObject stats = RadarCordovaPlugin.customEventBatcher(this.cordova.getActivity().getApplicationContext()).getStats();
+
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, stats));
+    }
+
+    public void setLogOptions(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        final JSONObject optionsObj = args.getJSONObject(0);
+
+        if (optionsObj.has("capacity")) {
+            RadarCordovaPlugin.logBuffer.setCapacity(optionsObj.getInt("capacity"));
+        }
+        if (optionsObj.has("flushInterval")) {
+            RadarCordovaPlugin.logBuffer.setFlushInterval(optionsObj.getLong("flushInterval"));
+        }
+        if (optionsObj.has("file")) {
+            File file = optionsObj.getBoolean("file")
+                ? new File(this.cordova.getActivity().getApplicationContext().getFilesDir(), new File(optionsObj.optString("fileName", "radar.log")).getName())
+                : null;
+            RadarCordovaPlugin.logBuffer.setFile(file, optionsObj.optLong("maxFileBytes", 1024 * 1024), optionsObj.optInt("maxFiles", 3));
+        }
+
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK));
+    }
+
+    public void getLogs(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        final JSONObject optionsObj = args != null && args.length() > 0 ? args.optJSONObject(0) : null;
+
+        long since = optionsObj != null ? optionsObj.optLong("since", 0) : 0;
+        int limit = optionsObj != null ? optionsObj.optInt("limit", Integer.MAX_VALUE) : Integer.MAX_VALUE;
+
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, RadarCordovaPlugin.logBuffer.read(since, limit)));
+    }
+
+    public void clearLogs(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        RadarCordovaPlugin.logBuffer.clear();
+
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK));
+    }
+
+    public void onLog(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        final JSONObject optionsObj = args != null && args.length() > 0 ? args.optJSONObject(0) : null;
+
+        RadarCordovaPlugin.logListeners.add(subscriberId(optionsObj, callbackContext), callbackContext, optionsObj);
+        RadarCordovaPlugin.logBuffer.start(RadarCordovaPlugin.logListener);
+    }
+
+    public void offLog(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        RadarCordovaPlugin.logListeners.remove(optString(args, 0));
+        if (RadarCordovaPlugin.logListeners.isEmpty()) {
+            RadarCordovaPlugin.logBuffer.stop();
+        }
+    }
+
+    public void getDiagnostics(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, RadarCordovaPlugin.diagnostics.toJson()));
+    }
+
+    public void resetDiagnostics(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        RadarCordovaPlugin.diagnostics.reset();
+
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK));
+    }
+
+    public void setDiagnosticsOptions(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        final JSONObject optionsObj = args.getJSONObject(0);
+
+        boolean enabled = optionsObj.optBoolean("enabled", true);
+        long dumpInterval = enabled ? optionsObj.optLong("dumpInterval", 0) : 0;
+        String fileName = new File(optionsObj.optString("fileName", "radar-diagnostics.json")).getName();
+
+        RadarCordovaPlugin.diagnostics.setEnabled(enabled);
+        RadarCordovaPlugin.diagnostics.setDump(new File(this.cordova.getActivity().getApplicationContext().getFilesDir(), fileName), dumpInterval);
+
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK));
+    }
+
+    public void onTripProgress(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        final JSONObject optionsObj = args != null && args.length() > 0 ? args.optJSONObject(0) : null;
+
+        RadarCordovaPlugin.tripProgressListeners.add(subscriberId(optionsObj, callbackContext), callbackContext, optionsObj);
+        if (!RadarCordovaPlugin.tripProgress.isStarted()) {
+            RadarCordovaPlugin.tripProgress.start(RadarCordovaPlugin.tripProgressListener);
+        }
+        RadarCordovaPlugin.fetchTripRoute();
+    }
+
+    public void offTripProgress(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        RadarCordovaPlugin.tripProgressListeners.remove(optString(args, 0));
+        if (RadarCordovaPlugin.tripProgressListeners.isEmpty()) {
+            RadarCordovaPlugin.tripProgress.stop();
+        }
+    }
+
+    public void setTripProgressOptions(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        final JSONObject optionsObj = args.getJSONObject(0);
+
+        long interval = optionsObj.optLong("interval", 1000);
+        long maxExtrapolation = optionsObj.optLong("maxExtrapolation", 10000);
+        double offRouteDistance = optionsObj.optDouble("offRouteDistance", 50);
+        long rerouteInterval = optionsObj.optLong("rerouteInterval", 30000);
+
+        RadarCordovaPlugin.tripProgress.setOptions(interval, maxExtrapolation, offRouteDistance, rerouteInterval);
+
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK));
+    }
+
+    public void getTripProgress(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        JSONObject progress = RadarCordovaPlugin.tripProgress.estimate(System.currentTimeMillis());
+
+        if (progress == null) {
+            String progressStr = null;
+            callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, progressStr));
+            return;
+        }
+
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, progress));
+    }
+
+    private static void reconcileTrip(RadarTrip trip) {
+        if (trip == null) {
+            return;
+        }
+
+        if (RadarCordovaPlugin.tripProgress.reconcile(trip.toJson())) {
+            RadarCordovaPlugin.fetchTripRoute();
+        }
+    }
+
+    private static void fetchTripRoute() {
+        if (RadarCordovaPlugin.tripProgressListeners.isEmpty()) {
+            return;
+        }
+
+        final Location destination = RadarCordovaPlugin.tripProgress.beginRouteRequest(System.currentTimeMillis());
+        if (destination == null) {
+            return;
+        }
+
+        final Radar.RadarRouteMode mode = RadarCordovaPlugin.tripProgress.getMode();
+        Radar.getDistance(destination, EnumSet.of(mode), Radar.RadarRouteUnits.METRIC, new Radar.RadarRouteCallback() {
+            @Override
+            public void onComplete(Radar.RadarStatus status, RadarRoutes routes) {
+                JSONObject routeObj = status == Radar.RadarStatus.SUCCESS && routes != null
+                    ? routes.toJson().optJSONObject(RadarCordovaApproximateRouter.keyForMode(mode))
+                    : null;
+                if (routeObj == null) {
+                    RadarCordovaPlugin.tripProgress.routeRequestFailed(destination.getLatitude(), destination.getLongitude());
+                    return;
+                }
+
+                try {
+                    RadarCordovaPlugin.tripProgress.setRoute(destination.getLatitude(), destination.getLongitude(), routeObj);
+                } catch (JSONException e) {
+                    Log.e("RadarCordovaPlugin", "JSONException", e);
+                    RadarCordovaPlugin.tripProgress.routeRequestFailed(destination.getLatitude(), destination.getLongitude());
+                }
+            }
+        });
+    }
+
+    public void setGeocodeCacheOptions(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        final JSONObject optionsObj = args.getJSONObject(0);
+
+        int maxEntries = optionsObj.optInt("maxEntries", 256);
+        long ttl = optionsObj.optLong("ttl", 60 * 60 * 1000);
+        int precision = optionsObj.optInt("precision", 8);
+
+        RadarCordovaPlugin.geocodeCache.setOptions(maxEntries, ttl, precision);
+
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK));
+    }
+
+    public void getGeocodeCacheStats(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, RadarCordovaPlugin.geocodeCache.getStats()));
+    }
+
+    public void clearGeocodeCache(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        RadarCordovaPlugin.geocodeCache.clear();
+
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK));
+    }
+
+    public void setSearchCacheOptions(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        final JSONObject optionsObj = args.getJSONObject(0);
+
+        int maxEntries = optionsObj.optInt("maxEntries", 32);
+        long ttl = optionsObj.optLong("ttl", 5 * 60 * 1000);
+
+        RadarCordovaPlugin.searchCache.setOptions(maxEntries, ttl);
+
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK));
+    }
+
+    public void getSearchCacheStats(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, RadarCordovaPlugin.searchCache.getStats()));
+    }
+
+    public void clearSearchCache(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        RadarCordovaPlugin.searchCache.clear();
+
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK));
+    }
+
+    public void getCoalescingStats(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, RadarCordovaPlugin.requestCoalescer.getStats()));
+    }
+
+    public void loadGeofences(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        final JSONObject optionsObj = args.getJSONObject(0);
+
+        if (optionsObj.optBoolean("replace", false)) {
+            RadarCordovaPlugin.geofenceEngine.clear();
+        }
+
+        if (optionsObj.has("geofences")) {
+            RadarCordovaPlugin.geofenceEngine.addGeofences(optionsObj.getJSONArray("geofences"));
+        }
+
+        if (optionsObj.has("path")) {
+            String path = optionsObj.getString("path");
+            try {
+                RadarCordovaPlugin.geofenceEngine.addGeofences(new JSONArray(readFile(path)));
+            } catch (IOException e) {
+                Log.e("RadarCordovaPlugin", "IOException", e);
+                callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.IO_EXCEPTION, "could not read " + path));
+                return;
+            }
+        }
+
+        JSONObject obj = new JSONObject();
+        obj.put("count", RadarCordovaPlugin.geofenceEngine.size());
+
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, obj));
+    }
+
+    public void clearGeofences(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        RadarCordovaPlugin.geofenceEngine.clear();
+
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK));
+    }
+
+    public void setGeofenceEngineOptions(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        final JSONObject optionsObj = args.getJSONObject(0);
+
+        double hysteresis = optionsObj.optDouble("hysteresis", 25);
+        int confirmations = optionsObj.optInt("confirmations", 1);
+        double maxAccuracy = optionsObj.optDouble("maxAccuracy", 100);
+
+        RadarCordovaPlugin.geofenceEngine.setOptions(hysteresis, confirmations, maxAccuracy);
+
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK));
+    }
+
+    public void onProvisionalEvents(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        final JSONObject optionsObj = args != null && args.length() > 0 ? args.optJSONObject(0) : null;
+
+        RadarCordovaPlugin.provisionalEventsListeners.add(subscriberId(optionsObj, callbackContext), callbackContext, optionsObj);
+    }
+
+    public void offProvisionalEvents(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        RadarCordovaPlugin.provisionalEventsListeners.remove(optString(args, 0));
     }
 
     public void getTripOptions(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
@@ -658,6 +1794,77 @@ public class RadarCordovaPlugin extends CordovaPlugin {
         callbackContext.sendPluginResult(pluginResult);
     }
 
+    private void replayTrace(final JSONObject optionsObj, final CallbackContext callbackContext) throws JSONException {
+        String path = optionsObj.optString("path", null);
+        List<Location> locations;
+        try {
+            String data = path != null ? readFile(path) : optionsObj.getString("data");
+            String format = optionsObj.has("format") ? optionsObj.getString("format").toLowerCase(Locale.ROOT) : RadarCordovaTraceParser.detectFormat(path, data);
+            locations = RadarCordovaTraceParser.parse(data, format);
+        } catch (IOException e) {
+            Log.e("RadarCordovaPlugin", "IOException", e);
+            callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.IO_EXCEPTION, "could not read " + path));
+            return;
+        } catch (XmlPullParserException | IllegalArgumentException e) {
+            Log.e("RadarCordovaPlugin", "Failed to parse trace", e);
+            callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.JSON_EXCEPTION, "invalid trace: " + e.getMessage()));
+            return;
+        }
+
+        double speedup = optionsObj.optDouble("speedup", 1);
+        long interval = optionsObj.optLong("interval", 1000);
+
+        RadarCordovaTraceReplayer replayer = new RadarCordovaTraceReplayer(this.cordova.getActivity().getApplicationContext(), new RadarCordovaReceiver(), locations, speedup, interval, new RadarCordovaTraceReplayer.Listener() {
+            @Override
+            public void onComplete(RadarCordovaTraceReplayer replayer, int replayed, long duration, boolean cancelled) {
+                RadarCordovaPlugin.clearTraceReplayer(replayer);
+
+                try {
+                    JSONObject obj = new JSONObject();
+                    obj.put("status", Radar.RadarStatus.SUCCESS.toString());
+                    obj.put("cancelled", cancelled);
+                    obj.put("replayed", replayed);
+                    obj.put("duration", duration);
+
+                    callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, obj));
+                } catch (JSONException e) {
+                    Log.e("RadarCordovaPlugin", "JSONException", e);
+                    callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.JSON_EXCEPTION));
+                }
+            }
+        });
+
+        RadarCordovaTraceReplayer previous;
+        synchronized (RadarCordovaPlugin.class) {
+            previous = RadarCordovaPlugin.traceReplayer;
+            RadarCordovaPlugin.traceReplayer = replayer;
+        }
+        if (previous != null) {
+            previous.cancel();
+        }
+
+        replayer.start();
+    }
+
+    private static synchronized void clearTraceReplayer(RadarCordovaTraceReplayer replayer) {
+        if (RadarCordovaPlugin.traceReplayer == replayer) {
+            RadarCordovaPlugin.traceReplayer = null;
+        }
+    }
+
+    public void stopMockTracking(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        RadarCordovaTraceReplayer replayer;
+        synchronized (RadarCordovaPlugin.class) {
+            replayer = RadarCordovaPlugin.traceReplayer;
+            RadarCordovaPlugin.traceReplayer = null;
+        }
+        if (replayer != null) {
+            replayer.cancel();
+        }
+
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK));
+    }
+
     public void startTrip(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
         final JSONObject optionsObj = args.getJSONObject(0);
         
@@ -678,11 +1885,16 @@ public class RadarCordovaPlugin extends CordovaPlugin {
         Radar.startTrip(options, trackingOptions, new Radar.RadarTripCallback() {
             @Override
             public void onComplete(Radar.RadarStatus status, @Nullable RadarTrip trip, @Nullable RadarEvent[] events) {
+                if (status == Radar.RadarStatus.SUCCESS) {
+                    RadarCordovaPlugin.publishTrackingState();
+                }
+
                 try {
                     JSONObject obj = new JSONObject();
                     obj.put("status", status.toString());
                     if (trip != null) {
                         obj.put("trip", trip.toJson());
+                        RadarCordovaPlugin.reconcileTrip(trip);
                     }
                     if (events != null) {
                         obj.put("events", RadarEvent.toJson(events));
@@ -726,11 +1938,16 @@ public class RadarCordovaPlugin extends CordovaPlugin {
         Radar.updateTrip(options, status, new Radar.RadarTripCallback() {
             @Override
             public void onComplete(Radar.RadarStatus status, @Nullable RadarTrip trip, @Nullable RadarEvent[] events) {
+                if (status == Radar.RadarStatus.SUCCESS) {
+                    RadarCordovaPlugin.publishTrackingState();
+                }
+
                 try {
                     JSONObject obj = new JSONObject();
                     obj.put("status", status.toString());
                     if (trip != null) {
                         obj.put("trip", trip.toJson());
+                        RadarCordovaPlugin.reconcileTrip(trip);
                     }
                     if (events != null) {
                         obj.put("events", RadarEvent.toJson(events));
@@ -748,6 +1965,11 @@ public class RadarCordovaPlugin extends CordovaPlugin {
         Radar.completeTrip(new Radar.RadarTripCallback() {
             @Override
             public void onComplete(Radar.RadarStatus status, @Nullable RadarTrip trip, @Nullable RadarEvent[] events) {
+                if (status == Radar.RadarStatus.SUCCESS) {
+                    RadarCordovaPlugin.tripProgress.clear();
+                    RadarCordovaPlugin.publishTrackingState();
+                }
+
                 try {
                     JSONObject obj = new JSONObject();
                     obj.put("status", status.toString());
@@ -770,6 +1992,11 @@ public class RadarCordovaPlugin extends CordovaPlugin {
         Radar.cancelTrip(new Radar.RadarTripCallback() {
             @Override
             public void onComplete(Radar.RadarStatus status, @Nullable RadarTrip trip, @Nullable RadarEvent[] events) {
+                if (status == Radar.RadarStatus.SUCCESS) {
+                    RadarCordovaPlugin.tripProgress.clear();
+                    RadarCordovaPlugin.publishTrackingState();
+                }
+
                 try {
                     JSONObject obj = new JSONObject();
                     obj.put("status", status.toString());
@@ -789,6 +2016,15 @@ public class RadarCordovaPlugin extends CordovaPlugin {
     }
 
     public void getContext(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        final JSONObject locationObj = args != null && args.length() > 0 ? args.getJSONObject(0) : null;
+        final String coalescingKey = locationObj != null
+            ? "getContext:" + locationObj.getDouble("latitude") + "," + locationObj.getDouble("longitude")
+            : "getContext";
+        final Location requestedLocation = locationObj != null ? RadarCordovaDecoder.locationForJSONObject(locationObj) : null;
+        if (!RadarCordovaPlugin.requestCoalescer.join(coalescingKey, callbackContext)) {
+            return;
+        }
+
         Radar.RadarContextCallback callback = new Radar.RadarContextCallback() {
             @Override
             public void onComplete(Radar.RadarStatus status, Location location, RadarContext context) {
@@ -802,28 +2038,54 @@ public class RadarCordovaPlugin extends CordovaPlugin {
                         obj.put("context", context.toJson());
                     }
 
-                    callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, obj));
+                    RadarCordovaPlugin.requestCoalescer.complete(coalescingKey, new PluginResult(PluginResult.Status.OK, obj));
                 } catch (JSONException e) {
-                    callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.JSON_EXCEPTION));
+                    RadarCordovaPlugin.requestCoalescer.complete(coalescingKey, new PluginResult(PluginResult.Status.JSON_EXCEPTION));
                 }
             }
         };
 
-        if (args != null && args.length() > 0) {
-            final JSONObject locationObj = args.getJSONObject(0);
-            double latitude = locationObj.getDouble("latitude");
-            double longitude = locationObj.getDouble("longitude");
-            Location location = new Location("RadarCordovaPlugin");
-            location.setLatitude(latitude);
-            location.setLongitude(longitude);
-
-            Radar.getContext(location, callback);
-        } else {
-            Radar.getContext(callback);
+        try {
+            if (requestedLocation != null) {
+                Radar.getContext(requestedLocation, callback);
+            } else {
+                Radar.getContext(callback);
+            }
+        } catch (RuntimeException e) {
+            Log.e("RadarCordovaPlugin", "Exception in getContext", e);
+            RadarCordovaPlugin.requestCoalescer.complete(coalescingKey, new PluginResult(PluginResult.Status.ERROR, e.toString()));
         }
     }
 
     public void searchPlaces(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        final JSONObject optionsObj = args.getJSONObject(0);
+
+        Location near = null;
+        if (optionsObj.has("near")) {
+            near = RadarCordovaDecoder.locationForJSONObject(optionsObj.getJSONObject("near"));
+        }
+        final int radius = optionsObj.has("radius") ? optionsObj.getInt("radius") : 1000;
+        String[] chains = optionsObj.has("chains") ? RadarCordovaDecoder.stringArrayForArray(optionsObj.getJSONArray("chains")) : null;
+        Map<String, String> chainMetadata = optionsObj.has("chainMetadata") ? RadarCordovaDecoder.stringMapForJSONObject(optionsObj.getJSONObject("chainMetadata")) : null;
+        String[] categories = optionsObj.has("categories") ? RadarCordovaDecoder.stringArrayForArray(optionsObj.getJSONArray("categories")) : null;
+        String[] groups = optionsObj.has("groups") ? RadarCordovaDecoder.stringArrayForArray(optionsObj.getJSONArray("groups")) : null;
+        final int limit = optionsObj.has("limit") ? optionsObj.getInt("limit") : 10;
+
+        final String filterKey = RadarCordovaSearchCache.filterKey("places", chains, chainMetadata != null ? new TreeMap<String, String>(chainMetadata) : null, categories, groups);
+        if (near != null) {
+            JSONArray cached = RadarCordovaPlugin.searchCache.get(filterKey, near.getLatitude(), near.getLongitude(), radius, limit);
+            if (cached != null) {
+                JSONObject obj = new JSONObject();
+                obj.put("status", Radar.RadarStatus.SUCCESS.toString());
+                obj.put("location", Radar.jsonForLocation(near));
+                obj.put("places", cached);
+
+                callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, obj));
+                return;
+            }
+        }
+        final Location searchNear = near;
+
         Radar.RadarSearchPlacesCallback callback = new Radar.RadarSearchPlacesCallback() {
             @Override
             public void onComplete(Radar.RadarStatus status, Location location, RadarPlace[] places) {
@@ -834,7 +2096,18 @@ public class RadarCordovaPlugin extends CordovaPlugin {
                         obj.put("location", Radar.jsonForLocation(location));
                     }
                     if (places != null) {
-                        obj.put("places", RadarPlace.toJson(places));
+                        JSONArray placesArr = RadarPlace.toJson(places);
+                        obj.put("places", placesArr);
+
+                        if (status == Radar.RadarStatus.SUCCESS && searchNear != null) {
+                            double[] latitudes = new double[places.length];
+                            double[] longitudes = new double[places.length];
+                            for (int i = 0; i < places.length; i++) {
+                                latitudes[i] = places[i].getLocation().getLatitude();
+                                longitudes[i] = places[i].getLocation().getLongitude();
+                            }
+                            RadarCordovaPlugin.searchCache.put(filterKey, searchNear.getLatitude(), searchNear.getLongitude(), radius, limit, placesArr, latitudes, longitudes);
+                        }
                     }
 
                     callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, obj));
@@ -845,24 +2118,6 @@ public class RadarCordovaPlugin extends CordovaPlugin {
             }
         };
 
-        final JSONObject optionsObj = args.getJSONObject(0);
-
-        Location near = null;
-        if (optionsObj.has("near")) {
-            JSONObject nearObj = optionsObj.getJSONObject("near");
-            double latitude = nearObj.getDouble("latitude");
-            double longitude = nearObj.getDouble("longitude");
-            near = new Location("RNRadarModule");
-            near.setLatitude(latitude);
-            near.setLongitude(longitude);
-        }
-        int radius = optionsObj.has("radius") ? optionsObj.getInt("radius") : 1000;
-        String[] chains = optionsObj.has("chains") ? RadarCordovaPlugin.stringArrayForArray(optionsObj.getJSONArray("chains")) : null;
-        Map<String, String> chainMetadata = optionsObj.has("chainMetadata") ? RadarCordovaPlugin.stringMapForJSONObject(optionsObj.getJSONObject("chainMetadata")) : null;
-        String[] categories = optionsObj.has("categories") ? RadarCordovaPlugin.stringArrayForArray(optionsObj.getJSONArray("categories")) : null;
-        String[] groups = optionsObj.has("groups") ? RadarCordovaPlugin.stringArrayForArray(optionsObj.getJSONArray("groups")) : null;
-        int limit = optionsObj.has("limit") ? optionsObj.getInt("limit") : 10;
-
         if (near != null) {
             Radar.searchPlaces(near, radius, chains, chainMetadata, categories, groups, limit, callback);
         } else {
@@ -871,6 +2126,32 @@ public class RadarCordovaPlugin extends CordovaPlugin {
     }
 
     public void searchGeofences(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        final JSONObject optionsObj = args.getJSONObject(0);
+
+        Location near = null;
+        if (optionsObj.has("near")) {
+            near = RadarCordovaDecoder.locationForJSONObject(optionsObj.getJSONObject("near"));
+        }
+        JSONObject metadata = optionsObj.has("metadata") ? optionsObj.getJSONObject("metadata") : null;
+        final int radius = optionsObj.has("radius") ? optionsObj.getInt("radius") : 1000;
+        String[] tags = optionsObj.has("tags") ? RadarCordovaDecoder.stringArrayForArray(optionsObj.getJSONArray("tags")) : null;
+        final int limit = optionsObj.has("limit") ? optionsObj.getInt("limit") : 10;
+
+        final String filterKey = RadarCordovaSearchCache.filterKey("geofences", tags, metadata != null ? RadarCordovaCustomEventBatcher.canonical(metadata) : null);
+        if (near != null) {
+            JSONArray cached = RadarCordovaPlugin.searchCache.get(filterKey, near.getLatitude(), near.getLongitude(), radius, limit);
+            if (cached != null) {
+                JSONObject obj = new JSONObject();
+                obj.put("status", Radar.RadarStatus.SUCCESS.toString());
+                obj.put("location", Radar.jsonForLocation(near));
+                obj.put("geofences", cached);
+
+                callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, obj));
+                return;
+            }
+        }
+        final Location searchNear = near;
+
         Radar.RadarSearchGeofencesCallback callback = new Radar.RadarSearchGeofencesCallback() {
             @Override
             public void onComplete(Radar.RadarStatus status, Location location, RadarGeofence[] geofences) {
@@ -881,7 +2162,23 @@ public class RadarCordovaPlugin extends CordovaPlugin {
                         obj.put("location", Radar.jsonForLocation(location));
                     }
                     if (geofences != null) {
-                        obj.put("geofences", RadarGeofence.toJson(geofences));
+                        JSONArray geofencesArr = RadarGeofence.toJson(geofences);
+                        obj.put("geofences", geofencesArr);
+
+                        if (status == Radar.RadarStatus.SUCCESS && !RadarCordovaPlugin.provisionalEventsListeners.isEmpty()) {
+                            RadarCordovaPlugin.geofenceEngine.addGeofences(geofences);
+                        }
+
+                        if (status == Radar.RadarStatus.SUCCESS && searchNear != null) {
+                            double[] latitudes = new double[geofences.length];
+                            double[] longitudes = new double[geofences.length];
+                            for (int i = 0; i < geofences.length; i++) {
+                                RadarCoordinate center = RadarCordovaPlugin.centerForGeofence(geofences[i]);
+                                latitudes[i] = center != null ? center.getLatitude() : Double.NaN;
+                                longitudes[i] = center != null ? center.getLongitude() : Double.NaN;
+                            }
+                            RadarCordovaPlugin.searchCache.put(filterKey, searchNear.getLatitude(), searchNear.getLongitude(), radius, limit, geofencesArr, latitudes, longitudes);
+                        }
                     }
 
                     callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, obj));
@@ -892,22 +2189,6 @@ public class RadarCordovaPlugin extends CordovaPlugin {
             }
         };
 
-        final JSONObject optionsObj = args.getJSONObject(0);
-
-        Location near = null;
-        if (optionsObj.has("near")) {
-            JSONObject nearObj = optionsObj.getJSONObject("near");
-            double latitude = nearObj.getDouble("latitude");
-            double longitude = nearObj.getDouble("longitude");
-            near = new Location("RNRadarModule");
-            near.setLatitude(latitude);
-            near.setLongitude(longitude);
-        }
-        JSONObject metadata = optionsObj.has("metadata") ? optionsObj.getJSONObject("metadata") : null;
-        int radius = optionsObj.has("radius") ? optionsObj.getInt("radius") : 1000;
-        String[] tags = optionsObj.has("tags") ? RadarCordovaPlugin.stringArrayForArray(optionsObj.getJSONArray("tags")) : null;
-        int limit = optionsObj.has("limit") ? optionsObj.getInt("limit") : 10;
-
         if (near != null) {
             Radar.searchGeofences(near, radius, tags, metadata, limit, callback);
         } else {
@@ -921,16 +2202,20 @@ public class RadarCordovaPlugin extends CordovaPlugin {
         String query = optionsObj.getString("query");
         Location near = null;
         if (optionsObj.has("near")) {
-            JSONObject nearObj = optionsObj.getJSONObject("near");
-            double latitude = nearObj.getDouble("latitude");
-            double longitude = nearObj.getDouble("longitude");
-            near = new Location("RNRadarModule");
-            near.setLatitude(latitude);
-            near.setLongitude(longitude);
+            near = RadarCordovaDecoder.locationForJSONObject(optionsObj.getJSONObject("near"));
         }
         int limit = optionsObj.has("limit") ? optionsObj.getInt("limit") : 10;
         String country = optionsObj.getString("country");
-        String[] layers = optionsObj.has("layers") ? RadarCordovaPlugin.stringArrayForArray(optionsObj.getJSONArray("layers")) : null;
+        String[] layers = optionsObj.has("layers") ? RadarCordovaDecoder.stringArrayForArray(optionsObj.getJSONArray("layers")) : null;
+
+        final String cacheKey = near != null
+            ? RadarCordovaPlugin.geocodeCache.autocompleteKey(query, near.getLatitude(), near.getLongitude(), true, layers, limit, country)
+            : RadarCordovaPlugin.geocodeCache.autocompleteKey(query, 0, 0, false, layers, limit, country);
+        JSONObject cached = RadarCordovaPlugin.geocodeCache.get(cacheKey);
+        if (cached != null) {
+            callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, cached));
+            return;
+        }
 
         Radar.autocomplete(query, near, layers, limit, country, new Radar.RadarGeocodeCallback() {
             @Override
@@ -941,6 +2226,9 @@ public class RadarCordovaPlugin extends CordovaPlugin {
                     if (addresses != null) {
                         obj.put("addresses", RadarAddress.toJson(addresses));
                     }
+                    if (status == Radar.RadarStatus.SUCCESS) {
+                        RadarCordovaPlugin.geocodeCache.put(cacheKey, obj);
+                    }
 
                     callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, obj));
                 } catch (JSONException e) {
@@ -954,6 +2242,13 @@ public class RadarCordovaPlugin extends CordovaPlugin {
     public void geocode(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
         final String query = args.getString(0);
 
+        final String cacheKey = RadarCordovaPlugin.geocodeCache.geocodeKey(query);
+        JSONObject cached = RadarCordovaPlugin.geocodeCache.get(cacheKey);
+        if (cached != null) {
+            callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, cached));
+            return;
+        }
+
         Radar.geocode(query, new Radar.RadarGeocodeCallback() {
             @Override
             public void onComplete(Radar.RadarStatus status, RadarAddress[] addresses) {
@@ -963,6 +2258,9 @@ public class RadarCordovaPlugin extends CordovaPlugin {
                     if (addresses != null) {
                         obj.put("addresses", RadarAddress.toJson(addresses));
                     }
+                    if (status == Radar.RadarStatus.SUCCESS) {
+                        RadarCordovaPlugin.geocodeCache.put(cacheKey, obj);
+                    }
 
                     callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, obj));
                 } catch (JSONException e) {
@@ -974,6 +2272,27 @@ public class RadarCordovaPlugin extends CordovaPlugin {
     }
 
     public void reverseGeocode(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
+        String cacheKey = null;
+        Location location = null;
+        if (args != null && args.length() > 0) {
+            final JSONObject locationObj = args.getJSONObject(0);
+            location = RadarCordovaDecoder.locationForJSONObject(locationObj);
+            cacheKey = RadarCordovaPlugin.geocodeCache.reverseGeocodeKey(location.getLatitude(), location.getLongitude());
+            JSONObject cached = RadarCordovaPlugin.geocodeCache.get(cacheKey);
+            if (cached != null) {
+                callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, cached));
+                return;
+            }
+        }
+        final String reverseGeocodeCacheKey = cacheKey;
+        // the cache key is rounded to a geohash cell, so coalesce only requests for the exact same coordinates
+        final String coalescingKey = location != null
+            ? "reverseGeocode:" + location.getLatitude() + "," + location.getLongitude()
+            : "reverseGeocode";
+        if (!RadarCordovaPlugin.requestCoalescer.join(coalescingKey, callbackContext)) {
+            return;
+        }
+
         Radar.RadarGeocodeCallback callback = new Radar.RadarGeocodeCallback() {
             @Override
             public void onComplete(Radar.RadarStatus status, RadarAddress[] addresses) {
@@ -983,33 +2302,37 @@ public class RadarCordovaPlugin extends CordovaPlugin {
                     if (addresses != null) {
                         obj.put("addresses", RadarAddress.toJson(addresses));
                     }
+                    if (status == Radar.RadarStatus.SUCCESS && reverseGeocodeCacheKey != null) {
+                        RadarCordovaPlugin.geocodeCache.put(reverseGeocodeCacheKey, obj);
+                    }
 
-                    callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, obj));
+                    RadarCordovaPlugin.requestCoalescer.complete(coalescingKey, new PluginResult(PluginResult.Status.OK, obj));
                 } catch (JSONException e) {
                     Log.e("RadarCordovaPlugin", "JSONException", e);
-                    callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.JSON_EXCEPTION));
+                    RadarCordovaPlugin.requestCoalescer.complete(coalescingKey, new PluginResult(PluginResult.Status.JSON_EXCEPTION));
                 }
             }
         };
 
-        if (args != null && args.length() > 0) {
-            final JSONObject locationObj = args.getJSONObject(0);
-            double latitude = locationObj.getDouble("latitude");
-            double longitude = locationObj.getDouble("longitude");
-            float accuracy = (float)locationObj.getDouble("accuracy");
-            Location location = new Location("RadarCordovaPlugin");
-            location.setLatitude(latitude);
-            location.setLongitude(longitude);
-            location.setAccuracy(accuracy);
-
-            Radar.reverseGeocode(location, callback);
-        } else {
-            Radar.reverseGeocode(callback);
+        try {
+            if (location != null) {
+                Radar.reverseGeocode(location, callback);
+            } else {
+                Radar.reverseGeocode(callback);
+            }
+        } catch (RuntimeException e) {
+            Log.e("RadarCordovaPlugin", "Exception in reverseGeocode", e);
+            RadarCordovaPlugin.requestCoalescer.complete(coalescingKey, new PluginResult(PluginResult.Status.ERROR, e.toString()));
         }
     }
 
     public void ipGeocode(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
-        Radar.ipGeocode(new Radar.RadarIpGeocodeCallback() {
+        final String coalescingKey = "ipGeocode";
+        if (!RadarCordovaPlugin.requestCoalescer.join(coalescingKey, callbackContext)) {
+            return;
+        }
+
+        Radar.RadarIpGeocodeCallback callback = new Radar.RadarIpGeocodeCallback() {
             @Override
             public void onComplete(Radar.RadarStatus status, RadarAddress address, boolean proxy) {
                 try {
@@ -1020,13 +2343,20 @@ public class RadarCordovaPlugin extends CordovaPlugin {
                         obj.put("proxy", proxy);
                     }
 
-                    callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, obj));
+                    RadarCordovaPlugin.requestCoalescer.complete(coalescingKey, new PluginResult(PluginResult.Status.OK, obj));
                 } catch (JSONException e) {
                     Log.e("RadarCordovaPlugin", "JSONException", e);
-                    callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.JSON_EXCEPTION));
+                    RadarCordovaPlugin.requestCoalescer.complete(coalescingKey, new PluginResult(PluginResult.Status.JSON_EXCEPTION));
                 }
             }
-        });
+        };
+
+        try {
+            Radar.ipGeocode(callback);
+        } catch (RuntimeException e) {
+            Log.e("RadarCordovaPlugin", "Exception in ipGeocode", e);
+            RadarCordovaPlugin.requestCoalescer.complete(coalescingKey, new PluginResult(PluginResult.Status.ERROR, e.toString()));
+        }
     }
 
     public void getDistance(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
@@ -1052,38 +2382,28 @@ public class RadarCordovaPlugin extends CordovaPlugin {
 
         Location origin = null;
         if (optionsObj.has("origin")) {
-            JSONObject originObj = optionsObj.getJSONObject("origin");
-            double originLatitude = originObj.getDouble("latitude");
-            double originLongitude = originObj.getDouble("longitude");
-            origin = new Location("RNRadarModule");
-            origin.setLatitude(originLatitude);
-            origin.setLongitude(originLongitude);
-        }
-        JSONObject destinationObj = optionsObj.getJSONObject("destination");
-        double destinationLatitude = destinationObj.getDouble("latitude");
-        double destinationLongitude = destinationObj.getDouble("longitude");
-        Location destination = new Location("RNRadarModule");
-        destination.setLatitude(destinationLatitude);
-        destination.setLongitude(destinationLongitude);
-        EnumSet<Radar.RadarRouteMode> modes = EnumSet.noneOf(Radar.RadarRouteMode.class);
-        List<String> modesList = Arrays.asList(RadarCordovaPlugin.stringArrayForArray(optionsObj.getJSONArray("modes")));
-        if (modesList.contains("FOOT") || modesList.contains("foot")) {
-            modes.add(Radar.RadarRouteMode.FOOT);
-        }
-        if (modesList.contains("BIKE") || modesList.contains("bike")) {
-            modes.add(Radar.RadarRouteMode.BIKE);
-        }
-        if (modesList.contains("CAR") || modesList.contains("car")) {
-            modes.add(Radar.RadarRouteMode.CAR);
-        }
-        if (modesList.contains("TRUCK") || modesList.contains("truck")) {
-            modes.add(Radar.RadarRouteMode.TRUCK);
-        }
-        if (modesList.contains("MOTORBIKE") || modesList.contains("motorbike")) {
-            modes.add(Radar.RadarRouteMode.MOTORBIKE);
-        }
-        String unitsStr = optionsObj.getString("units");
-        Radar.RadarRouteUnits units = unitsStr.equals("METRIC") || unitsStr.equals("metric") ? Radar.RadarRouteUnits.METRIC : Radar.RadarRouteUnits.IMPERIAL;
+            origin = RadarCordovaDecoder.locationForJSONObject(optionsObj.getJSONObject("origin"));
+        }
+        Location destination = RadarCordovaDecoder.locationForJSONObject(optionsObj.getJSONObject("destination"));
+        EnumSet<Radar.RadarRouteMode> modes = RadarCordovaDecoder.routeModesForArray(optionsObj.getJSONArray("modes"));
+        Radar.RadarRouteUnits units = RadarCordovaDecoder.routeUnitsForString(optionsObj.getString("units"));
+
+        if (optionsObj.optBoolean("approximate", false)) {
+            if (origin == null) {
+                callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.JSON_EXCEPTION, "origin is required when approximate is true"));
+                return;
+            }
+
+            double meters = RadarCordovaGeo.distance(origin.getLatitude(), origin.getLongitude(), destination.getLatitude(), destination.getLongitude());
+
+            JSONObject obj = new JSONObject();
+            obj.put("status", Radar.RadarStatus.SUCCESS.toString());
+            obj.put("routes", RadarCordovaApproximateRouter.routesJson(meters, modes, units));
+            obj.put("approximate", true);
+
+            callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, obj));
+            return;
+        }
 
         if (origin != null) {
             Radar.getDistance(origin, destination, modes, units, callback);
@@ -1095,44 +2415,61 @@ public class RadarCordovaPlugin extends CordovaPlugin {
     public void getMatrix(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
         final JSONObject optionsObj = args.getJSONObject(0);
 
-        JSONArray originsArr = optionsObj.getJSONArray("origins");
-        Location[] origins = new Location[originsArr.length()];
-        for (int i = 0; i < originsArr.length(); i++) {
-            JSONObject originObj = originsArr.getJSONObject(i);
-            double originLatitude = originObj.getDouble("latitude");
-            double originLongitude = originObj.getDouble("longitude");
-            Location origin = new Location("RadarCordovaPlugin");
-            origin.setLatitude(originLatitude);
-            origin.setLongitude(originLongitude);
-            origins[i] = origin;
-        }
-        JSONArray destinationsArr = optionsObj.getJSONArray("destinations");
-        Location[] destinations = new Location[destinationsArr.length()];
-        for (int i = 0; i < destinationsArr.length(); i++) {
-            JSONObject destinationObj = destinationsArr.getJSONObject(i);
-            double destinationLatitude = destinationObj.getDouble("latitude");
-            double destinationLongitude = destinationObj.getDouble("longitude");
-            Location destination = new Location("RadarCordovaPlugin");
-            destination.setLatitude(destinationLatitude);
-            destination.setLongitude(destinationLongitude);
-            destinations[i] = destination;
-        }
-        Radar.RadarRouteMode mode = Radar.RadarRouteMode.CAR;
-        String modeStr = optionsObj.getString("mode");
-        if (modeStr.equals("FOOT") || modeStr.equals("foot")) {
-            mode = Radar.RadarRouteMode.FOOT;
-        } else if (modeStr.equals("BIKE") || modeStr.equals("bike")) {
-            mode = Radar.RadarRouteMode.BIKE;
-        } else if (modeStr.equals("CAR") || modeStr.equals("car")) {
-            mode = Radar.RadarRouteMode.CAR;
-        } else if (modeStr.equals("TRUCK") || modeStr.equals("truck")) {
-            mode = Radar.RadarRouteMode.TRUCK;
-        } else if (modeStr.equals("MOTORBIKE") || modeStr.equals("motorbike")) {
-            mode = Radar.RadarRouteMode.MOTORBIKE;
-        }
-        String unitsStr = optionsObj.getString("units");
-        Radar.RadarRouteUnits units = unitsStr.equals("METRIC") || unitsStr.equals("metric") ? Radar.RadarRouteUnits.METRIC : Radar.RadarRouteUnits.IMPERIAL;
+        double[][] originCoordinates = RadarCordovaDecoder.coordinatesForArray(optionsObj.getJSONArray("origins"));
+        double[][] destinationCoordinates = RadarCordovaDecoder.coordinatesForArray(optionsObj.getJSONArray("destinations"));
+        Radar.RadarRouteMode mode = RadarCordovaDecoder.routeModeForString(optionsObj.getString("mode"), Radar.RadarRouteMode.CAR);
+        Radar.RadarRouteUnits units = RadarCordovaDecoder.routeUnitsForString(optionsObj.getString("units"));
+
+        if (optionsObj.optBoolean("approximate", false)) {
+            getApproximateMatrix(originCoordinates, destinationCoordinates, mode, units, optionsObj.optInt("refine", 0), optionsObj.optInt("parallelism", 4), callbackContext);
+            return;
+        }
+
+        if (optionsObj.optBoolean("tiled", false)) {
+            Location[] origins = RadarCordovaDecoder.locationsForCoordinates(originCoordinates);
+            Location[] destinations = RadarCordovaDecoder.locationsForCoordinates(destinationCoordinates);
+            int tileOrigins = optionsObj.optInt("tileOrigins", 25);
+            int tileDestinations = optionsObj.optInt("tileDestinations", 25);
+            int parallelism = optionsObj.optInt("parallelism", 4);
+
+            new RadarCordovaMatrixTiler(origins, destinations, mode, units, tileOrigins, tileDestinations, parallelism, new RadarCordovaMatrixTiler.Listener() {
+                @Override
+                public void onRows(JSONArray rows) {
+                    try {
+                        JSONObject obj = new JSONObject();
+                        obj.put("status", Radar.RadarStatus.SUCCESS.toString());
+                        obj.put("partial", true);
+                        obj.put("rows", rows);
+
+                        PluginResult pluginResult = new PluginResult(PluginResult.Status.OK, obj);
+                        pluginResult.setKeepCallback(true);
+                        callbackContext.sendPluginResult(pluginResult);
+                    } catch (JSONException e) {
+                        Log.e("RadarCordovaPlugin", "JSONException", e);
+                    }
+                }
+
+                @Override
+                public void onComplete(Radar.RadarStatus status, JSONArray matrix) {
+                    try {
+                        JSONObject obj = new JSONObject();
+                        obj.put("status", status.toString());
+                        if (matrix != null) {
+                            obj.put("matrix", matrix);
+                        }
+
+                        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, obj));
+                    } catch (JSONException e) {
+                        Log.e("RadarCordovaPlugin", "JSONException", e);
+                        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.JSON_EXCEPTION));
+                    }
+                }
+            }).start();
+            return;
+        }
 
+        Location[] origins = RadarCordovaDecoder.reusableLocationsForCoordinates(originCoordinates, RadarCordovaDecoder.SLOT_ORIGINS);
+        Location[] destinations = RadarCordovaDecoder.reusableLocationsForCoordinates(destinationCoordinates, RadarCordovaDecoder.SLOT_DESTINATIONS);
         Radar.getMatrix(origins, destinations, mode, units, new Radar.RadarMatrixCallback() {
             @Override
             public void onComplete(Radar.RadarStatus status, RadarRouteMatrix matrix) {
@@ -1152,26 +2489,99 @@ public class RadarCordovaPlugin extends CordovaPlugin {
         });
     }
 
+    private void getApproximateMatrix(final double[][] originCoordinates, final double[][] destinationCoordinates, final Radar.RadarRouteMode mode, final Radar.RadarRouteUnits units, int refine, int parallelism, final CallbackContext callbackContext) throws JSONException {
+        final int originCount = originCoordinates[0].length;
+        final int destinationCount = destinationCoordinates[0].length;
+        final double[] distances = RadarCordovaApproximateRouter.distances(originCoordinates[0], originCoordinates[1], destinationCoordinates[0], destinationCoordinates[1]);
+        final JSONArray matrix = RadarCordovaApproximateRouter.matrixJson(distances, originCount, destinationCount, mode, units);
+
+        final int k = Math.min(refine, destinationCount);
+        if (k <= 0 || originCount == 0) {
+            JSONObject obj = new JSONObject();
+            obj.put("status", Radar.RadarStatus.SUCCESS.toString());
+            obj.put("matrix", matrix);
+            obj.put("approximate", true);
+
+            callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, obj));
+            return;
+        }
+
+        final int[][] nearest = new int[originCount][];
+        for (int i = 0; i < originCount; i++) {
+            nearest[i] = RadarCordovaApproximateRouter.nearestIndices(distances, i * destinationCount, destinationCount, k);
+        }
+        final AtomicInteger refined = new AtomicInteger();
+
+        // the tiler bounds how many per-origin requests are in flight, a failed request leaves the rest approximate
+        Location[] origins = RadarCordovaDecoder.locationsForCoordinates(originCoordinates);
+        Location[] destinations = RadarCordovaDecoder.locationsForCoordinates(destinationCoordinates);
+        new RadarCordovaMatrixTiler(origins, destinations, nearest, mode, units, parallelism, new RadarCordovaMatrixTiler.Listener() {
+            @Override
+            public void onRows(JSONArray rows) {
+                try {
+                    synchronized (matrix) {
+                        for (int i = 0; i < rows.length(); i++) {
+                            JSONObject rowObj = rows.getJSONObject(i);
+                            int originIndex = rowObj.getInt("originIndex");
+                            JSONArray refinedRow = rowObj.getJSONArray("routes");
+                            JSONArray row = matrix.getJSONArray(originIndex);
+                            for (int destinationIndex : nearest[originIndex]) {
+                                JSONObject route = refinedRow.optJSONObject(destinationIndex);
+                                if (route != null) {
+                                    route.put("originIndex", originIndex);
+                                    route.put("destinationIndex", destinationIndex);
+                                    row.put(destinationIndex, route);
+                                    refined.incrementAndGet();
+                                }
+                            }
+                        }
+                    }
+                } catch (JSONException e) {
+                    Log.e("RadarCordovaPlugin", "JSONException", e);
+                }
+            }
+
+            @Override
+            public void onComplete(Radar.RadarStatus status, JSONArray refinedMatrix) {
+                try {
+                    PluginResult pluginResult;
+                    synchronized (matrix) {
+                        JSONObject obj = new JSONObject();
+                        obj.put("status", Radar.RadarStatus.SUCCESS.toString());
+                        obj.put("matrix", matrix);
+                        obj.put("approximate", true);
+                        obj.put("refined", refined.get());
+                        pluginResult = new PluginResult(PluginResult.Status.OK, obj);
+                    }
+
+                    callbackContext.sendPluginResult(pluginResult);
+                } catch (JSONException e) {
+                    Log.e("RadarCordovaPlugin", "JSONException", e);
+                    callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.JSON_EXCEPTION));
+                }
+            }
+        }).start();
+    }
+
     public void sendEvent(final JSONArray args, final CallbackContext callbackContext) throws JSONException {
         final JSONObject optionsObj = args.getJSONObject(0);
         
-        String customType = optionsObj.getString("customType");
-        JSONObject metadata = optionsObj.getJSONObject("metadata");
+        final String customType = optionsObj.getString("customType");
+        final JSONObject metadata = optionsObj.getJSONObject("metadata");
+        final RadarCordovaOfflineQueue queue = RadarCordovaPlugin.offlineQueue(this.cordova.getActivity().getApplicationContext());
         
         Radar.sendEvent(customType, metadata, new Radar.RadarSendEventCallback() {
             @Override
             public void onComplete(Radar.RadarStatus status, Location location, RadarEvent[] events, RadarUser user) {
                 try {
-                    JSONObject obj = new JSONObject();
-                    obj.put("status", status.toString());
-                    if (location != null) {
-                        obj.put("location", Radar.jsonForLocation(location));
-                    }
-                    if (events != null) {
-                        obj.put("events", RadarEvent.toJson(events));
-                    }
-                    if (user != null) {
-                        obj.put("user", user.toJson());
+                    JSONObject obj = RadarCordovaPayloads.trackResult(status, location, events, user);
+
+                    if (RadarCordovaOfflineQueue.shouldQueue(status) && queue.isEnabled()) {
+                        if (queue.enqueueSendEvent(customType, metadata)) {
+                            obj.put("queued", true);
+                        }
+                    } else if (status == Radar.RadarStatus.SUCCESS) {
+                        queue.drainNow();
                     }
 
                     PluginResult pluginResult = new PluginResult(PluginResult.Status.OK, obj);
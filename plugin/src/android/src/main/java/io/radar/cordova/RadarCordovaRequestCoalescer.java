@@ -0,0 +1,59 @@
+package io.radar.cordova;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.cordova.CallbackContext;
+import org.apache.cordova.PluginResult;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+public class RadarCordovaRequestCoalescer {
+
+    private final Map<String, List<CallbackContext>> inFlight = new HashMap<String, List<CallbackContext>>();
+    private long requests;
+    private long collapsed;
+
+    public synchronized boolean join(String key, CallbackContext callbackContext) {
+        requests++;
+
+        List<CallbackContext> waiting = inFlight.get(key);
+        if (waiting != null) {
+            waiting.add(callbackContext);
+            collapsed++;
+            return false;
+        }
+
+        waiting = new ArrayList<CallbackContext>();
+        waiting.add(callbackContext);
+        inFlight.put(key, waiting);
+        return true;
+    }
+
+    public void complete(String key, PluginResult pluginResult) {
+        List<CallbackContext> waiting;
+        synchronized (this) {
+            waiting = inFlight.remove(key);
+        }
+
+        if (waiting == null) {
+            return;
+        }
+
+        for (CallbackContext callbackContext : waiting) {
+            callbackContext.sendPluginResult(pluginResult);
+        }
+    }
+
+    public synchronized JSONObject getStats() throws JSONException {
+        JSONObject obj = new JSONObject();
+        obj.put("requests", requests);
+        obj.put("collapsed", collapsed);
+        obj.put("inFlight", inFlight.size());
+        return obj;
+    }
+
+}
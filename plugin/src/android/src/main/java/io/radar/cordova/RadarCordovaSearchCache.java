@@ -0,0 +1,149 @@
+package io.radar.cordova;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+public class RadarCordovaSearchCache {
+
+    private static class Entry {
+
+        final String filterKey;
+        final double latitude;
+        final double longitude;
+        final int radius;
+        final int limit;
+        final JSONObject[] items;
+        final double[] latitudes;
+        final double[] longitudes;
+        final long expiresAt;
+
+        Entry(String filterKey, double latitude, double longitude, int radius, int limit, JSONObject[] items, double[] latitudes, double[] longitudes, long expiresAt) {
+            this.filterKey = filterKey;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.radius = radius;
+            this.limit = limit;
+            this.items = items;
+            this.latitudes = latitudes;
+            this.longitudes = longitudes;
+            this.expiresAt = expiresAt;
+        }
+
+    }
+
+    private final LinkedList<Entry> entries = new LinkedList<Entry>();
+    private int maxEntries = 32;
+    private long ttl = 5 * 60 * 1000;
+    private long hits;
+    private long misses;
+
+    public synchronized void setOptions(int maxEntries, long ttl) {
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        entries.clear();
+    }
+
+    // array filters are matched as sets by the API, so their order must not split the cache
+    public static String filterKey(String type, Object... filters) {
+        StringBuilder key = new StringBuilder(type);
+        for (Object filter : filters) {
+            key.append('|');
+            if (filter instanceof Object[]) {
+                Object[] sorted = ((Object[]) filter).clone();
+                Arrays.sort(sorted);
+                key.append(Arrays.toString(sorted));
+            } else {
+                key.append(filter);
+            }
+        }
+        return key.toString();
+    }
+
+    public synchronized void put(String filterKey, double latitude, double longitude, int radius, int limit, JSONArray itemsArr, double[] latitudes, double[] longitudes) throws JSONException {
+        if (maxEntries <= 0 || ttl <= 0) {
+            return;
+        }
+
+        JSONObject[] items = new JSONObject[itemsArr.length()];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = itemsArr.getJSONObject(i);
+        }
+
+        entries.addFirst(new Entry(filterKey, latitude, longitude, radius, limit, items, latitudes, longitudes, System.currentTimeMillis() + ttl));
+        while (entries.size() > maxEntries) {
+            entries.removeLast();
+        }
+    }
+
+    public synchronized JSONArray get(String filterKey, final double latitude, final double longitude, int radius, int limit) {
+        long now = System.currentTimeMillis();
+
+        Iterator<Entry> it = entries.iterator();
+        while (it.hasNext()) {
+            final Entry entry = it.next();
+            if (entry.expiresAt < now) {
+                it.remove();
+                continue;
+            }
+
+            // a full page may have been truncated by the server, so only complete result sets can answer sub-queries
+            boolean complete = entry.items.length < entry.limit;
+            if (!complete || !entry.filterKey.equals(filterKey)) {
+                continue;
+            }
+
+            double offset = RadarCordovaGeo.distance(entry.latitude, entry.longitude, latitude, longitude);
+            if (offset + radius > entry.radius) {
+                continue;
+            }
+
+            final double[] distances = new double[entry.items.length];
+            List<Integer> matches = new ArrayList<Integer>();
+            for (int i = 0; i < entry.items.length; i++) {
+                distances[i] = RadarCordovaGeo.distance(latitude, longitude, entry.latitudes[i], entry.longitudes[i]);
+                if (distances[i] <= radius) {
+                    matches.add(i);
+                }
+            }
+            Collections.sort(matches, new Comparator<Integer>() {
+                @Override
+                public int compare(Integer a, Integer b) {
+                    return Double.compare(distances[a], distances[b]);
+                }
+            });
+
+            JSONArray arr = new JSONArray();
+            for (int i = 0; i < matches.size() && i < limit; i++) {
+                arr.put(entry.items[matches.get(i)]);
+            }
+
+            hits++;
+            return arr;
+        }
+
+        misses++;
+        return null;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized JSONObject getStats() throws JSONException {
+        JSONObject obj = new JSONObject();
+        obj.put("hits", hits);
+        obj.put("misses", misses);
+        obj.put("size", entries.size());
+        return obj;
+    }
+
+}
@@ -0,0 +1,147 @@
+package io.radar.cordova;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.cordova.CallbackContext;
+import org.apache.cordova.PluginResult;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+public class RadarCordovaStartup {
+
+    private long loadedAt;
+    private long initStartedAt;
+    private long initCompletedAt;
+    private long firstTrackRequestedAt;
+    private long firstTrackAt;
+    private long loadedAtTimestamp;
+
+    private String mode;
+    private String publishableKey;
+    private boolean initializing;
+    private JSONObject state;
+    private final List<CallbackContext> waiters = new ArrayList<CallbackContext>();
+    private final List<Runnable> deferred = new ArrayList<Runnable>();
+
+    public synchronized void markLoaded() {
+        if (loadedAt == 0) {
+            loadedAt = System.nanoTime();
+            loadedAtTimestamp = System.currentTimeMillis();
+        }
+    }
+
+    public synchronized boolean begin(String publishableKey, String mode) {
+        if (publishableKey.equals(this.publishableKey) && (initializing || state != null)) {
+            return false;
+        }
+
+        this.publishableKey = publishableKey;
+        this.mode = mode;
+        initializing = true;
+        initStartedAt = System.nanoTime();
+        initCompletedAt = 0;
+        state = null;
+        return true;
+    }
+
+    public synchronized boolean isReady() {
+        return state != null;
+    }
+
+    public void complete(JSONObject state) {
+        CallbackContext[] pending;
+        Runnable[] runnables;
+        JSONObject obj;
+        synchronized (this) {
+            initializing = false;
+            initCompletedAt = System.nanoTime();
+            this.state = state;
+
+            pending = waiters.toArray(new CallbackContext[0]);
+            waiters.clear();
+            runnables = deferred.toArray(new Runnable[0]);
+            deferred.clear();
+            obj = readyJson();
+        }
+
+        for (CallbackContext callbackContext : pending) {
+            send(callbackContext, obj);
+        }
+        for (Runnable runnable : runnables) {
+            runnable.run();
+        }
+    }
+
+    // returns false if no initialize is in flight, in which case the caller runs the work itself
+    public synchronized boolean defer(Runnable runnable) {
+        if (!initializing) {
+            return false;
+        }
+
+        deferred.add(runnable);
+        return true;
+    }
+
+    public void await(CallbackContext callbackContext) {
+        JSONObject obj;
+        synchronized (this) {
+            if (state == null) {
+                waiters.add(callbackContext);
+                return;
+            }
+            obj = readyJson();
+        }
+
+        send(callbackContext, obj);
+    }
+
+    public synchronized void markTrackRequested() {
+        if (firstTrackRequestedAt == 0) {
+            firstTrackRequestedAt = System.nanoTime();
+        }
+    }
+
+    public synchronized void markTracked() {
+        if (firstTrackAt == 0 && firstTrackRequestedAt != 0) {
+            firstTrackAt = System.nanoTime();
+        }
+    }
+
+    public synchronized JSONObject toJson() throws JSONException {
+        JSONObject obj = new JSONObject();
+        obj.put("mode", mode != null ? mode : JSONObject.NULL);
+        obj.put("ready", state != null);
+        obj.put("loadedAt", loadedAtTimestamp);
+        obj.put("loadToInitialize", elapsed(loadedAt, initStartedAt));
+        obj.put("initializeDuration", elapsed(initStartedAt, initCompletedAt));
+        obj.put("loadToReady", elapsed(loadedAt, initCompletedAt));
+        obj.put("readyToFirstTrackRequest", elapsed(initCompletedAt, firstTrackRequestedAt));
+        obj.put("firstTrackDuration", elapsed(firstTrackRequestedAt, firstTrackAt));
+        obj.put("timeToFirstTrack", elapsed(loadedAt, firstTrackAt));
+        return obj;
+    }
+
+    private JSONObject readyJson() {
+        JSONObject obj = new JSONObject();
+        try {
+            obj.put("state", state);
+            obj.put("metrics", toJson());
+        } catch (JSONException e) {
+            return state;
+        }
+        return obj;
+    }
+
+    private static Object elapsed(long from, long to) {
+        if (from == 0 || to == 0) {
+            return JSONObject.NULL;
+        }
+        return (to - from) / 1e6;
+    }
+
+    private static void send(CallbackContext callbackContext, JSONObject obj) {
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.OK, obj));
+    }
+
+}
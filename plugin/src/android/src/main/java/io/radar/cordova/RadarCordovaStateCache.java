@@ -0,0 +1,106 @@
+package io.radar.cordova;
+
+import java.util.Iterator;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+public class RadarCordovaStateCache {
+
+    public interface Listener {
+        void onStateChange(JSONObject change);
+    }
+
+    private final JSONObject state = new JSONObject();
+    private boolean loaded;
+    private long version;
+    private Listener listener;
+
+    public synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    public synchronized void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    public void load(JSONObject values) throws JSONException {
+        synchronized (this) {
+            loaded = true;
+        }
+        update(values);
+    }
+
+    public void put(String key, Object value) throws JSONException {
+        JSONObject values = new JSONObject();
+        values.put(key, value != null ? value : JSONObject.NULL);
+        update(values);
+    }
+
+    public void update(JSONObject values) throws JSONException {
+        Listener listener;
+        JSONObject change;
+
+        synchronized (this) {
+            if (!loaded) {
+                return;
+            }
+
+            JSONArray changed = new JSONArray();
+            Iterator<String> keys = values.keys();
+            while (keys.hasNext()) {
+                String key = keys.next();
+                Object value = values.get(key);
+                if (!same(state.opt(key), value)) {
+                    state.put(key, value);
+                    changed.put(key);
+                }
+            }
+            if (changed.length() == 0) {
+                return;
+            }
+
+            version++;
+            if (this.listener == null) {
+                return;
+            }
+
+            listener = this.listener;
+            change = new JSONObject();
+            change.put("version", version);
+            change.put("changed", changed);
+            change.put("state", toJson());
+        }
+
+        listener.onStateChange(change);
+    }
+
+    public synchronized Object get(String key) {
+        Object value = state.opt(key);
+        return value != JSONObject.NULL ? value : null;
+    }
+
+    public synchronized JSONObject toJson() throws JSONException {
+        // values are replaced on write and never mutated, so a shallow copy is enough
+        JSONObject obj = new JSONObject();
+        Iterator<String> keys = state.keys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            obj.put(key, state.get(key));
+        }
+        obj.put("version", version);
+        return obj;
+    }
+
+    private static boolean same(Object a, Object b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        if (a instanceof JSONObject || a instanceof JSONArray) {
+            return a.toString().equals(b.toString());
+        }
+        return a.equals(b);
+    }
+
+}
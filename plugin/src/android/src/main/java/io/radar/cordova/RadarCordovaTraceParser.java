@@ -0,0 +1,271 @@
+package io.radar.cordova;
+
+import android.location.Location;
+import android.util.Xml;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.xmlpull.v1.XmlPullParser;
+import org.xmlpull.v1.XmlPullParserException;
+
+public class RadarCordovaTraceParser {
+
+    public static final String FORMAT_GPX = "gpx";
+    public static final String FORMAT_GEOJSON = "geojson";
+    public static final String FORMAT_CSV = "csv";
+
+    private static final String[] TIME_PATTERNS = {
+        "yyyy-MM-dd'T'HH:mm:ss.SSSZ",
+        "yyyy-MM-dd'T'HH:mm:ssZ",
+        "yyyy-MM-dd'T'HH:mm:ss.SSS",
+        "yyyy-MM-dd'T'HH:mm:ss"
+    };
+
+    public static String detectFormat(String path, String data) {
+        String lowerPath = path != null ? path.toLowerCase(Locale.ROOT) : "";
+        if (lowerPath.endsWith(".gpx")) {
+            return FORMAT_GPX;
+        } else if (lowerPath.endsWith(".geojson") || lowerPath.endsWith(".json")) {
+            return FORMAT_GEOJSON;
+        } else if (lowerPath.endsWith(".csv")) {
+            return FORMAT_CSV;
+        }
+
+        String trimmed = data.trim();
+        if (trimmed.startsWith("<")) {
+            return FORMAT_GPX;
+        } else if (trimmed.startsWith("{") || trimmed.startsWith("[")) {
+            return FORMAT_GEOJSON;
+        }
+        return FORMAT_CSV;
+    }
+
+    public static List<Location> parse(String data, String format) throws JSONException, IOException, XmlPullParserException {
+        if (format.equals(FORMAT_GPX)) {
+            return parseGpx(data);
+        } else if (format.equals(FORMAT_GEOJSON)) {
+            return parseGeoJson(data);
+        } else if (format.equals(FORMAT_CSV)) {
+            return parseCsv(data);
+        }
+        throw new IllegalArgumentException("invalid format: " + format);
+    }
+
+    public static List<Location> parseGpx(String data) throws IOException, XmlPullParserException {
+        List<Location> locations = new ArrayList<Location>();
+
+        XmlPullParser parser = Xml.newPullParser();
+        parser.setInput(new StringReader(data));
+
+        Location location = null;
+        String tag = null;
+        int eventType = parser.getEventType();
+        while (eventType != XmlPullParser.END_DOCUMENT) {
+            if (eventType == XmlPullParser.START_TAG) {
+                tag = parser.getName();
+                if (tag.equals("trkpt") || tag.equals("rtept") || tag.equals("wpt")) {
+                    location = newLocation(Double.parseDouble(parser.getAttributeValue(null, "lat")), Double.parseDouble(parser.getAttributeValue(null, "lon")));
+                }
+            } else if (eventType == XmlPullParser.TEXT && location != null && tag != null) {
+                String text = parser.getText().trim();
+                if (!text.isEmpty()) {
+                    if (tag.equals("time")) {
+                        location.setTime(parseTime(text));
+                    } else if (tag.equals("ele")) {
+                        location.setAltitude(Double.parseDouble(text));
+                    } else if (tag.equals("hdop")) {
+                        location.setAccuracy((float) (Double.parseDouble(text) * 5));
+                    } else if (tag.equals("speed")) {
+                        location.setSpeed(Float.parseFloat(text));
+                    }
+                }
+            } else if (eventType == XmlPullParser.END_TAG) {
+                String name = parser.getName();
+                if (location != null && (name.equals("trkpt") || name.equals("rtept") || name.equals("wpt"))) {
+                    locations.add(location);
+                    location = null;
+                }
+                tag = null;
+            }
+            eventType = parser.next();
+        }
+
+        return locations;
+    }
+
+    public static List<Location> parseGeoJson(String data) throws JSONException {
+        List<Location> locations = new ArrayList<Location>();
+
+        String trimmed = data.trim();
+        if (trimmed.startsWith("[")) {
+            JSONArray arr = new JSONArray(trimmed);
+            for (int i = 0; i < arr.length(); i++) {
+                addGeoJson(locations, arr.getJSONObject(i), null);
+            }
+        } else {
+            addGeoJson(locations, new JSONObject(trimmed), null);
+        }
+
+        return locations;
+    }
+
+    public static List<Location> parseCsv(String data) {
+        List<Location> locations = new ArrayList<Location>();
+
+        int latitudeColumn = 0;
+        int longitudeColumn = 1;
+        int accuracyColumn = -1;
+        int timeColumn = -1;
+        int speedColumn = -1;
+        int altitudeColumn = -1;
+
+        String[] lines = data.split("\r?\n");
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+
+            String[] columns = line.split(",");
+            if (i == 0 && !isNumber(columns[0].trim())) {
+                for (int j = 0; j < columns.length; j++) {
+                    String name = columns[j].trim().toLowerCase(Locale.ROOT);
+                    if (name.equals("latitude") || name.equals("lat")) {
+                        latitudeColumn = j;
+                    } else if (name.equals("longitude") || name.equals("lon") || name.equals("lng")) {
+                        longitudeColumn = j;
+                    } else if (name.equals("accuracy")) {
+                        accuracyColumn = j;
+                    } else if (name.equals("timestamp") || name.equals("time")) {
+                        timeColumn = j;
+                    } else if (name.equals("speed")) {
+                        speedColumn = j;
+                    } else if (name.equals("altitude") || name.equals("ele")) {
+                        altitudeColumn = j;
+                    }
+                }
+                continue;
+            }
+
+            Location location = newLocation(Double.parseDouble(columns[latitudeColumn].trim()), Double.parseDouble(columns[longitudeColumn].trim()));
+            if (hasColumn(columns, accuracyColumn)) {
+                location.setAccuracy(Float.parseFloat(columns[accuracyColumn].trim()));
+            }
+            if (hasColumn(columns, timeColumn)) {
+                location.setTime(parseTime(columns[timeColumn].trim()));
+            }
+            if (hasColumn(columns, speedColumn)) {
+                location.setSpeed(Float.parseFloat(columns[speedColumn].trim()));
+            }
+            if (hasColumn(columns, altitudeColumn)) {
+                location.setAltitude(Double.parseDouble(columns[altitudeColumn].trim()));
+            }
+            locations.add(location);
+        }
+
+        return locations;
+    }
+
+    private static void addGeoJson(List<Location> locations, JSONObject obj, JSONObject properties) throws JSONException {
+        String type = obj.optString("type");
+        if (type.equals("FeatureCollection")) {
+            JSONArray features = obj.getJSONArray("features");
+            for (int i = 0; i < features.length(); i++) {
+                addGeoJson(locations, features.getJSONObject(i), null);
+            }
+        } else if (type.equals("Feature")) {
+            addGeoJson(locations, obj.getJSONObject("geometry"), obj.optJSONObject("properties"));
+        } else if (type.equals("Point")) {
+            Location location = locationForPosition(obj.getJSONArray("coordinates"));
+            if (properties != null) {
+                Object time = properties.opt("timestamp") != null ? properties.opt("timestamp") : properties.opt("time");
+                if (time != null) {
+                    location.setTime(parseTime(time.toString()));
+                }
+                if (properties.has("accuracy")) {
+                    location.setAccuracy((float) properties.getDouble("accuracy"));
+                }
+                if (properties.has("speed")) {
+                    location.setSpeed((float) properties.getDouble("speed"));
+                }
+            }
+            locations.add(location);
+        } else if (type.equals("LineString") || type.equals("MultiPoint")) {
+            JSONArray coordinates = obj.getJSONArray("coordinates");
+            JSONArray times = null;
+            if (properties != null) {
+                times = properties.optJSONArray("coordTimes") != null ? properties.optJSONArray("coordTimes") : properties.optJSONArray("times");
+            }
+            for (int i = 0; i < coordinates.length(); i++) {
+                Location location = locationForPosition(coordinates.getJSONArray(i));
+                if (times != null && i < times.length()) {
+                    location.setTime(parseTime(times.getString(i)));
+                }
+                locations.add(location);
+            }
+        }
+    }
+
+    private static Location locationForPosition(JSONArray position) throws JSONException {
+        Location location = newLocation(position.getDouble(1), position.getDouble(0));
+        if (position.length() > 2) {
+            location.setAltitude(position.getDouble(2));
+        }
+        return location;
+    }
+
+    private static Location newLocation(double latitude, double longitude) {
+        Location location = new Location("RadarCordovaPlugin");
+        location.setLatitude(latitude);
+        location.setLongitude(longitude);
+        return location;
+    }
+
+    private static long parseTime(String str) {
+        if (isNumber(str)) {
+            double value = Double.parseDouble(str);
+            return (long) (value < 1e11 ? value * 1000 : value);
+        }
+
+        if (str.endsWith("Z")) {
+            str = str.substring(0, str.length() - 1) + "+0000";
+        } else if (str.length() > 6 && str.charAt(str.length() - 3) == ':' && (str.charAt(str.length() - 6) == '+' || str.charAt(str.length() - 6) == '-')) {
+            str = str.substring(0, str.length() - 3) + str.substring(str.length() - 2);
+        }
+
+        for (String pattern : TIME_PATTERNS) {
+            SimpleDateFormat format = new SimpleDateFormat(pattern, Locale.US);
+            format.setTimeZone(TimeZone.getTimeZone("UTC"));
+            try {
+                return format.parse(str).getTime();
+            } catch (ParseException e) {
+                // try the next pattern
+            }
+        }
+        return 0;
+    }
+
+    private static boolean hasColumn(String[] columns, int column) {
+        return column >= 0 && column < columns.length && !columns[column].trim().isEmpty();
+    }
+
+    private static boolean isNumber(String str) {
+        try {
+            Double.parseDouble(str);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+}
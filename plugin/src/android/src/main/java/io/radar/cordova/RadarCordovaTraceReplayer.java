@@ -0,0 +1,129 @@
+package io.radar.cordova;
+
+import android.content.Context;
+import android.location.Location;
+import android.os.SystemClock;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import io.radar.sdk.Radar;
+import io.radar.sdk.RadarReceiver;
+
+public class RadarCordovaTraceReplayer {
+
+    public interface Listener {
+        void onComplete(RadarCordovaTraceReplayer replayer, int replayed, long duration, boolean cancelled);
+    }
+
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    private final Context context;
+    private final RadarReceiver receiver;
+    private final List<Location> locations;
+    private final long[] offsets;
+    private final Listener listener;
+
+    private ScheduledFuture<?> future;
+    private long startedAt;
+    private long startedAtWallClock;
+    private int index;
+    private boolean finished;
+
+    public RadarCordovaTraceReplayer(Context context, RadarReceiver receiver, List<Location> locations, double speedup, long interval, Listener listener) {
+        this.context = context;
+        this.receiver = receiver;
+        this.locations = locations;
+        this.listener = listener;
+
+        double factor = speedup > 0 ? speedup : 1;
+        offsets = new long[locations.size()];
+        long firstTime = locations.isEmpty() ? 0 : locations.get(0).getTime();
+        long previous = 0;
+        for (int i = 0; i < offsets.length; i++) {
+            long time = locations.get(i).getTime();
+            long offset;
+            if (i == 0) {
+                offset = 0;
+            } else if (firstTime > 0 && time - firstTime >= previous) {
+                offset = time - firstTime;
+            } else {
+                // untimed or out-of-order points follow the previous point so the schedule never runs backwards
+                offset = previous + interval;
+            }
+            previous = offset;
+            offsets[i] = (long) (offset / factor);
+        }
+    }
+
+    public synchronized void start() {
+        startedAt = SystemClock.elapsedRealtime();
+        startedAtWallClock = System.currentTimeMillis();
+        scheduleNext();
+    }
+
+    public void cancel() {
+        synchronized (this) {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+
+        listener.onComplete(this, index, SystemClock.elapsedRealtime() - startedAt, true);
+    }
+
+    private void scheduleNext() {
+        if (index >= locations.size()) {
+            finished = true;
+            final RadarCordovaTraceReplayer replayer = this;
+            final int replayed = index;
+            final long duration = SystemClock.elapsedRealtime() - startedAt;
+            scheduler.execute(new Runnable() {
+                @Override
+                public void run() {
+                    listener.onComplete(replayer, replayed, duration, false);
+                }
+            });
+            return;
+        }
+
+        long delay = Math.max(0, startedAt + offsets[index] - SystemClock.elapsedRealtime());
+        future = scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                replayNext();
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void replayNext() {
+        Location location;
+        boolean stopped;
+        synchronized (this) {
+            if (finished) {
+                return;
+            }
+
+            location = new Location(locations.get(index));
+            location.setTime(startedAtWallClock + offsets[index]);
+            stopped = index == locations.size() - 1;
+            index++;
+        }
+
+        receiver.onClientLocationUpdated(context, location, stopped, Radar.RadarLocationSource.MOCK_LOCATION);
+
+        synchronized (this) {
+            if (!finished) {
+                scheduleNext();
+            }
+        }
+    }
+
+}
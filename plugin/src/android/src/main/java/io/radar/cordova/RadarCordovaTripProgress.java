@@ -0,0 +1,383 @@
+package io.radar.cordova;
+
+import android.location.Location;
+import android.util.Log;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import io.radar.sdk.Radar;
+
+public class RadarCordovaTripProgress {
+
+    public interface Listener {
+        void onProgress(JSONObject progress);
+    }
+
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private static final double METERS_PER_DEGREE = 111195.08;
+
+    private long interval = 1000;
+    private long maxExtrapolation = 10000;
+    private double offRouteDistance = 50;
+    private long rerouteInterval = 30000;
+
+    private Listener listener;
+    private ScheduledFuture<?> emitFuture;
+
+    private String externalId;
+    private String status;
+    private Radar.RadarRouteMode mode = Radar.RadarRouteMode.CAR;
+    private boolean hasDestination;
+    private double destinationLatitude;
+    private double destinationLongitude;
+
+    private double[] routeLatitudes;
+    private double[] routeLongitudes;
+    private double[] routeCumulative;
+    private double routeScale = 1;
+    private double routePace;
+    private boolean routePending;
+    private long routeRequestedAt;
+
+    private double serverDistance = -1;
+    private double serverPace;
+    private long reconciledAt;
+    private double correction;
+    private double correctionBase;
+
+    private boolean hasFix;
+    private double fixLatitude;
+    private double fixLongitude;
+    private double fixSpeed;
+    private long fixTime;
+    private double fixRemaining;
+    private double fixOffRoute;
+    private double fixProgress = -1;
+
+    public synchronized void setOptions(long interval, long maxExtrapolation, double offRouteDistance, long rerouteInterval) {
+        this.interval = Math.max(100, interval);
+        this.maxExtrapolation = Math.max(0, maxExtrapolation);
+        this.offRouteDistance = offRouteDistance;
+        this.rerouteInterval = Math.max(0, rerouteInterval);
+
+        if (listener != null) {
+            start(listener);
+        }
+    }
+
+    public synchronized void start(final Listener listener) {
+        this.listener = listener;
+
+        if (emitFuture != null) {
+            emitFuture.cancel(false);
+        }
+        emitFuture = scheduler.scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                emit();
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (emitFuture != null) {
+            emitFuture.cancel(false);
+            emitFuture = null;
+        }
+
+        listener = null;
+    }
+
+    public synchronized boolean isStarted() {
+        return listener != null;
+    }
+
+    public synchronized void clear() {
+        externalId = null;
+        status = null;
+        hasDestination = false;
+        routeLatitudes = null;
+        routeLongitudes = null;
+        routeCumulative = null;
+        routePace = 0;
+        routePending = false;
+        routeRequestedAt = 0;
+        serverDistance = -1;
+        serverPace = 0;
+        reconciledAt = 0;
+        correction = 0;
+        hasFix = false;
+        fixProgress = -1;
+    }
+
+    public synchronized boolean reconcile(JSONObject tripJson) {
+        String tripStatus = tripJson.optString("status", null);
+        if ("completed".equalsIgnoreCase(tripStatus) || "canceled".equalsIgnoreCase(tripStatus) || "expired".equalsIgnoreCase(tripStatus)) {
+            clear();
+            return false;
+        }
+
+        String tripExternalId = tripJson.optString("externalId", null);
+        if (tripExternalId != null && externalId != null && !tripExternalId.equals(externalId)) {
+            clear();
+        }
+        externalId = tripExternalId;
+        status = tripStatus;
+        mode = RadarCordovaDecoder.routeModeForString(tripJson.optString("mode", null), mode);
+
+        JSONObject destinationObj = tripJson.optJSONObject("destinationLocation");
+        JSONArray coordinates = destinationObj != null ? destinationObj.optJSONArray("coordinates") : null;
+        if (coordinates != null && coordinates.length() >= 2) {
+            double latitude = coordinates.optDouble(1);
+            double longitude = coordinates.optDouble(0);
+            if (!hasDestination || latitude != destinationLatitude || longitude != destinationLongitude) {
+                hasDestination = true;
+                destinationLatitude = latitude;
+                destinationLongitude = longitude;
+                routeLatitudes = null;
+                routeLongitudes = null;
+                routeCumulative = null;
+                routePace = 0;
+                routePending = false;
+                routeRequestedAt = 0;
+                project();
+            }
+        }
+
+        JSONObject etaObj = tripJson.optJSONObject("eta");
+        if (etaObj != null && etaObj.has("distance")) {
+            serverDistance = etaObj.optDouble("distance", 0);
+            double serverDuration = etaObj.optDouble("duration", 0);
+            serverPace = serverDistance > 0 && serverDuration > 0 ? serverDuration * 60 / serverDistance : 0;
+            reconciledAt = System.currentTimeMillis();
+
+            if (hasFix) {
+                correction = serverDistance - fixRemaining;
+                correctionBase = fixRemaining;
+            } else {
+                correction = 0;
+            }
+        }
+
+        return needsRoute(System.currentTimeMillis());
+    }
+
+    // once the fix leaves the route every projection onto it is stale, so refetch, but at most once per rerouteInterval
+    public synchronized boolean needsRoute(long now) {
+        if (!hasDestination || routePending) {
+            return false;
+        }
+        if (routeLatitudes == null) {
+            return true;
+        }
+        return hasFix && fixOffRoute > offRouteDistance && now - routeRequestedAt >= rerouteInterval;
+    }
+
+    public synchronized Location beginRouteRequest(long now) {
+        if (!needsRoute(now)) {
+            return null;
+        }
+
+        routePending = true;
+        routeRequestedAt = now;
+        Location destination = new Location("RadarCordovaPlugin");
+        destination.setLatitude(destinationLatitude);
+        destination.setLongitude(destinationLongitude);
+        return destination;
+    }
+
+    public synchronized double distanceToDestination(double latitude, double longitude) {
+        if (!hasDestination) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        return RadarCordovaGeo.distance(latitude, longitude, destinationLatitude, destinationLongitude);
+    }
+
+    public synchronized Radar.RadarRouteMode getMode() {
+        return mode;
+    }
+
+    public synchronized void routeRequestFailed(double latitude, double longitude) {
+        if (hasDestination && latitude == destinationLatitude && longitude == destinationLongitude) {
+            routePending = false;
+        }
+    }
+
+    public synchronized void setRoute(double latitude, double longitude, JSONObject routeJson) throws JSONException {
+        if (!hasDestination || latitude != destinationLatitude || longitude != destinationLongitude) {
+            return;
+        }
+        routePending = false;
+
+        JSONObject geometryObj = routeJson.optJSONObject("geometry");
+        JSONArray coordinates = geometryObj != null ? geometryObj.optJSONArray("coordinates") : null;
+        if (coordinates == null || coordinates.length() < 2) {
+            return;
+        }
+
+        int count = coordinates.length();
+        double[] latitudes = new double[count];
+        double[] longitudes = new double[count];
+        double[] cumulative = new double[count];
+        for (int i = 0; i < count; i++) {
+            JSONArray coordinate = coordinates.getJSONArray(i);
+            longitudes[i] = coordinate.getDouble(0);
+            latitudes[i] = coordinate.getDouble(1);
+            if (i > 0) {
+                cumulative[i] = cumulative[i - 1] + RadarCordovaGeo.distance(latitudes[i - 1], longitudes[i - 1], latitudes[i], longitudes[i]);
+            }
+        }
+
+        double total = cumulative[count - 1];
+        JSONObject distanceObj = routeJson.optJSONObject("distance");
+        JSONObject durationObj = routeJson.optJSONObject("duration");
+        double routeDistance = distanceObj != null ? distanceObj.optDouble("value", 0) : 0;
+        double routeDuration = durationObj != null ? durationObj.optDouble("value", 0) : 0;
+
+        routeLatitudes = latitudes;
+        routeLongitudes = longitudes;
+        routeCumulative = cumulative;
+        routeScale = routeDistance > 0 && total > 0 ? routeDistance / total : 1;
+        routePace = routeDistance > 0 && routeDuration > 0 ? routeDuration * 60 / routeDistance : 0;
+        correction = 0;
+
+        project();
+    }
+
+    // returns true if the route should be (re)fetched
+    public synchronized boolean update(Location location, long now) {
+        if (!hasDestination) {
+            return false;
+        }
+
+        hasFix = true;
+        fixLatitude = location.getLatitude();
+        fixLongitude = location.getLongitude();
+        fixSpeed = location.hasSpeed() ? location.getSpeed() : 0;
+        fixTime = now;
+
+        project();
+        return routeLatitudes != null && needsRoute(now);
+    }
+
+    public synchronized JSONObject estimate(long now) throws JSONException {
+        if (!hasDestination || (!hasFix && serverDistance < 0)) {
+            return null;
+        }
+
+        double remaining;
+        boolean interpolated = false;
+        if (hasFix) {
+            remaining = fixRemaining;
+
+            long elapsed = Math.min(now - fixTime, maxExtrapolation);
+            if (fixSpeed > 0 && elapsed > 0) {
+                remaining -= fixSpeed * elapsed / 1000;
+                interpolated = true;
+            }
+
+            if (correction != 0 && correctionBase > 0) {
+                remaining += correction * Math.min(1, Math.max(0, remaining) / correctionBase);
+            }
+            remaining = Math.max(0, remaining);
+        } else {
+            remaining = serverDistance;
+        }
+
+        double pace = serverPace > 0 ? serverPace : routePace > 0 ? routePace : 1 / RadarCordovaApproximateRouter.speedForMode(mode);
+        double seconds = remaining * pace;
+
+        JSONObject etaObj = new JSONObject();
+        etaObj.put("distance", remaining);
+        etaObj.put("duration", seconds / 60);
+
+        JSONObject obj = new JSONObject();
+        obj.put("externalId", externalId);
+        obj.put("status", status);
+        obj.put("mode", RadarCordovaApproximateRouter.keyForMode(mode));
+        obj.put("eta", etaObj);
+        obj.put("arrivalTime", now + Math.round(seconds * 1000));
+        obj.put("source", routeLatitudes != null ? "route" : hasFix ? "geodesic" : "server");
+        obj.put("interpolated", interpolated);
+        if (hasFix && routeLatitudes != null) {
+            obj.put("progress", fixProgress);
+            obj.put("offRoute", fixOffRoute > offRouteDistance);
+            obj.put("offRouteDistance", fixOffRoute);
+        }
+        if (reconciledAt > 0) {
+            obj.put("reconciledAt", reconciledAt);
+        }
+        return obj;
+    }
+
+    private void emit() {
+        Listener listener;
+        JSONObject progress;
+        synchronized (this) {
+            listener = this.listener;
+            if (listener == null) {
+                return;
+            }
+
+            try {
+                progress = estimate(System.currentTimeMillis());
+            } catch (JSONException e) {
+                Log.e("RadarCordovaPlugin", "JSONException", e);
+                return;
+            }
+        }
+
+        if (progress != null) {
+            listener.onProgress(progress);
+        }
+    }
+
+    private void project() {
+        if (!hasFix) {
+            return;
+        }
+
+        if (routeLatitudes == null) {
+            fixRemaining = RadarCordovaGeo.distance(fixLatitude, fixLongitude, destinationLatitude, destinationLongitude)
+                * RadarCordovaApproximateRouter.detourFactorForMode(mode);
+            fixOffRoute = 0;
+            fixProgress = -1;
+        } else {
+            double cosLatitude = Math.cos(Math.toRadians(fixLatitude));
+            double bestDistance = Double.MAX_VALUE;
+            int bestIndex = 0;
+            double bestT = 0;
+            for (int i = 0; i < routeLatitudes.length - 1; i++) {
+                double ax = (routeLongitudes[i] - fixLongitude) * cosLatitude;
+                double ay = routeLatitudes[i] - fixLatitude;
+                double dx = (routeLongitudes[i + 1] - routeLongitudes[i]) * cosLatitude;
+                double dy = routeLatitudes[i + 1] - routeLatitudes[i];
+                double length = dx * dx + dy * dy;
+                double t = length > 0 ? Math.max(0, Math.min(1, -(ax * dx + ay * dy) / length)) : 0;
+                double px = ax + t * dx;
+                double py = ay + t * dy;
+                double distance = px * px + py * py;
+                if (distance < bestDistance) {
+                    bestDistance = distance;
+                    bestIndex = i;
+                    bestT = t;
+                }
+            }
+
+            double total = routeCumulative[routeCumulative.length - 1];
+            double along = routeCumulative[bestIndex] + bestT * (routeCumulative[bestIndex + 1] - routeCumulative[bestIndex]);
+            fixOffRoute = Math.sqrt(bestDistance) * METERS_PER_DEGREE;
+            fixRemaining = (total - along) * routeScale + (fixOffRoute > offRouteDistance ? fixOffRoute : 0);
+            fixProgress = total > 0 ? along / total : 1;
+        }
+    }
+
+}
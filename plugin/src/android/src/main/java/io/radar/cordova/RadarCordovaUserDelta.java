@@ -0,0 +1,75 @@
+package io.radar.cordova;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+public class RadarCordovaUserDelta {
+
+    private final Map<String, String> snapshot = new HashMap<String, String>();
+    private long version;
+    private int sinceKeyframe;
+    private int keyframeInterval = 50;
+    private boolean keyframeRequested = true;
+
+    public synchronized void setKeyframeInterval(int keyframeInterval) {
+        this.keyframeInterval = Math.max(1, keyframeInterval);
+        keyframeRequested = true;
+    }
+
+    public synchronized void requestKeyframe() {
+        keyframeRequested = true;
+    }
+
+    public synchronized JSONObject encode(JSONObject user) throws JSONException {
+        version++;
+
+        JSONObject delta = new JSONObject();
+        delta.put("version", version);
+
+        boolean keyframe = keyframeRequested || ++sinceKeyframe >= keyframeInterval;
+        if (keyframe) {
+            snapshot.clear();
+            Iterator<String> keys = user.keys();
+            while (keys.hasNext()) {
+                String key = keys.next();
+                snapshot.put(key, String.valueOf(user.opt(key)));
+            }
+            keyframeRequested = false;
+            sinceKeyframe = 0;
+
+            delta.put("keyframe", true);
+            delta.put("user", user);
+            return delta;
+        }
+
+        JSONObject set = new JSONObject();
+        Map<String, String> previous = new HashMap<String, String>(snapshot);
+        Iterator<String> keys = user.keys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            Object value = user.opt(key);
+            String valueStr = String.valueOf(value);
+            if (!valueStr.equals(previous.remove(key))) {
+                set.put(key, value);
+            }
+            snapshot.put(key, valueStr);
+        }
+
+        JSONArray unset = new JSONArray();
+        for (String key : previous.keySet()) {
+            snapshot.remove(key);
+            unset.put(key);
+        }
+
+        delta.put("keyframe", false);
+        delta.put("set", set);
+        delta.put("unset", unset);
+        return delta;
+    }
+
+}
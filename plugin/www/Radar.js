@@ -7,8 +7,145 @@ const exec = (action, args, callback) => {
     }, 'Radar', action, args);
 };
 
-const initialize = (publishableKey) => {
-  exec('initialize', [publishableKey]);
+const KIND_LOCATION = 1;
+const KIND_CLIENT_LOCATION = 2;
+const KIND_EVENTS = 3;
+const FLAG_STOPPED = 1;
+const FLAG_USER_DELTA = 2;
+
+const textDecoder = typeof TextDecoder !== 'undefined' ? new TextDecoder('utf-8') : null;
+
+const decodeUtf8 = (bytes) => {
+  if (textDecoder) {
+    return textDecoder.decode(bytes);
+  }
+  let binary = '';
+  for (let i = 0; i < bytes.length; i += 1) {
+    binary += String.fromCharCode(bytes[i]);
+  }
+  return decodeURIComponent(escape(binary));
+};
+
+const defineLazyJson = (obj, key, bytes) => {
+  let value;
+  Object.defineProperty(obj, key, {
+    enumerable: true,
+    get: () => {
+      if (value === undefined) {
+        value = JSON.parse(decodeUtf8(bytes));
+      }
+      return value;
+    },
+  });
+};
+
+const decodeLocation = (view, offset) => {
+  const location = {
+    latitude: view.getFloat64(offset, true),
+    longitude: view.getFloat64(offset + 8, true),
+    accuracy: view.getFloat64(offset + 16, true),
+    timestamp: view.getFloat64(offset + 48, true),
+  };
+  const altitude = view.getFloat64(offset + 24, true);
+  const speed = view.getFloat64(offset + 32, true);
+  const course = view.getFloat64(offset + 40, true);
+  if (!Number.isNaN(altitude)) {
+    location.altitude = altitude;
+  }
+  if (!Number.isNaN(speed)) {
+    location.speed = speed;
+  }
+  if (!Number.isNaN(course)) {
+    location.course = course;
+  }
+  return location;
+};
+
+const decodeRecord = (buffer, offset, length) => {
+  const view = new DataView(buffer, offset, length);
+  const kind = view.getUint8(0);
+  const flags = view.getUint8(1);
+  const update = {};
+
+  if (kind === KIND_EVENTS) {
+    const eventsLength = view.getUint32(10, true);
+    update.cursor = view.getFloat64(2, true);
+    defineLazyJson(update, 'events', new Uint8Array(buffer, offset + 14, eventsLength));
+    defineLazyJson(update, (flags & FLAG_USER_DELTA) !== 0 ? 'userDelta' : 'user', new Uint8Array(buffer, offset + 14 + eventsLength, length - 14 - eventsLength));
+    return update;
+  }
+
+  update.location = decodeLocation(view, 2);
+  const tail = new Uint8Array(buffer, offset + 58, length - 58);
+  if (kind === KIND_LOCATION) {
+    defineLazyJson(update, (flags & FLAG_USER_DELTA) !== 0 ? 'userDelta' : 'user', tail);
+  } else if (kind === KIND_CLIENT_LOCATION) {
+    update.stopped = (flags & FLAG_STOPPED) !== 0;
+    update.source = decodeUtf8(tail);
+  }
+  return update;
+};
+
+const decodeCompact = (buffer) => {
+  const view = new DataView(buffer);
+  const count = view.getUint32(0, true);
+  const updates = [];
+  let offset = 4;
+  for (let i = 0; i < count; i += 1) {
+    const length = view.getUint32(offset, true);
+    updates.push(decodeRecord(buffer, offset + 4, length));
+    offset += 4 + length;
+  }
+  return updates;
+};
+
+const forEachUpdate = (data, deliver) => {
+  if (data instanceof ArrayBuffer) {
+    decodeCompact(data).forEach(deliver);
+  } else if (Array.isArray(data)) {
+    data.forEach(deliver);
+  } else {
+    deliver(data);
+  }
+};
+
+const userDeltaStates = {};
+
+const applyUserDelta = (user, delta) => {
+  const next = Object.assign({}, user, delta.set);
+  delta.unset.forEach((key) => {
+    delete next[key];
+  });
+  return next;
+};
+
+const resolveUser = (channel, update) => {
+  const delta = update.userDelta;
+  if (!delta) {
+    return update.user;
+  }
+
+  const state = userDeltaStates[channel] || (userDeltaStates[channel] = { version: 0, user: undefined, resetting: false });
+  if (delta.keyframe) {
+    state.user = delta.user;
+    state.version = delta.version;
+    state.resetting = false;
+  } else if (state.user && delta.version === state.version + 1) {
+    state.user = applyUserDelta(state.user, delta);
+    state.version = delta.version;
+  } else if (!state.user || delta.version > state.version) {
+    // ask for one keyframe, and until it arrives at least surface the fields this delta carries
+    if (!state.resetting) {
+      state.resetting = true;
+      exec('resetUserDelta', [channel]);
+    }
+    return state.user ? applyUserDelta(state.user, delta) : undefined;
+  }
+  return state.user;
+};
+
+const initialize = (publishableKey, options, callback) => {
+  exec('initialize', options ? [publishableKey, options] : [publishableKey], callback);
 }
 
 const setUserId = (userId) => {
@@ -95,44 +232,67 @@ const getTrackingOptions = (callback) => {
   exec('getTrackingOptions', null, callback);
 }
 
-const onEvents = (callback) => {
-  exec('onEvents', null, (data) => {
-    callback(data.events, data.user);
-  });
+let nextSubscriberId = 1;
+
+const subscribe = (action, options, callback) => {
+  let id = options && options.id;
+  if (!id) {
+    // a bare on*(callback) keeps replacing the previous callback; only filtered subscriptions stack
+    if (!options || Object.keys(options).length === 0) {
+      id = action;
+    } else {
+      id = `${action}-${nextSubscriberId}`;
+      nextSubscriberId += 1;
+    }
+  }
+  exec(action, [Object.assign({}, options, { id })], callback);
+  return id;
 };
 
-const onLocation = (callback) => {
-  exec('onLocation', null, (data) => {
-    callback(data.location, data.user);
+const onEvents = (callback, options) => subscribe('onEvents', options, (data) => {
+  forEachUpdate(data, (update) => {
+    callback(update.events, update.replayed ? update.user : resolveUser('events', update), update.cursor);
   });
+});
+
+const acknowledgeEvents = (cursor) => {
+  exec('acknowledgeEvents', [cursor]);
 };
 
-const onClientLocation = (callback) => {
-  exec('onClientLocation', null, (data) => {
-    callback(data.location, data.stopped, data.source);
+const onLocation = (callback, options) => subscribe('onLocation', options, (data) => {
+  forEachUpdate(data, (update) => {
+    callback(update.location, resolveUser('location', update));
   });
-};
+});
 
-const onError = (callback) => {
-  exec('onError', null, (data) => {
-    callback(data.status);
+const onClientLocation = (callback, options) => subscribe('onClientLocation', options, (data) => {
+  forEachUpdate(data, (update) => {
+    callback(update.location, update.stopped, update.source);
   });
+});
+
+const onError = (callback) => subscribe('onError', null, (data) => {
+  callback(data.status);
+});
+
+const offEvents = (id) => {
+  exec('offEvents', id ? [id] : null);
 };
 
-const offEvents = () => {
-  exec('offEvents');
+const offLocation = (id) => {
+  exec('offLocation', id ? [id] : null);
 };
 
-const offLocation = () => {
-  exec('offLocation');
+const offClientLocation = (id) => {
+  exec('offClientLocation', id ? [id] : null);
 };
 
-const offClientLocation = () => {
-  exec('offClientLocation');
+const offError = (id) => {
+  exec('offError', id ? [id] : null);
 };
 
-const offError = () => {
-  exec('offEvents');
+const getListeners = (callback) => {
+  exec('getListeners', null, callback);
 };
 
 const getTripOptions = (callback) => {
@@ -195,8 +355,16 @@ const getDistance = (options, callback) => {
   exec('getDistance', [options], callback);
 };
 
-const getMatrix = (options, callback) => {
-  exec('getMatrix', [options], callback);
+const getMatrix = (options, callback, onRows) => {
+  exec('getMatrix', [options], (data) => {
+    if (data.partial) {
+      if (onRows) {
+        onRows(data.rows);
+      }
+    } else if (callback) {
+      callback(data);
+    }
+  });
 };
 
 const setForegroundServiceOptions = (args, callback) => {
@@ -211,6 +379,203 @@ const sendEvent = (options, callback) => {
   exec('sendEvent', [options], callback);
 }
 
+const setBatching = (options, callback) => {
+  exec('setBatching', [options], callback);
+};
+
+const setExecutorOptions = (options, callback) => {
+  exec('setExecutorOptions', [options], callback);
+};
+
+const setGeocodeCacheOptions = (options, callback) => {
+  exec('setGeocodeCacheOptions', [options], callback);
+};
+
+const getGeocodeCacheStats = (callback) => {
+  exec('getGeocodeCacheStats', null, callback);
+};
+
+const clearGeocodeCache = (callback) => {
+  exec('clearGeocodeCache', null, callback);
+};
+
+const setSearchCacheOptions = (options, callback) => {
+  exec('setSearchCacheOptions', [options], callback);
+};
+
+const getSearchCacheStats = (callback) => {
+  exec('getSearchCacheStats', null, callback);
+};
+
+const clearSearchCache = (callback) => {
+  exec('clearSearchCache', null, callback);
+};
+
+const getCoalescingStats = (callback) => {
+  exec('getCoalescingStats', null, callback);
+};
+
+const loadGeofences = (options, callback) => {
+  exec('loadGeofences', [options], callback);
+};
+
+const clearGeofences = (callback) => {
+  exec('clearGeofences', null, callback);
+};
+
+const setGeofenceEngineOptions = (options, callback) => {
+  exec('setGeofenceEngineOptions', [options], callback);
+};
+
+const onProvisionalEvents = (callback, options) => subscribe('onProvisionalEvents', options, (data) => {
+  callback(data.events);
+});
+
+const offProvisionalEvents = (id) => {
+  exec('offProvisionalEvents', id ? [id] : null);
+};
+
+const setBridgeEncoding = (encoding, callback) => {
+  exec('setBridgeEncoding', [encoding], callback);
+};
+
+const setUserDelta = (options) => {
+  exec('setUserDelta', [options]);
+};
+
+const setLocationFilter = (options) => {
+  exec('setLocationFilter', [options]);
+};
+
+const getLocationFilterStats = (callback) => {
+  exec('getLocationFilterStats', null, callback);
+};
+
+const setOfflineQueueOptions = (options) => {
+  exec('setOfflineQueueOptions', [options]);
+};
+
+const getOfflineQueueStats = (callback) => {
+  exec('getOfflineQueueStats', null, callback);
+};
+
+const clearOfflineQueue = () => {
+  exec('clearOfflineQueue');
+};
+
+const trackOnceBulk = (options, callback) => {
+  exec('trackOnceBulk', [options], callback);
+};
+
+const setCustomEventBatching = (options) => {
+  exec('setCustomEventBatching', [options]);
+};
+
+const sendEventBatched = (options, callback) => {
+  exec('sendEventBatched', [options], callback);
+};
+
+const flushCustomEvents = () => {
+  exec('flushCustomEvents');
+};
+
+const getCustomEventStats = (callback) => {
+  exec('getCustomEventStats', null, callback);
+};
+
+const stopMockTracking = () => {
+  exec('stopMockTracking');
+};
+
+const onTripProgress = (callback, options) => subscribe('onTripProgress', options, callback);
+
+const offTripProgress = (id) => {
+  exec('offTripProgress', id ? [id] : null);
+};
+
+const setTripProgressOptions = (options) => {
+  exec('setTripProgressOptions', [options]);
+};
+
+const getTripProgress = (callback) => {
+  exec('getTripProgress', null, callback);
+};
+
+const startTrackingAdaptive = (options) => {
+  exec('startTrackingAdaptive', [options]);
+};
+
+const getAdaptiveTrackingState = (callback) => {
+  exec('getAdaptiveTrackingState', null, callback);
+};
+
+const onTrackingTransition = (callback, options) => subscribe('onTrackingTransition', options, callback);
+
+const offTrackingTransition = (id) => {
+  exec('offTrackingTransition', id ? [id] : null);
+};
+
+const getDiagnostics = (callback) => {
+  exec('getDiagnostics', null, callback);
+};
+
+const resetDiagnostics = () => {
+  exec('resetDiagnostics');
+};
+
+const setDiagnosticsOptions = (options) => {
+  exec('setDiagnosticsOptions', [options]);
+};
+
+const setLogOptions = (options) => {
+  exec('setLogOptions', [options]);
+};
+
+const getLogs = (options, callback) => {
+  exec('getLogs', [options || {}], callback);
+};
+
+const clearLogs = () => {
+  exec('clearLogs');
+};
+
+const onLog = (callback, options) => subscribe('onLog', options, (data) => {
+  callback(data.logs);
+});
+
+const offLog = (id) => {
+  exec('offLog', id ? [id] : null);
+};
+
+const ready = (callback) => new Promise((resolve, reject) => {
+  // only the Android plugin implements ready; elsewhere the call would never settle
+  if (cordova.platformId !== 'android') {
+    reject(new Error(`ready is not supported on ${cordova.platformId}`));
+    return;
+  }
+
+  cordova.exec((data) => {
+    if (callback) {
+      callback(data);
+    }
+    resolve(data);
+  }, reject, 'Radar', 'ready', null);
+});
+
+const getStartupMetrics = (callback) => {
+  exec('getStartupMetrics', null, callback);
+};
+
+const getState = (options, callback) => {
+  exec('getState', [options || {}], callback);
+};
+
+const onStateChange = (callback, options) => subscribe('onStateChange', options, callback);
+
+const offStateChange = (id) => {
+  exec('offStateChange', id ? [id] : null);
+};
+
 const Radar = {
   initialize,
   setUserId,
@@ -234,6 +599,7 @@ const Radar = {
   isTracking,
   getTrackingOptions,
   onEvents,
+  acknowledgeEvents,
   onLocation,
   onClientLocation,
   onError,
@@ -241,6 +607,7 @@ const Radar = {
   offLocation,
   offClientLocation,
   offError,
+  getListeners,
   getTripOptions,
   startTrip,
   updateTrip,
@@ -257,7 +624,55 @@ const Radar = {
   getMatrix,
   setForegroundServiceOptions,
   setLogLevel,
-  sendEvent
+  sendEvent,
+  setBatching,
+  setExecutorOptions,
+  setGeocodeCacheOptions,
+  getGeocodeCacheStats,
+  clearGeocodeCache,
+  setSearchCacheOptions,
+  getSearchCacheStats,
+  clearSearchCache,
+  getCoalescingStats,
+  loadGeofences,
+  clearGeofences,
+  setGeofenceEngineOptions,
+  onProvisionalEvents,
+  offProvisionalEvents,
+  setBridgeEncoding,
+  setUserDelta,
+  setLocationFilter,
+  getLocationFilterStats,
+  setOfflineQueueOptions,
+  getOfflineQueueStats,
+  clearOfflineQueue,
+  trackOnceBulk,
+  setCustomEventBatching,
+  sendEventBatched,
+  flushCustomEvents,
+  getCustomEventStats,
+  stopMockTracking,
+  onTripProgress,
+  offTripProgress,
+  setTripProgressOptions,
+  getTripProgress,
+  startTrackingAdaptive,
+  getAdaptiveTrackingState,
+  onTrackingTransition,
+  offTrackingTransition,
+  getDiagnostics,
+  resetDiagnostics,
+  setDiagnosticsOptions,
+  setLogOptions,
+  getLogs,
+  clearLogs,
+  onLog,
+  offLog,
+  ready,
+  getStartupMetrics,
+  getState,
+  onStateChange,
+  offStateChange
 };
 
 module.exports = Radar;
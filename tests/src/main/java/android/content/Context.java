@@ -0,0 +1,18 @@
+package android.content;
+
+import java.io.File;
+
+/**
+ * JVM stand-in for the Android framework class, covering the calls the plugin's pure-Java components make.
+ */
+public abstract class Context {
+
+    public static final String CONNECTIVITY_SERVICE = "connectivity";
+
+    public abstract Context getApplicationContext();
+
+    public abstract File getFilesDir();
+
+    public abstract Object getSystemService(String name);
+
+}
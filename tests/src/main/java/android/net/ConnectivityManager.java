@@ -0,0 +1,25 @@
+package android.net;
+
+/**
+ * JVM stand-in for the Android framework class. Records the default network callback so a test can fire it.
+ */
+public class ConnectivityManager {
+
+    public static class NetworkCallback {
+
+        public void onAvailable(Network network) {
+        }
+
+    }
+
+    private NetworkCallback defaultNetworkCallback;
+
+    public void registerDefaultNetworkCallback(NetworkCallback networkCallback) {
+        this.defaultNetworkCallback = networkCallback;
+    }
+
+    public NetworkCallback getDefaultNetworkCallback() {
+        return defaultNetworkCallback;
+    }
+
+}
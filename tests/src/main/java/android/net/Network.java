@@ -0,0 +1,7 @@
+package android.net;
+
+/**
+ * JVM stand-in for the Android framework class.
+ */
+public class Network {
+}
@@ -0,0 +1,16 @@
+package android.os;
+
+/**
+ * JVM stand-in for the Android framework class.
+ */
+public class Build {
+
+    public static class VERSION {
+        public static final int SDK_INT = 33;
+    }
+
+    public static class VERSION_CODES {
+        public static final int N = 24;
+    }
+
+}
@@ -0,0 +1,12 @@
+package android.os;
+
+/**
+ * JVM stand-in for the Android framework class.
+ */
+public final class SystemClock {
+
+    public static long elapsedRealtime() {
+        return System.nanoTime() / 1000000;
+    }
+
+}
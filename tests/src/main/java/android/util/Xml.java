@@ -0,0 +1,15 @@
+package android.util;
+
+import org.kxml2.io.KXmlParser;
+import org.xmlpull.v1.XmlPullParser;
+
+/**
+ * JVM stand-in for the Android framework class. Android's pull parser is KXml as well.
+ */
+public final class Xml {
+
+    public static XmlPullParser newPullParser() {
+        return new KXmlParser();
+    }
+
+}
@@ -0,0 +1,64 @@
+package io.radar.sdk;
+
+import android.location.Location;
+
+import org.json.JSONObject;
+
+import io.radar.sdk.model.RadarEvent;
+import io.radar.sdk.model.RadarRouteMatrix;
+import io.radar.sdk.model.RadarUser;
+
+/**
+ * JVM stand-in for the Radar SDK entry point. Network calls are answered by a handler the test installs.
+ */
+public class Radar {
+
+    public enum RadarStatus { SUCCESS, ERROR_PUBLISHABLE_KEY, ERROR_PERMISSIONS, ERROR_LOCATION, ERROR_BLUETOOTH, ERROR_NETWORK, ERROR_BAD_REQUEST, ERROR_UNAUTHORIZED, ERROR_PAYMENT_REQUIRED, ERROR_FORBIDDEN, ERROR_NOT_FOUND, ERROR_RATE_LIMIT, ERROR_SERVER, ERROR_UNKNOWN }
+
+    public enum RadarLocationSource { FOREGROUND_LOCATION, BACKGROUND_LOCATION, MANUAL_LOCATION, GEOFENCE_ENTER, GEOFENCE_DWELL, GEOFENCE_EXIT, MOCK_LOCATION, BEACON_ENTER, BEACON_EXIT, UNKNOWN }
+
+    public enum RadarRouteMode { FOOT, BIKE, CAR, TRUCK, MOTORBIKE }
+
+    public enum RadarRouteUnits { METRIC, IMPERIAL }
+
+    public interface RadarMatrixCallback {
+        void onComplete(RadarStatus status, RadarRouteMatrix matrix);
+    }
+
+    public interface RadarTrackCallback {
+        void onComplete(RadarStatus status, Location location, RadarEvent[] events, RadarUser user);
+    }
+
+    public interface RadarSendEventCallback {
+        void onComplete(RadarStatus status, Location location, RadarEvent[] events, RadarUser user);
+    }
+
+    public interface TrackOnceHandler {
+        void trackOnce(Location location, RadarTrackCallback callback);
+    }
+
+    public interface SendEventHandler {
+        void sendEvent(String customType, JSONObject metadata, RadarSendEventCallback callback);
+    }
+
+    public interface MatrixHandler {
+        void getMatrix(Location[] origins, Location[] destinations, RadarRouteMode mode, RadarRouteUnits units, RadarMatrixCallback callback);
+    }
+
+    public static volatile TrackOnceHandler trackOnceHandler;
+    public static volatile SendEventHandler sendEventHandler;
+    public static volatile MatrixHandler matrixHandler;
+
+    public static void trackOnce(Location location, RadarTrackCallback callback) {
+        trackOnceHandler.trackOnce(location, callback);
+    }
+
+    public static void sendEvent(String customType, JSONObject metadata, RadarSendEventCallback callback) {
+        sendEventHandler.sendEvent(customType, metadata, callback);
+    }
+
+    public static void getMatrix(Location[] origins, Location[] destinations, RadarRouteMode mode, RadarRouteUnits units, RadarMatrixCallback callback) {
+        matrixHandler.getMatrix(origins, destinations, mode, units, callback);
+    }
+
+}
@@ -0,0 +1,24 @@
+package io.radar.sdk.model;
+
+/**
+ * JVM stand-in for the SDK model.
+ */
+public class RadarCircleGeometry extends RadarGeofenceGeometry {
+
+    private final RadarCoordinate center;
+    private final double radius;
+
+    public RadarCircleGeometry(RadarCoordinate center, double radius) {
+        this.center = center;
+        this.radius = radius;
+    }
+
+    public RadarCoordinate getCenter() {
+        return center;
+    }
+
+    public double getRadius() {
+        return radius;
+    }
+
+}
@@ -0,0 +1,24 @@
+package io.radar.sdk.model;
+
+/**
+ * JVM stand-in for the SDK model.
+ */
+public class RadarCoordinate {
+
+    private final double latitude;
+    private final double longitude;
+
+    public RadarCoordinate(double latitude, double longitude) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+}
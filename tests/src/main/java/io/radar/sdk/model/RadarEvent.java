@@ -0,0 +1,7 @@
+package io.radar.sdk.model;
+
+/**
+ * JVM stand-in for the SDK model. The queue only passes it through.
+ */
+public class RadarEvent {
+}
@@ -0,0 +1,32 @@
+package io.radar.sdk.model;
+
+import org.json.JSONObject;
+
+/**
+ * JVM stand-in for the SDK model.
+ */
+public class RadarGeofence {
+
+    private final String _id;
+    private final RadarGeofenceGeometry geometry;
+
+    public RadarGeofence(String _id, RadarGeofenceGeometry geometry) {
+        this._id = _id;
+        this.geometry = geometry;
+    }
+
+    public String get_id() {
+        return _id;
+    }
+
+    public RadarGeofenceGeometry getGeometry() {
+        return geometry;
+    }
+
+    public JSONObject toJson() {
+        JSONObject obj = new JSONObject();
+        obj.put("_id", _id);
+        return obj;
+    }
+
+}
@@ -0,0 +1,8 @@
+package io.radar.sdk.model;
+
+/**
+ * JVM stand-in for the SDK model.
+ */
+public abstract class RadarGeofenceGeometry {
+
+}
@@ -0,0 +1,18 @@
+package io.radar.sdk.model;
+
+/**
+ * JVM stand-in for the SDK model.
+ */
+public class RadarPolygonGeometry extends RadarGeofenceGeometry {
+
+    private final RadarCoordinate[] coordinates;
+
+    public RadarPolygonGeometry(RadarCoordinate[] coordinates) {
+        this.coordinates = coordinates;
+    }
+
+    public RadarCoordinate[] getCoordinates() {
+        return coordinates;
+    }
+
+}
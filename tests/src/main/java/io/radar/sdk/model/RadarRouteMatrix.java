@@ -0,0 +1,20 @@
+package io.radar.sdk.model;
+
+import org.json.JSONArray;
+
+/**
+ * JVM stand-in for the SDK model. Wraps the rows a test hands back from a matrix request.
+ */
+public class RadarRouteMatrix {
+
+    private final JSONArray rows;
+
+    public RadarRouteMatrix(JSONArray rows) {
+        this.rows = rows;
+    }
+
+    public JSONArray toJson() {
+        return new JSONArray(rows.toString());
+    }
+
+}
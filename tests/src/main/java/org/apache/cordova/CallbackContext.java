@@ -0,0 +1,38 @@
+package org.apache.cordova;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JVM stand-in for the Cordova class. Records every result it is sent instead of posting it to a WebView.
+ */
+public class CallbackContext {
+
+    private final String callbackId;
+    private final List<PluginResult> results = new ArrayList<PluginResult>();
+    private boolean finished;
+
+    public CallbackContext(String callbackId, CordovaWebView webView) {
+        this.callbackId = callbackId;
+    }
+
+    public String getCallbackId() {
+        return callbackId;
+    }
+
+    public synchronized boolean isFinished() {
+        return finished;
+    }
+
+    public synchronized void sendPluginResult(PluginResult pluginResult) {
+        results.add(pluginResult);
+        if (!pluginResult.getKeepCallback()) {
+            finished = true;
+        }
+    }
+
+    public synchronized List<PluginResult> getResults() {
+        return new ArrayList<PluginResult>(results);
+    }
+
+}
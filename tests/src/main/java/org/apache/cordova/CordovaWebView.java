@@ -0,0 +1,8 @@
+package org.apache.cordova;
+
+/**
+ * JVM stand-in for the Cordova interface. The plugin classes under test only pass it through.
+ */
+public interface CordovaWebView {
+
+}
@@ -0,0 +1,94 @@
+package org.apache.cordova;
+
+import java.util.Base64;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * JVM stand-in for the Cordova class. Encodes messages the way Cordova does, and keeps the original
+ * value so tests can inspect it.
+ */
+public class PluginResult {
+
+    public enum Status { NO_RESULT, OK, CLASS_NOT_FOUND_EXCEPTION, ILLEGAL_ACCESS_EXCEPTION, INSTANTIATION_EXCEPTION, MALFORMED_URL_EXCEPTION, IO_EXCEPTION, INVALID_ACTION, JSON_EXCEPTION, ERROR }
+
+    public static final int MESSAGE_TYPE_STRING = 1;
+    public static final int MESSAGE_TYPE_JSON = 2;
+    public static final int MESSAGE_TYPE_NUMBER = 3;
+    public static final int MESSAGE_TYPE_BOOLEAN = 4;
+    public static final int MESSAGE_TYPE_NULL = 5;
+    public static final int MESSAGE_TYPE_ARRAYBUFFER = 6;
+    public static final int MESSAGE_TYPE_BINARYSTRING = 7;
+    public static final int MESSAGE_TYPE_MULTIPART = 8;
+
+    private final int status;
+    private final int messageType;
+    private final String encodedMessage;
+    private final Object value;
+    private boolean keepCallback;
+
+    public PluginResult(Status status) {
+        this(status, status.name());
+    }
+
+    public PluginResult(Status status, String message) {
+        this(status, message == null ? MESSAGE_TYPE_NULL : MESSAGE_TYPE_STRING, message == null ? "null" : JSONObject.quote(message), message);
+    }
+
+    public PluginResult(Status status, JSONArray message) {
+        this(status, MESSAGE_TYPE_JSON, message.toString(), message);
+    }
+
+    public PluginResult(Status status, JSONObject message) {
+        this(status, message == null ? MESSAGE_TYPE_NULL : MESSAGE_TYPE_JSON, message == null ? "null" : message.toString(), message);
+    }
+
+    public PluginResult(Status status, int message) {
+        this(status, MESSAGE_TYPE_NUMBER, Integer.toString(message), message);
+    }
+
+    public PluginResult(Status status, float message) {
+        this(status, MESSAGE_TYPE_NUMBER, Float.toString(message), message);
+    }
+
+    public PluginResult(Status status, boolean message) {
+        this(status, MESSAGE_TYPE_BOOLEAN, Boolean.toString(message), message);
+    }
+
+    public PluginResult(Status status, byte[] data) {
+        this(status, MESSAGE_TYPE_ARRAYBUFFER, Base64.getEncoder().encodeToString(data), data);
+    }
+
+    private PluginResult(Status status, int messageType, String encodedMessage, Object value) {
+        this.status = status.ordinal();
+        this.messageType = messageType;
+        this.encodedMessage = encodedMessage;
+        this.value = value;
+    }
+
+    public void setKeepCallback(boolean keepCallback) {
+        this.keepCallback = keepCallback;
+    }
+
+    public boolean getKeepCallback() {
+        return keepCallback;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public int getMessageType() {
+        return messageType;
+    }
+
+    public String getMessage() {
+        return encodedMessage;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+}
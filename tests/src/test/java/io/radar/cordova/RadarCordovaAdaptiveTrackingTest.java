@@ -0,0 +1,151 @@
+package io.radar.cordova;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import android.location.Location;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RadarCordovaAdaptiveTrackingTest {
+
+    private final List<Runnable> queued = new ArrayList<Runnable>();
+    private final List<JSONObject> transitions = new ArrayList<JSONObject>();
+    private final RadarCordovaAdaptiveTracking.Listener listener = new RadarCordovaAdaptiveTracking.Listener() {
+        @Override
+        public void onTransition(RadarCordovaAdaptiveTracking.Tier tier, JSONObject transition) {
+            transitions.add(transition);
+        }
+    };
+
+    private RadarCordovaAdaptiveTracking tracking;
+    private long now;
+
+    @Before
+    public void setUp() throws Exception {
+        tracking = new RadarCordovaAdaptiveTracking(queued::add);
+        tracking.setOptions(new JSONObject("{\"minSwitchInterval\":0,\"downgradeDelay\":60000}"));
+        now = System.currentTimeMillis();
+    }
+
+    @Test
+    public void arrivingUpgradesImmediately() throws Exception {
+        tracking.start(RadarCordovaAdaptiveTracking.Tier.RESPONSIVE, listener);
+
+        tracking.evaluate(location(-1), false, 100, now);
+        runQueued();
+
+        assertEquals(1, transitions.size());
+        assertEquals("continuous", transitions.get(0).getString("to"));
+        assertEquals("arriving", transitions.get(0).getString("reason"));
+        assertEquals("continuous", tracking.getState().getString("tier"));
+    }
+
+    @Test
+    public void downgradeWaitsForDelayAndHysteresis() throws Exception {
+        tracking.start(RadarCordovaAdaptiveTracking.Tier.CONTINUOUS, listener);
+
+        // just outside nearDistance, but inside the hysteresis margin
+        tracking.evaluate(location(-1), false, 220, now);
+        assertEquals(JSONObject.NULL, tracking.getState().get("pendingTier"));
+
+        tracking.evaluate(location(-1), false, 5000, now);
+        assertEquals("efficient", tracking.getState().getString("pendingTier"));
+
+        tracking.evaluate(location(-1), false, 5000, now + 59999);
+        runQueued();
+        assertEquals(0, transitions.size());
+
+        tracking.evaluate(location(-1), false, 5000, now + 60000);
+        runQueued();
+        assertEquals(1, transitions.size());
+        assertEquals("stationary", transitions.get(0).getString("reason"));
+    }
+
+    @Test
+    public void minSwitchIntervalSuppressesSwitches() throws Exception {
+        tracking.setOptions(new JSONObject("{\"minSwitchInterval\":30000}"));
+        tracking.start(RadarCordovaAdaptiveTracking.Tier.RESPONSIVE, listener);
+
+        tracking.evaluate(location(-1), false, 100, now);
+        runQueued();
+        assertEquals(0, transitions.size());
+        assertEquals(1, tracking.getState().getLong("suppressed"));
+
+        tracking.evaluate(location(-1), false, 100, now + 31000);
+        runQueued();
+        assertEquals(1, transitions.size());
+    }
+
+    @Test
+    public void criticalBatteryForcesEfficient() throws Exception {
+        tracking.start(RadarCordovaAdaptiveTracking.Tier.CONTINUOUS, listener);
+        tracking.updateBattery(0.05, false);
+
+        tracking.evaluate(location(5), false, 100, now);
+        tracking.evaluate(location(5), false, 100, now + 60000);
+        runQueued();
+
+        assertEquals(1, transitions.size());
+        assertEquals("efficient", transitions.get(0).getString("to"));
+        assertEquals("battery_critical", transitions.get(0).getString("reason"));
+    }
+
+    @Test
+    public void speedIsSmoothedIntoMoving() throws Exception {
+        tracking.start(RadarCordovaAdaptiveTracking.Tier.EFFICIENT, listener);
+
+        tracking.evaluate(location(10), false, Double.POSITIVE_INFINITY, now);
+        runQueued();
+
+        assertEquals(1, transitions.size());
+        assertEquals("moving", transitions.get(0).getString("reason"));
+        assertEquals(10, transitions.get(0).getDouble("speed"), 0);
+    }
+
+    @Test
+    public void stopDropsQueuedSwitch() throws Exception {
+        tracking.start(RadarCordovaAdaptiveTracking.Tier.RESPONSIVE, listener);
+
+        tracking.evaluate(location(-1), false, 100, now);
+        tracking.stop();
+        runQueued();
+
+        assertEquals(0, transitions.size());
+        assertFalse(tracking.isStarted());
+    }
+
+    @Test
+    public void restartDropsSwitchFromPreviousSession() throws Exception {
+        tracking.start(RadarCordovaAdaptiveTracking.Tier.RESPONSIVE, listener);
+        tracking.evaluate(location(-1), false, 100, now);
+
+        tracking.start(RadarCordovaAdaptiveTracking.Tier.CONTINUOUS, listener);
+        runQueued();
+
+        assertEquals(0, transitions.size());
+    }
+
+    private void runQueued() {
+        for (Runnable runnable : new ArrayList<Runnable>(queued)) {
+            runnable.run();
+        }
+        queued.clear();
+    }
+
+    private static Location location(float speed) {
+        Location location = new Location("test");
+        location.setLatitude(40.7128);
+        location.setLongitude(-74.006);
+        if (speed >= 0) {
+            location.setSpeed(speed);
+        }
+        return location;
+    }
+
+}
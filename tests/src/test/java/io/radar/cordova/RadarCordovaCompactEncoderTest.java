@@ -0,0 +1,100 @@
+package io.radar.cordova;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.location.Location;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class RadarCordovaCompactEncoderTest {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    @Test
+    public void encodeLocationWritesHeaderFieldsAndUser() {
+        Location location = new Location("test");
+        location.setLatitude(40.7128);
+        location.setLongitude(-74.006);
+        location.setAccuracy(5);
+        location.setTime(1700000000000L);
+
+        ByteBuffer buffer = wrap(RadarCordovaCompactEncoder.encodeLocation(location, "{\"_id\":\"é\"}", true));
+
+        assertEquals(RadarCordovaCompactEncoder.KIND_LOCATION, buffer.get());
+        assertEquals(RadarCordovaCompactEncoder.FLAG_USER_DELTA, buffer.get());
+        assertEquals(40.7128, buffer.getDouble(), 0);
+        assertEquals(-74.006, buffer.getDouble(), 0);
+        assertEquals(5, buffer.getDouble(), 0);
+        assertTrue(Double.isNaN(buffer.getDouble()));
+        assertTrue(Double.isNaN(buffer.getDouble()));
+        assertTrue(Double.isNaN(buffer.getDouble()));
+        assertEquals(1700000000000.0, buffer.getDouble(), 0);
+        assertEquals("{\"_id\":\"é\"}", remaining(buffer));
+    }
+
+    @Test
+    public void encodeClientLocationCarriesStoppedAndSource() {
+        Location location = new Location("test");
+        location.setSpeed(3);
+
+        ByteBuffer buffer = wrap(RadarCordovaCompactEncoder.encodeClientLocation(location, true, "FOREGROUND_LOCATION"));
+
+        assertEquals(RadarCordovaCompactEncoder.KIND_CLIENT_LOCATION, buffer.get());
+        assertEquals(RadarCordovaCompactEncoder.FLAG_STOPPED, buffer.get());
+        buffer.position(2 + 4 * 8);
+        assertEquals(3, buffer.getDouble(), 0);
+        buffer.position(2 + 7 * 8);
+        assertEquals("FOREGROUND_LOCATION", remaining(buffer));
+    }
+
+    @Test
+    public void encodeEventsSplitsEventsFromUser() {
+        ByteBuffer buffer = wrap(RadarCordovaCompactEncoder.encodeEvents(42, "[{}]", "{}", false));
+
+        assertEquals(RadarCordovaCompactEncoder.KIND_EVENTS, buffer.get());
+        assertEquals(0, buffer.get());
+        assertEquals(42, buffer.getDouble(), 0);
+        int eventsLength = buffer.getInt();
+        byte[] events = new byte[eventsLength];
+        buffer.get(events);
+        assertEquals("[{}]", new String(events, UTF_8));
+        assertEquals("{}", remaining(buffer));
+    }
+
+    @Test
+    public void frameWritesCountAndLengthPrefixes() {
+        byte[] a = { 1, 2, 3 };
+        byte[] b = { 4 };
+
+        ByteBuffer buffer = wrap(RadarCordovaCompactEncoder.frame(Arrays.asList(a, b)));
+
+        assertEquals(2, buffer.getInt());
+        assertEquals(3, buffer.getInt());
+        byte[] first = new byte[3];
+        buffer.get(first);
+        assertArrayEquals(a, first);
+        assertEquals(1, buffer.getInt());
+        assertEquals(4, buffer.get());
+        assertEquals(0, buffer.remaining());
+
+        assertArrayEquals(RadarCordovaCompactEncoder.frame(Arrays.asList(a)), RadarCordovaCompactEncoder.frame(a));
+    }
+
+    private static ByteBuffer wrap(byte[] bytes) {
+        return ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static String remaining(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+}
@@ -0,0 +1,69 @@
+package io.radar.cordova;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.cordova.CallbackContext;
+import org.apache.cordova.PluginResult;
+import org.json.JSONObject;
+import org.junit.Test;
+
+public class RadarCordovaDiagnosticsTest {
+
+    private final RadarCordovaDiagnostics diagnostics = new RadarCordovaDiagnostics();
+
+    @Test
+    public void disabledByDefault() throws Exception {
+        assertFalse(diagnostics.isEnabled());
+
+        diagnostics.recordDrop("location", "throttled");
+        assertEquals(0, diagnostics.toJson().getJSONObject("receiver").length());
+    }
+
+    @Test
+    public void payloadBytesCountsUtf8() {
+        assertEquals(7, RadarCordovaInstrumentedCallbackContext.payloadBytes(new PluginResult(PluginResult.Status.OK, "café")));
+        assertEquals(4, RadarCordovaInstrumentedCallbackContext.utf8Length("📍"));
+    }
+
+    @Test
+    public void payloadBytesCountsDecodedBinary() {
+        for (int length = 0; length < 6; length++) {
+            PluginResult pluginResult = new PluginResult(PluginResult.Status.OK, new byte[length]);
+            assertEquals(length, RadarCordovaInstrumentedCallbackContext.payloadBytes(pluginResult));
+        }
+    }
+
+    @Test
+    public void firstResultCompletesTheCall() throws Exception {
+        CallbackContext delegate = new CallbackContext("1", null);
+        RadarCordovaInstrumentedCallbackContext callbackContext = new RadarCordovaInstrumentedCallbackContext("getLocation", delegate, null, diagnostics);
+
+        PluginResult progress = new PluginResult(PluginResult.Status.OK, "a");
+        progress.setKeepCallback(true);
+        callbackContext.sendPluginResult(progress);
+        callbackContext.sendPluginResult(new PluginResult(PluginResult.Status.ERROR, "b"));
+
+        JSONObject stats = diagnostics.toJson().getJSONObject("actions").getJSONObject("getLocation");
+        assertEquals(1, stats.getLong("calls"));
+        assertEquals(1, stats.getLong("completed"));
+        assertEquals(0, stats.getLong("inFlight"));
+        assertEquals(1, stats.getLong("errors"));
+        assertEquals(2, stats.getJSONObject("payload").getLong("messages"));
+        assertTrue(delegate.isFinished());
+    }
+
+    @Test
+    public void subscriptionsAreNotInFlight() throws Exception {
+        new RadarCordovaInstrumentedCallbackContext("onLocation", new CallbackContext("1", null), null, diagnostics);
+        RadarCordovaInstrumentedCallbackContext unhandled = new RadarCordovaInstrumentedCallbackContext("getUserId", new CallbackContext("2", null), null, diagnostics);
+        unhandled.recordUnhandled();
+
+        JSONObject actions = diagnostics.toJson().getJSONObject("actions");
+        assertEquals(0, actions.getJSONObject("onLocation").getLong("inFlight"));
+        assertEquals(0, actions.getJSONObject("getUserId").getLong("inFlight"));
+        assertEquals(1, actions.getJSONObject("getUserId").getLong("unhandled"));
+    }
+
+}
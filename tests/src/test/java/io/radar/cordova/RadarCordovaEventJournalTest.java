@@ -0,0 +1,158 @@
+package io.radar.cordova;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RadarCordovaEventJournalTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void appendAssignsIncreasingSequenceNumbers() throws Exception {
+        RadarCordovaEventJournal journal = new RadarCordovaEventJournal(folder.newFolder("journal"));
+
+        assertEquals(1, journal.append(new JSONArray().put("a"), new JSONObject()));
+        assertEquals(2, journal.append(new JSONArray().put("b"), new JSONObject()));
+        assertEquals(2, journal.pendingCount());
+
+        List<JSONObject> records = journal.readUnacknowledged();
+        assertEquals(2, records.size());
+        assertEquals("a", records.get(0).getJSONArray("events").getString(0));
+        assertEquals(2, records.get(1).getLong("seq"));
+    }
+
+    @Test
+    public void acknowledgeHidesRecordsAndSurvivesReopening() throws Exception {
+        File dir = folder.newFolder("journal");
+        RadarCordovaEventJournal journal = new RadarCordovaEventJournal(dir);
+        for (int i = 0; i < 3; i++) {
+            journal.append(new JSONArray(), new JSONObject());
+        }
+
+        journal.acknowledge(2);
+        assertEquals(1, journal.pendingCount());
+
+        RadarCordovaEventJournal reopened = new RadarCordovaEventJournal(dir);
+        assertEquals(1, reopened.pendingCount());
+        assertEquals(3, reopened.readUnacknowledged().get(0).getLong("seq"));
+        assertEquals(4, reopened.append(new JSONArray(), new JSONObject()));
+    }
+
+    @Test
+    public void acknowledgeNeverMovesPastTheLastRecord() throws Exception {
+        RadarCordovaEventJournal journal = new RadarCordovaEventJournal(folder.newFolder("journal"));
+        journal.append(new JSONArray(), new JSONObject());
+
+        journal.acknowledge(10);
+        assertEquals(0, journal.pendingCount());
+        assertEquals(2, journal.append(new JSONArray(), new JSONObject()));
+        assertEquals(1, journal.pendingCount());
+    }
+
+    @Test
+    public void readUnacknowledgedHonoursLimit() throws Exception {
+        RadarCordovaEventJournal journal = new RadarCordovaEventJournal(folder.newFolder("journal"));
+        for (int i = 0; i < 5; i++) {
+            journal.append(new JSONArray(), new JSONObject());
+        }
+
+        assertEquals(2, journal.readUnacknowledged(2).size());
+    }
+
+    @Test
+    public void tornRecordsAreSkipped() throws Exception {
+        File dir = folder.newFolder("journal");
+        RadarCordovaEventJournal journal = new RadarCordovaEventJournal(dir);
+        journal.append(new JSONArray(), new JSONObject());
+
+        File segment = dir.listFiles((d, name) -> name.endsWith(".jsonl"))[0];
+        FileOutputStream out = new FileOutputStream(segment, true);
+        out.write("{\"seq\":2,\"ev".getBytes("UTF-8"));
+        out.close();
+
+        RadarCordovaEventJournal reopened = new RadarCordovaEventJournal(dir);
+        assertEquals(1, reopened.readUnacknowledged().size());
+    }
+
+    @Test
+    public void appendAfterTornRecordIsReadBack() throws Exception {
+        File dir = folder.newFolder("journal");
+        RadarCordovaEventJournal journal = new RadarCordovaEventJournal(dir);
+        journal.append(new JSONArray().put("a"), new JSONObject());
+
+        File segment = dir.listFiles((d, name) -> name.endsWith(".jsonl"))[0];
+        FileOutputStream out = new FileOutputStream(segment, true);
+        out.write("{\"seq\":2,\"ev".getBytes("UTF-8"));
+        out.close();
+
+        RadarCordovaEventJournal reopened = new RadarCordovaEventJournal(dir);
+        assertEquals(2, reopened.append(new JSONArray().put("b"), new JSONObject()));
+
+        List<JSONObject> records = new RadarCordovaEventJournal(dir).readUnacknowledged();
+        assertEquals(2, records.size());
+        assertEquals("b", records.get(1).getJSONArray("events").getString(0));
+    }
+
+    @Test
+    public void syncsAreDeferredAndCoalesced() throws Exception {
+        List<Runnable> queued = new ArrayList<Runnable>();
+        RadarCordovaEventJournal journal = new RadarCordovaEventJournal(folder.newFolder("journal"), 1024 * 1024, queued::add);
+
+        journal.append(new JSONArray(), new JSONObject());
+        journal.append(new JSONArray(), new JSONObject());
+        assertEquals(1, queued.size());
+
+        queued.remove(0).run();
+        journal.append(new JSONArray(), new JSONObject());
+        assertEquals(1, queued.size());
+        assertEquals(3, journal.readUnacknowledged().size());
+    }
+
+    @Test
+    public void appendReportsFailureWhenTheRecordCannotBeWritten() throws Exception {
+        File dir = folder.newFolder("journal");
+        RadarCordovaEventJournal journal = new RadarCordovaEventJournal(dir);
+        journal.append(new JSONArray(), new JSONObject());
+
+        replaceWithFile(dir);
+
+        assertEquals(-1, journal.append(new JSONArray(), new JSONObject()));
+        assertEquals(1, journal.pendingCount());
+    }
+
+    @Test
+    public void fullJournalDropsTheOldestSegment() throws Exception {
+        RadarCordovaEventJournal journal = new RadarCordovaEventJournal(folder.newFolder("journal"), 96 * 1024);
+        String padding = new String(new char[1000]).replace('\0', 'x');
+        for (int i = 0; i < 200; i++) {
+            journal.append(new JSONArray().put(padding), new JSONObject());
+        }
+
+        List<JSONObject> records = journal.readUnacknowledged();
+        assertTrue(records.get(0).getLong("seq") > 1);
+        assertEquals(200, records.get(records.size() - 1).getLong("seq"));
+        assertEquals(records.size(), journal.pendingCount());
+    }
+
+    private static void replaceWithFile(File dir) throws IOException {
+        for (File file : dir.listFiles()) {
+            assertTrue(file.delete());
+        }
+        assertTrue(dir.delete());
+        assertTrue(dir.createNewFile());
+    }
+
+}
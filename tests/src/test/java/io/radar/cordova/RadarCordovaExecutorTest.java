@@ -0,0 +1,120 @@
+package io.radar.cordova;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class RadarCordovaExecutorTest {
+
+    private final RadarCordovaExecutor executor = new RadarCordovaExecutor();
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void unknownActionsRunInline() {
+        assertEquals(RadarCordovaExecutor.Policy.INLINE, executor.policyForAction("someAction"));
+
+        executor.setPolicy("someAction", RadarCordovaExecutor.Policy.POOLED);
+        assertEquals(RadarCordovaExecutor.Policy.POOLED, executor.policyForAction("someAction"));
+    }
+
+    @Test
+    public void submitRejectsBeyondMaxQueueDepth() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        executor.setMaxQueueDepth(2);
+
+        assertTrue(executor.submit(RadarCordovaExecutor.Policy.SERIAL, block(release)));
+        awaitDepth(0);
+        assertTrue(executor.submit(RadarCordovaExecutor.Policy.SERIAL, noop()));
+        assertTrue(executor.submit(RadarCordovaExecutor.Policy.SERIAL, noop()));
+        assertFalse(executor.submit(RadarCordovaExecutor.Policy.SERIAL, noop()));
+        assertEquals(2, executor.getSerialQueueDepth());
+
+        release.countDown();
+        awaitDepth(0);
+    }
+
+    @Test
+    public void changingMaxQueueDepthKeepsSerialOrder() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        final List<Integer> order = Collections.synchronizedList(new ArrayList<Integer>());
+
+        executor.submit(RadarCordovaExecutor.Policy.SERIAL, block(release));
+        for (int i = 0; i < 5; i++) {
+            final int n = i;
+            if (i == 2) {
+                executor.setMaxQueueDepth(128);
+            }
+            executor.submit(RadarCordovaExecutor.Policy.SERIAL, new Runnable() {
+                @Override
+                public void run() {
+                    order.add(n);
+                }
+            });
+        }
+
+        CountDownLatch done = new CountDownLatch(1);
+        executor.submit(RadarCordovaExecutor.Policy.SERIAL, release(done));
+
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), order);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setMaxQueueDepthRejectsZero() {
+        executor.setMaxQueueDepth(0);
+    }
+
+    private void awaitDepth(int depth) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (executor.getSerialQueueDepth() != depth && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(depth, executor.getSerialQueueDepth());
+    }
+
+    private static Runnable block(final CountDownLatch latch) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    latch.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+    }
+
+    private static Runnable release(final CountDownLatch latch) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        };
+    }
+
+    private static Runnable noop() {
+        return new Runnable() {
+            @Override
+            public void run() {
+            }
+        };
+    }
+
+}
@@ -0,0 +1,28 @@
+package io.radar.cordova;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class RadarCordovaGeoTest {
+
+    @Test
+    public void geohashMatchesReferenceValue() {
+        assertEquals("u4pruydqqvj", RadarCordovaGeo.geohash(57.64911, 10.40744, 11));
+        assertEquals("u4pru", RadarCordovaGeo.geohash(57.64911, 10.40744, 5));
+    }
+
+    @Test
+    public void geohashOfNearbyPointsSharesPrefix() {
+        String a = RadarCordovaGeo.geohash(40.7128, -74.0060, 6);
+        String b = RadarCordovaGeo.geohash(40.71281, -74.00601, 6);
+        assertEquals(a, b);
+    }
+
+    @Test
+    public void distanceOfOneDegreeOfLatitude() {
+        assertEquals(111195, RadarCordovaGeo.distance(0, 0, 1, 0), 1);
+        assertEquals(0, RadarCordovaGeo.distance(40.7128, -74.0060, 40.7128, -74.0060), 1e-9);
+    }
+
+}
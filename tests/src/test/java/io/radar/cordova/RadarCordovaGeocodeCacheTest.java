@@ -0,0 +1,83 @@
+package io.radar.cordova;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.json.JSONObject;
+import org.junit.Test;
+
+public class RadarCordovaGeocodeCacheTest {
+
+    private final RadarCordovaGeocodeCache cache = new RadarCordovaGeocodeCache();
+
+    @Test
+    public void getReturnsWhatWasPutAndCountsHitsAndMisses() throws Exception {
+        JSONObject result = new JSONObject().put("status", "SUCCESS");
+        String key = cache.geocodeKey("20 Jay St");
+
+        assertNull(cache.get(key));
+        cache.put(key, result);
+        assertSame(result, cache.get(key));
+
+        JSONObject stats = cache.getStats();
+        assertEquals(1, stats.getLong("hits"));
+        assertEquals(1, stats.getLong("misses"));
+        assertEquals(1, stats.getInt("size"));
+    }
+
+    @Test
+    public void geocodeKeyIgnoresCaseAndWhitespace() {
+        assertEquals(cache.geocodeKey("20 Jay St"), cache.geocodeKey("  20   jay st "));
+    }
+
+    @Test
+    public void reverseGeocodeKeyBucketsByPrecision() {
+        cache.setOptions(256, 60000, 5);
+        assertEquals(cache.reverseGeocodeKey(40.7128, -74.0060), cache.reverseGeocodeKey(40.7130, -74.0062));
+
+        cache.setOptions(256, 60000, 9);
+        assertNotEquals(cache.reverseGeocodeKey(40.7128, -74.0060), cache.reverseGeocodeKey(40.7130, -74.0062));
+    }
+
+    @Test
+    public void autocompleteKeyIncludesFilters() {
+        String a = cache.autocompleteKey("coffee", 40.7, -74.0, true, new String[] { "place" }, 10, "US");
+        String b = cache.autocompleteKey("coffee", 40.7, -74.0, true, new String[] { "place" }, 5, "US");
+        String c = cache.autocompleteKey("Coffee ", 40.7, -74.0, true, new String[] { "place" }, 10, "us");
+        assertNotEquals(a, b);
+        assertEquals(a, c);
+    }
+
+    @Test
+    public void leastRecentlyUsedEntryIsEvicted() throws Exception {
+        cache.setOptions(2, 60000, 8);
+        cache.put("a", new JSONObject());
+        cache.put("b", new JSONObject());
+        cache.get("a");
+        cache.put("c", new JSONObject());
+
+        assertNull(cache.get("b"));
+        assertEquals(2, cache.getStats().getInt("size"));
+    }
+
+    @Test
+    public void expiredEntriesMiss() throws Exception {
+        cache.setOptions(256, 1, 8);
+        cache.put("a", new JSONObject());
+        Thread.sleep(10);
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.getStats().getInt("size"));
+    }
+
+    @Test
+    public void disabledCacheStoresNothing() throws Exception {
+        cache.setOptions(0, 60000, 8);
+        cache.put("a", new JSONObject());
+
+        assertNull(cache.get("a"));
+    }
+
+}
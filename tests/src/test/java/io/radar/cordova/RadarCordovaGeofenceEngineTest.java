@@ -0,0 +1,128 @@
+package io.radar.cordova;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import io.radar.sdk.model.RadarCircleGeometry;
+import io.radar.sdk.model.RadarCoordinate;
+import io.radar.sdk.model.RadarGeofence;
+import io.radar.sdk.model.RadarPolygonGeometry;
+
+public class RadarCordovaGeofenceEngineTest {
+
+    private static final double LATITUDE = 40.7128;
+    private static final double LONGITUDE = -74.0060;
+    // roughly 111 m of latitude
+    private static final double STEP = 0.001;
+
+    private final RadarCordovaGeofenceEngine engine = new RadarCordovaGeofenceEngine();
+
+    @Test
+    public void entersOnceAndExitsPastHysteresis() throws Exception {
+        engine.addGeofences(new JSONArray().put(circle("office", 100)));
+
+        JSONArray events = evaluate(LATITUDE, 10);
+        assertEquals(1, events.length());
+        assertEquals("user.entered_geofence", events.getJSONObject(0).getString("type"));
+        assertEquals("office", events.getJSONObject(0).getJSONObject("geofence").getString("_id"));
+        assertTrue(events.getJSONObject(0).getBoolean("provisional"));
+
+        assertEquals(0, evaluate(LATITUDE + 0.5 * STEP, 10).length());
+        // 111 m from the center is outside the radius but within the 25 m hysteresis band
+        assertEquals(0, evaluate(LATITUDE + STEP, 10).length());
+
+        events = evaluate(LATITUDE + 2 * STEP, 10);
+        assertEquals(1, events.length());
+        assertEquals("user.exited_geofence", events.getJSONObject(0).getString("type"));
+    }
+
+    @Test
+    public void confirmationsRequireConsecutiveFixes() throws Exception {
+        engine.setOptions(25, 2, 100);
+        engine.addGeofences(new JSONArray().put(circle("office", 100)));
+
+        assertEquals(0, evaluate(LATITUDE, 10).length());
+        assertEquals(0, evaluate(LATITUDE + 3 * STEP, 10).length());
+        assertEquals(0, evaluate(LATITUDE, 10).length());
+        assertEquals(1, evaluate(LATITUDE, 10).length());
+    }
+
+    @Test
+    public void inaccurateFixesAreIgnored() throws Exception {
+        engine.addGeofences(new JSONArray().put(circle("office", 100)));
+
+        assertEquals(0, evaluate(LATITUDE, 500).length());
+        assertEquals(1, evaluate(LATITUDE, 10).length());
+    }
+
+    @Test
+    public void polygonContainment() throws Exception {
+        JSONArray ring = new JSONArray()
+            .put(new JSONArray().put(LONGITUDE - STEP).put(LATITUDE - STEP))
+            .put(new JSONArray().put(LONGITUDE + STEP).put(LATITUDE - STEP))
+            .put(new JSONArray().put(LONGITUDE + STEP).put(LATITUDE + STEP))
+            .put(new JSONArray().put(LONGITUDE - STEP).put(LATITUDE + STEP))
+            .put(new JSONArray().put(LONGITUDE - STEP).put(LATITUDE - STEP));
+        JSONObject geofence = new JSONObject()
+            .put("_id", "block")
+            .put("geometry", new JSONObject().put("type", "Polygon").put("coordinates", new JSONArray().put(ring)));
+        engine.addGeofences(new JSONArray().put(geofence));
+
+        assertEquals(0, evaluate(LATITUDE + 2 * STEP, 10).length());
+        assertEquals(1, evaluate(LATITUDE, 10).length());
+        assertEquals(0, engine.nearestDistance(LATITUDE, LONGITUDE), 0);
+        assertEquals(111, engine.nearestDistance(LATITUDE + 2 * STEP, LONGITUDE), 2);
+    }
+
+    @Test
+    public void sdkGeofencesAreIndexed() throws Exception {
+        RadarCoordinate[] square = {
+            new RadarCoordinate(LATITUDE - STEP, LONGITUDE - STEP),
+            new RadarCoordinate(LATITUDE - STEP, LONGITUDE + STEP),
+            new RadarCoordinate(LATITUDE + STEP, LONGITUDE + STEP),
+            new RadarCoordinate(LATITUDE + STEP, LONGITUDE - STEP)
+        };
+        engine.addGeofences(new RadarGeofence[] {
+            new RadarGeofence("circle", new RadarCircleGeometry(new RadarCoordinate(LATITUDE, LONGITUDE), 50)),
+            new RadarGeofence("polygon", new RadarPolygonGeometry(square))
+        });
+
+        assertEquals(2, engine.size());
+        assertEquals(2, evaluate(LATITUDE, 10).length());
+    }
+
+    @Test
+    public void nearestDistanceToCircleEdge() throws Exception {
+        engine.addGeofences(new JSONArray().put(circle("office", 100)));
+
+        assertEquals(Double.POSITIVE_INFINITY, new RadarCordovaGeofenceEngine().nearestDistance(LATITUDE, LONGITUDE), 0);
+        assertEquals(122, engine.nearestDistance(LATITUDE + 2 * STEP, LONGITUDE), 2);
+    }
+
+    @Test
+    public void clearForgetsMembership() throws Exception {
+        engine.addGeofences(new JSONArray().put(circle("office", 100)));
+        evaluate(LATITUDE, 10);
+
+        engine.clear();
+        engine.addGeofences(new JSONArray().put(circle("office", 100)));
+
+        assertEquals(1, evaluate(LATITUDE, 10).length());
+    }
+
+    private JSONArray evaluate(double latitude, float accuracy) throws Exception {
+        return engine.evaluate(latitude, LONGITUDE, accuracy, new JSONObject());
+    }
+
+    private static JSONObject circle(String id, double radius) throws Exception {
+        return new JSONObject()
+            .put("_id", id)
+            .put("center", new JSONObject().put("latitude", LATITUDE).put("longitude", LONGITUDE))
+            .put("radius", radius);
+    }
+
+}
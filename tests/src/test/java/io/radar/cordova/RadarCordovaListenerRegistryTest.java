@@ -0,0 +1,133 @@
+package io.radar.cordova;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import android.location.Location;
+
+import java.util.List;
+
+import org.apache.cordova.CallbackContext;
+import org.apache.cordova.PluginResult;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+
+public class RadarCordovaListenerRegistryTest {
+
+    private final RadarCordovaListenerRegistry registry = new RadarCordovaListenerRegistry();
+
+    @Test
+    public void sameIdReplacesAndReleasesThePreviousCallback() throws Exception {
+        CallbackContext first = new CallbackContext("1", null);
+        CallbackContext second = new CallbackContext("2", null);
+
+        registry.add("onEvents", first, null);
+        registry.add("onEvents", second, null);
+
+        assertEquals(1, registry.subscribers().length);
+        assertTrue(first.isFinished());
+        assertEquals(PluginResult.Status.NO_RESULT.ordinal(), first.getResults().get(0).getStatus());
+        assertFalse(second.isFinished());
+    }
+
+    @Test
+    public void distinctIdsStack() throws Exception {
+        registry.add("onEvents", new CallbackContext("1", null), null);
+        registry.add("onEvents-1", new CallbackContext("2", null), null);
+
+        JSONArray ids = registry.getSubscriberIds();
+        assertEquals(2, ids.length());
+        assertEquals("onEvents", ids.getString(0));
+        assertEquals("onEvents-1", ids.getString(1));
+    }
+
+    @Test
+    public void removeReleasesOneOrAll() {
+        CallbackContext first = new CallbackContext("1", null);
+        registry.add("a", first, null);
+        registry.add("b", new CallbackContext("2", null), null);
+        registry.add("c", new CallbackContext("3", null), null);
+
+        registry.remove("a");
+        assertTrue(first.isFinished());
+        assertEquals(2, registry.subscribers().length);
+
+        registry.remove(null);
+        assertTrue(registry.isEmpty());
+    }
+
+    @Test
+    public void eventFiltersMatchTypeAndTag() throws Exception {
+        JSONObject options = new JSONObject()
+            .put("eventTypes", new JSONArray().put("user.entered_geofence"))
+            .put("geofenceTags", new JSONArray().put("store"));
+        RadarCordovaListenerRegistry.Subscriber subscriber = registry.add("filtered", new CallbackContext("1", null), options);
+
+        JSONArray events = new JSONArray()
+            .put(event("user.entered_geofence", "store"))
+            .put(event("user.exited_geofence", "store"))
+            .put(event("user.entered_geofence", "office"))
+            .put(new JSONObject().put("type", "user.entered_geofence"));
+
+        JSONArray filtered = subscriber.filterEvents(events);
+        assertEquals(1, filtered.length());
+        assertEquals("store", filtered.getJSONObject(0).getJSONObject("geofence").getString("tag"));
+
+        RadarCordovaListenerRegistry.Subscriber unfiltered = registry.add("all", new CallbackContext("2", null), null);
+        assertEquals(4, unfiltered.filterEvents(events).length());
+    }
+
+    @Test
+    public void minAccuracyFiltersLocations() throws Exception {
+        RadarCordovaListenerRegistry.Subscriber subscriber = registry.add("precise", new CallbackContext("1", null), new JSONObject().put("minAccuracy", 20));
+
+        Location precise = new Location("test");
+        precise.setAccuracy(10);
+        Location coarse = new Location("test");
+        coarse.setAccuracy(50);
+
+        assertTrue(subscriber.acceptsLocation(precise));
+        assertFalse(subscriber.acceptsLocation(coarse));
+        assertFalse(subscriber.acceptsLocation(new Location("test")));
+    }
+
+    @Test
+    public void updatesAreBatchedWhenConfigured() throws Exception {
+        CallbackContext callbackContext = new CallbackContext("1", null);
+        RadarCordovaListenerRegistry.Subscriber subscriber = registry.add("onLocation", callbackContext, null);
+
+        subscriber.add(new JSONObject().put("n", 1));
+        assertEquals(1, callbackContext.getResults().size());
+        assertTrue(callbackContext.getResults().get(0).getKeepCallback());
+
+        registry.setBatching(2, 0);
+        subscriber.add(new JSONObject().put("n", 2));
+        assertEquals(1, callbackContext.getResults().size());
+        subscriber.add(new JSONObject().put("n", 3));
+
+        List<PluginResult> results = callbackContext.getResults();
+        assertEquals(2, results.size());
+        JSONArray batch = (JSONArray) results.get(1).getValue();
+        assertEquals(2, batch.length());
+        assertEquals(3, batch.getJSONObject(1).getInt("n"));
+    }
+
+    @Test
+    public void sendErrorKeepsSubscriptionsOpen() {
+        CallbackContext callbackContext = new CallbackContext("1", null);
+        registry.add("onLocation", callbackContext, null);
+
+        registry.sendError();
+
+        PluginResult result = callbackContext.getResults().get(0);
+        assertEquals(PluginResult.Status.JSON_EXCEPTION.ordinal(), result.getStatus());
+        assertFalse(callbackContext.isFinished());
+    }
+
+    private static JSONObject event(String type, String tag) throws Exception {
+        return new JSONObject().put("type", type).put("geofence", new JSONObject().put("tag", tag));
+    }
+
+}
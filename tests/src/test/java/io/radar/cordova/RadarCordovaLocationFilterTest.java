@@ -0,0 +1,95 @@
+package io.radar.cordova;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import android.location.Location;
+
+import org.json.JSONObject;
+import org.junit.Test;
+
+public class RadarCordovaLocationFilterTest {
+
+    private static final double LATITUDE = 40.7128;
+    private static final double LONGITUDE = -74.0060;
+    // roughly 111 m of latitude
+    private static final double STEP = 0.001;
+
+    private final RadarCordovaLocationFilter filter = new RadarCordovaLocationFilter();
+
+    @Test
+    public void passesEverythingByDefault() {
+        Location location = location(0, 0, 10);
+        assertSame(location, filter.filter(location, false));
+        assertNotNull(filter.filter(location(0, 0, 10), false));
+    }
+
+    @Test
+    public void dropsInaccurateFixes() throws Exception {
+        filter.setOptions(0, 0, 50, 0, false, 3);
+
+        assertNull(filter.filter(location(0, 0, 100), false));
+        assertNull(filter.filter(new Location("test"), false));
+        assertNotNull(filter.filter(location(0, 0, 20), false));
+        assertEquals(2, filter.getStats().getLong("droppedAccuracy"));
+    }
+
+    @Test
+    public void dropsFixesTooSoonOrTooCloseUnlessStopped() throws Exception {
+        filter.setOptions(50, 5000, 0, 0, false, 3);
+        filter.filter(location(0, 0, 10), false);
+
+        assertNull(filter.filter(location(STEP, 1000, 10), false));
+        assertNull(filter.filter(location(0.1 * STEP, 10000, 10), false));
+        assertNotNull(filter.filter(location(0.1 * STEP, 10000, 10), true));
+        assertNotNull(filter.filter(location(STEP, 20000, 10), false));
+
+        JSONObject stats = filter.getStats();
+        assertEquals(3, stats.getLong("accepted"));
+        assertEquals(1, stats.getLong("droppedInterval"));
+        assertEquals(1, stats.getLong("droppedDistance"));
+    }
+
+    @Test
+    public void dropsImplausibleJumps() throws Exception {
+        filter.setOptions(0, 0, 0, 50, false, 3);
+        filter.filter(location(0, 0, 10), false);
+
+        // 1.1 km in one second
+        assertNull(filter.filter(location(10 * STEP, 1000, 10), false));
+        assertEquals(1, filter.getStats().getLong("droppedSpeed"));
+    }
+
+    @Test
+    public void smoothingPullsTowardsEarlierFixes() {
+        filter.setOptions(0, 0, 0, 0, true, 3);
+        filter.filter(location(0, 0, 10), false);
+
+        Location smoothed = filter.filter(location(STEP, 1000, 10), false);
+        assertTrue(smoothed.getLatitude() > LATITUDE);
+        assertTrue(smoothed.getLatitude() < LATITUDE + STEP);
+        assertTrue(smoothed.getAccuracy() < 10);
+    }
+
+    @Test
+    public void resetForgetsTheLastFix() {
+        filter.setOptions(0, 5000, 0, 0, false, 3);
+        filter.filter(location(0, 0, 10), false);
+        filter.reset();
+
+        assertNotNull(filter.filter(location(0, 1000, 10), false));
+    }
+
+    private static Location location(double offset, long time, float accuracy) {
+        Location location = new Location("test");
+        location.setLatitude(LATITUDE + offset);
+        location.setLongitude(LONGITUDE);
+        location.setAccuracy(accuracy);
+        location.setTime(time);
+        return location;
+    }
+
+}
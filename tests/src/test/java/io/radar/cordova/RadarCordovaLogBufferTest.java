@@ -0,0 +1,164 @@
+package io.radar.cordova;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RadarCordovaLogBufferTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void readReturnsEntriesInOrder() throws Exception {
+        RadarCordovaLogBuffer buffer = new RadarCordovaLogBuffer(8);
+        buffer.setLevel("debug");
+        buffer.append("one");
+        buffer.append("two");
+
+        JSONObject obj = buffer.read(0, 10);
+        JSONArray logs = obj.getJSONArray("logs");
+
+        assertEquals(2, logs.length());
+        assertEquals("one", logs.getJSONObject(0).getString("message"));
+        assertEquals("debug", logs.getJSONObject(0).getString("level"));
+        assertEquals(1, logs.getJSONObject(1).getLong("seq"));
+        assertEquals(2, obj.getLong("next"));
+        assertEquals(0, obj.getLong("dropped"));
+    }
+
+    @Test
+    public void readPagesWithLimitAndCursor() throws Exception {
+        RadarCordovaLogBuffer buffer = new RadarCordovaLogBuffer(8);
+        for (int i = 0; i < 5; i++) {
+            buffer.append("log " + i);
+        }
+
+        JSONObject first = buffer.read(0, 3);
+        assertEquals(3, first.getJSONArray("logs").length());
+        assertEquals(3, first.getLong("next"));
+
+        JSONObject second = buffer.read(first.getLong("next"), 3);
+        assertEquals(2, second.getJSONArray("logs").length());
+        assertEquals("log 3", second.getJSONArray("logs").getJSONObject(0).getString("message"));
+        assertEquals(5, second.getLong("next"));
+    }
+
+    @Test
+    public void overwrittenEntriesAreCountedAsDropped() throws Exception {
+        RadarCordovaLogBuffer buffer = new RadarCordovaLogBuffer(4);
+        for (int i = 0; i < 10; i++) {
+            buffer.append("log " + i);
+        }
+
+        JSONObject obj = buffer.read(0, 10);
+        JSONArray logs = obj.getJSONArray("logs");
+
+        assertEquals(4, logs.length());
+        assertEquals("log 6", logs.getJSONObject(0).getString("message"));
+        assertEquals(6, obj.getLong("dropped"));
+        assertEquals(10, obj.getLong("next"));
+    }
+
+    @Test
+    public void clearHidesEarlierEntries() throws Exception {
+        RadarCordovaLogBuffer buffer = new RadarCordovaLogBuffer(8);
+        buffer.append("before");
+        buffer.clear();
+        buffer.append("after");
+
+        JSONObject obj = buffer.read(0, 10);
+
+        assertEquals(1, obj.getJSONArray("logs").length());
+        assertEquals("after", obj.getJSONArray("logs").getJSONObject(0).getString("message"));
+        assertEquals(0, obj.getLong("dropped"));
+    }
+
+    @Test
+    public void setCapacityStartsAFreshRing() throws Exception {
+        RadarCordovaLogBuffer buffer = new RadarCordovaLogBuffer(4);
+        buffer.append("old");
+        buffer.setCapacity(16);
+        buffer.append("new");
+
+        JSONArray logs = buffer.read(0, 10).getJSONArray("logs");
+
+        assertEquals(1, logs.length());
+        assertEquals("new", logs.getJSONObject(0).getString("message"));
+    }
+
+    @Test
+    public void listenerReceivesOnlyNewEntries() throws Exception {
+        RadarCordovaLogBuffer buffer = new RadarCordovaLogBuffer(8);
+        buffer.append("before");
+
+        final AtomicReference<JSONArray> received = new AtomicReference<JSONArray>();
+        final CountDownLatch latch = new CountDownLatch(1);
+        buffer.setFlushInterval(50);
+        buffer.start(new RadarCordovaLogBuffer.Listener() {
+            @Override
+            public void onLogs(JSONArray logs) {
+                received.set(logs);
+                latch.countDown();
+            }
+        });
+        buffer.append("after");
+
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertEquals(1, received.get().length());
+            assertEquals("after", received.get().getJSONObject(0).getString("message"));
+        } finally {
+            buffer.stop();
+        }
+    }
+
+    @Test
+    public void fileRotatesPastMaxBytes() throws Exception {
+        File file = new File(folder.getRoot(), "radar.log");
+        RadarCordovaLogBuffer buffer = new RadarCordovaLogBuffer(64);
+        buffer.setLevel("info");
+        buffer.setFlushInterval(50);
+        buffer.setFile(file, 100, 2);
+
+        try {
+            buffer.append("first line that fills most of the file limit on its own, padding");
+            awaitContains(file, "first line");
+
+            buffer.append("second line");
+            awaitContains(file, "second line");
+        } finally {
+            buffer.setFile(null, 0, 0);
+        }
+
+        File rotated = new File(file.getPath() + ".1");
+        assertTrue(rotated.exists());
+        assertTrue(read(rotated).contains("INFO first line"));
+        assertFalse(read(file).contains("first line"));
+    }
+
+    private static void awaitContains(File file, String str) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!(file.exists() && read(file).contains(str))) {
+            assertTrue("timed out waiting for " + str, System.currentTimeMillis() < deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    private static String read(File file) throws Exception {
+        return new String(Files.readAllBytes(file.toPath()), "UTF-8");
+    }
+
+}
@@ -0,0 +1,202 @@
+package io.radar.cordova;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import android.location.Location;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Test;
+
+import io.radar.sdk.Radar;
+import io.radar.sdk.model.RadarRouteMatrix;
+
+public class RadarCordovaMatrixTilerTest {
+
+    private static class RecordingListener implements RadarCordovaMatrixTiler.Listener {
+
+        final List<JSONArray> rows = new ArrayList<JSONArray>();
+        final List<Radar.RadarStatus> statuses = new ArrayList<Radar.RadarStatus>();
+        JSONArray matrix;
+
+        @Override
+        public void onRows(JSONArray rows) {
+            this.rows.add(rows);
+        }
+
+        @Override
+        public void onComplete(Radar.RadarStatus status, JSONArray matrix) {
+            statuses.add(status);
+            this.matrix = matrix;
+        }
+
+    }
+
+    private final RecordingListener listener = new RecordingListener();
+
+    @After
+    public void tearDown() {
+        Radar.matrixHandler = null;
+    }
+
+    @Test
+    public void tilesAreStitchedIntoOneMatrix() throws Exception {
+        Radar.matrixHandler = new Radar.MatrixHandler() {
+            @Override
+            public void getMatrix(Location[] origins, Location[] destinations, Radar.RadarRouteMode mode, Radar.RadarRouteUnits units, Radar.RadarMatrixCallback callback) {
+                callback.onComplete(Radar.RadarStatus.SUCCESS, matrix(origins, destinations));
+            }
+        };
+
+        new RadarCordovaMatrixTiler(locations(3), locations(5), Radar.RadarRouteMode.CAR, Radar.RadarRouteUnits.METRIC, 2, 2, 1, listener).start();
+
+        assertEquals(1, listener.statuses.size());
+        assertEquals(Radar.RadarStatus.SUCCESS, listener.statuses.get(0));
+        assertEquals(3, listener.matrix.length());
+        for (int i = 0; i < 3; i++) {
+            JSONArray row = listener.matrix.getJSONArray(i);
+            assertEquals(5, row.length());
+            for (int j = 0; j < 5; j++) {
+                JSONObject route = row.getJSONObject(j);
+                assertEquals(i, route.getInt("originIndex"));
+                assertEquals(j, route.getInt("destinationIndex"));
+                assertEquals(i * 100 + j, route.getInt("distance"));
+            }
+        }
+
+        assertEquals(2, listener.rows.size());
+        assertEquals(2, listener.rows.get(0).length());
+        assertEquals(2, listener.rows.get(1).getJSONObject(0).getInt("originIndex"));
+    }
+
+    @Test
+    public void parallelismBoundsRequestsInFlight() {
+        final LinkedList<Runnable> pending = new LinkedList<Runnable>();
+        Radar.matrixHandler = new Radar.MatrixHandler() {
+            @Override
+            public void getMatrix(final Location[] origins, final Location[] destinations, Radar.RadarRouteMode mode, Radar.RadarRouteUnits units, final Radar.RadarMatrixCallback callback) {
+                pending.add(new Runnable() {
+                    @Override
+                    public void run() {
+                        callback.onComplete(Radar.RadarStatus.SUCCESS, matrix(origins, destinations));
+                    }
+                });
+            }
+        };
+
+        new RadarCordovaMatrixTiler(locations(4), locations(4), Radar.RadarRouteMode.CAR, Radar.RadarRouteUnits.METRIC, 1, 1, 3, listener).start();
+
+        int maxInFlight = 0;
+        while (!pending.isEmpty()) {
+            maxInFlight = Math.max(maxInFlight, pending.size());
+            pending.removeFirst().run();
+        }
+
+        assertEquals(3, maxInFlight);
+        assertEquals(Radar.RadarStatus.SUCCESS, listener.statuses.get(0));
+        assertEquals(4, listener.rows.size());
+    }
+
+    @Test
+    public void firstFailureStopsTheRestAndCompletesOnce() {
+        final int[] calls = new int[1];
+        Radar.matrixHandler = new Radar.MatrixHandler() {
+            @Override
+            public void getMatrix(Location[] origins, Location[] destinations, Radar.RadarRouteMode mode, Radar.RadarRouteUnits units, Radar.RadarMatrixCallback callback) {
+                calls[0]++;
+                if (calls[0] == 2) {
+                    callback.onComplete(Radar.RadarStatus.ERROR_NETWORK, null);
+                } else {
+                    callback.onComplete(Radar.RadarStatus.SUCCESS, matrix(origins, destinations));
+                }
+            }
+        };
+
+        new RadarCordovaMatrixTiler(locations(4), locations(4), Radar.RadarRouteMode.CAR, Radar.RadarRouteUnits.METRIC, 1, 4, 1, listener).start();
+
+        assertEquals(2, calls[0]);
+        assertEquals(1, listener.statuses.size());
+        assertEquals(Radar.RadarStatus.ERROR_NETWORK, listener.statuses.get(0));
+        assertNull(listener.matrix);
+    }
+
+    @Test
+    public void perOriginSubsetsAreBoundedAndStitchedAtTheirIndices() throws Exception {
+        final LinkedList<Runnable> pending = new LinkedList<Runnable>();
+        final List<Integer> requestSizes = new ArrayList<Integer>();
+        Radar.matrixHandler = new Radar.MatrixHandler() {
+            @Override
+            public void getMatrix(final Location[] origins, final Location[] destinations, Radar.RadarRouteMode mode, Radar.RadarRouteUnits units, final Radar.RadarMatrixCallback callback) {
+                requestSizes.add(origins.length * destinations.length);
+                pending.add(new Runnable() {
+                    @Override
+                    public void run() {
+                        callback.onComplete(Radar.RadarStatus.SUCCESS, matrix(origins, destinations));
+                    }
+                });
+            }
+        };
+
+        int[][] destinationIndices = { { 3, 1 }, {}, { 0 }, { 2, 4 }, { 4 } };
+        new RadarCordovaMatrixTiler(locations(5), locations(5), destinationIndices, Radar.RadarRouteMode.CAR, Radar.RadarRouteUnits.METRIC, 2, listener).start();
+
+        int maxInFlight = 0;
+        while (!pending.isEmpty()) {
+            maxInFlight = Math.max(maxInFlight, pending.size());
+            pending.removeFirst().run();
+        }
+
+        assertEquals(2, maxInFlight);
+        assertEquals(4, requestSizes.size());
+        assertEquals(2, (int) requestSizes.get(0));
+        assertEquals(4, listener.rows.size());
+
+        JSONArray row = listener.matrix.getJSONArray(0);
+        assertEquals(3, row.getJSONObject(3).getInt("distance"));
+        assertEquals(3, row.getJSONObject(3).getInt("destinationIndex"));
+        assertEquals(1, row.getJSONObject(1).getInt("distance"));
+        assertNull(row.optJSONObject(0));
+        assertEquals(0, listener.matrix.getJSONArray(1).length());
+        assertEquals(304, listener.matrix.getJSONArray(3).getJSONObject(4).getInt("distance"));
+    }
+
+    @Test
+    public void emptyInputCompletesImmediately() {
+        new RadarCordovaMatrixTiler(new Location[0], locations(2), Radar.RadarRouteMode.CAR, Radar.RadarRouteUnits.METRIC, 2, 2, 1, listener).start();
+
+        assertEquals(Radar.RadarStatus.SUCCESS, listener.statuses.get(0));
+        assertEquals(0, listener.matrix.length());
+    }
+
+    private static Location[] locations(int count) {
+        Location[] locations = new Location[count];
+        for (int i = 0; i < count; i++) {
+            locations[i] = new Location("test");
+            locations[i].setLatitude(i);
+        }
+        return locations;
+    }
+
+    // each route carries its tile-local indices, like the SDK response, and encodes the global ones in its distance
+    private static RadarRouteMatrix matrix(Location[] origins, Location[] destinations) {
+        JSONArray rows = new JSONArray();
+        for (int i = 0; i < origins.length; i++) {
+            JSONArray row = new JSONArray();
+            for (int j = 0; j < destinations.length; j++) {
+                row.put(new JSONObject()
+                    .put("originIndex", i)
+                    .put("destinationIndex", j)
+                    .put("distance", (int) origins[i].getLatitude() * 100 + (int) destinations[j].getLatitude()));
+            }
+            rows.put(row);
+        }
+        return new RadarRouteMatrix(rows);
+    }
+
+}
@@ -0,0 +1,168 @@
+package io.radar.cordova;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.radar.sdk.Radar;
+
+public class RadarCordovaOfflineQueueTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final List<JSONObject> sent = Collections.synchronizedList(new ArrayList<JSONObject>());
+    private final ConnectivityManager connectivityManager = new ConnectivityManager();
+    private volatile Radar.RadarStatus status = Radar.RadarStatus.SUCCESS;
+    private Context context;
+
+    @Before
+    public void setUp() throws Exception {
+        final File filesDir = folder.newFolder("files");
+        context = new Context() {
+            @Override
+            public Context getApplicationContext() {
+                return this;
+            }
+
+            @Override
+            public File getFilesDir() {
+                return filesDir;
+            }
+
+            @Override
+            public Object getSystemService(String name) {
+                return Context.CONNECTIVITY_SERVICE.equals(name) ? connectivityManager : null;
+            }
+        };
+
+        Radar.sendEventHandler = new Radar.SendEventHandler() {
+            @Override
+            public void sendEvent(String customType, JSONObject metadata, Radar.RadarSendEventCallback callback) {
+                try {
+                    sent.add(new JSONObject().put("customType", customType).put("metadata", new JSONObject(metadata.toString())));
+                } catch (Exception e) {
+                    throw new AssertionError(e);
+                }
+                callback.onComplete(status, null, null, null);
+            }
+        };
+    }
+
+    @After
+    public void tearDown() {
+        Radar.sendEventHandler = null;
+    }
+
+    @Test
+    public void recordsReplayInOrderAfterRestart() throws Exception {
+        RadarCordovaOfflineQueue queue = new RadarCordovaOfflineQueue(context);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(queue.enqueueSendEvent("event" + i, new JSONObject()));
+        }
+        assertEquals(0, sent.size());
+
+        final RadarCordovaOfflineQueue restarted = new RadarCordovaOfflineQueue(context);
+        assertEquals(3, restarted.getStats().getLong("depth"));
+        restarted.setOptions(true, 2, 60000, false);
+        await(() -> restarted.getStats().getLong("replayed") == 3);
+
+        assertEquals(3, sent.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals("event" + i, sent.get(i).getString("customType"));
+        }
+        assertEquals(0, restarted.getStats().getLong("depth"));
+    }
+
+    @Test
+    public void successfulRecordsAreAcknowledged() throws Exception {
+        final RadarCordovaOfflineQueue queue = new RadarCordovaOfflineQueue(context);
+        queue.enqueueSendEvent("event", new JSONObject());
+        queue.setOptions(true, 10, 60000, false);
+        await(() -> queue.getStats().getLong("depth") == 0);
+
+        assertEquals(0, new RadarCordovaOfflineQueue(context).getStats().getLong("depth"));
+    }
+
+    @Test
+    public void nonNetworkErrorsAreDiscarded() throws Exception {
+        status = Radar.RadarStatus.ERROR_BAD_REQUEST;
+        final RadarCordovaOfflineQueue queue = new RadarCordovaOfflineQueue(context);
+        queue.enqueueSendEvent("first", new JSONObject());
+        queue.enqueueSendEvent("second", new JSONObject());
+        queue.setOptions(true, 10, 60000, false);
+        await(() -> queue.getStats().getLong("discarded") == 2);
+
+        assertEquals(2, sent.size());
+        assertEquals(0, queue.getStats().getLong("depth"));
+        assertEquals(0, queue.getStats().getLong("replayed"));
+    }
+
+    @Test
+    public void networkErrorsBackOffUntilConnectivityReturns() throws Exception {
+        status = Radar.RadarStatus.ERROR_NETWORK;
+        final RadarCordovaOfflineQueue queue = new RadarCordovaOfflineQueue(context);
+        queue.enqueueSendEvent("first", new JSONObject());
+        queue.enqueueSendEvent("second", new JSONObject());
+
+        long before = System.currentTimeMillis();
+        queue.setOptions(true, 10, 60000, false);
+        await(() -> queue.getStats().getLong("backoff") == 2000);
+
+        JSONObject stats = queue.getStats();
+        assertEquals(1, sent.size());
+        assertEquals(2, stats.getLong("depth"));
+        assertTrue(stats.getLong("nextAttemptAt") >= before + 1000);
+
+        status = Radar.RadarStatus.SUCCESS;
+        connectivityManager.getDefaultNetworkCallback().onAvailable(new Network());
+        await(() -> queue.getStats().getLong("depth") == 0);
+
+        assertEquals(1000, queue.getStats().getLong("backoff"));
+        assertEquals("first", sent.get(1).getString("customType"));
+        assertEquals("second", sent.get(2).getString("customType"));
+    }
+
+    @Test
+    public void queuedAtIsOnlyStampedWhenEnabled() throws Exception {
+        final RadarCordovaOfflineQueue queue = new RadarCordovaOfflineQueue(context);
+        queue.enqueueSendEvent("plain", new JSONObject().put("a", 1));
+        queue.setOptions(true, 10, 60000, false);
+        await(() -> queue.getStats().getLong("replayed") == 1);
+
+        queue.setOptions(true, 10, 60000, true);
+        queue.enqueueSendEvent("stamped", new JSONObject());
+        queue.drainNow();
+        await(() -> queue.getStats().getLong("replayed") == 2);
+
+        assertFalse(sent.get(0).getJSONObject("metadata").has("queuedAt"));
+        assertEquals(1, sent.get(0).getJSONObject("metadata").getInt("a"));
+        assertTrue(sent.get(1).getJSONObject("metadata").getLong("queuedAt") > 0);
+    }
+
+    private static void await(Callable<Boolean> condition) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.call()) {
+            assertTrue("timed out", System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+
+}
@@ -0,0 +1,57 @@
+package io.radar.cordova;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.cordova.CallbackContext;
+import org.apache.cordova.PluginResult;
+import org.json.JSONObject;
+import org.junit.Test;
+
+public class RadarCordovaRequestCoalescerTest {
+
+    private final RadarCordovaRequestCoalescer coalescer = new RadarCordovaRequestCoalescer();
+
+    @Test
+    public void followersShareTheLeadersResult() throws Exception {
+        CallbackContext leader = new CallbackContext("1", null);
+        CallbackContext follower = new CallbackContext("2", null);
+
+        assertTrue(coalescer.join("getContext", leader));
+        assertFalse(coalescer.join("getContext", follower));
+
+        PluginResult pluginResult = new PluginResult(PluginResult.Status.OK, new JSONObject());
+        coalescer.complete("getContext", pluginResult);
+
+        assertSame(pluginResult, leader.getResults().get(0));
+        assertSame(pluginResult, follower.getResults().get(0));
+
+        JSONObject stats = coalescer.getStats();
+        assertEquals(2, stats.getLong("requests"));
+        assertEquals(1, stats.getLong("collapsed"));
+        assertEquals(0, stats.getInt("inFlight"));
+    }
+
+    @Test
+    public void completingReleasesTheKey() {
+        coalescer.join("ipGeocode", new CallbackContext("1", null));
+        coalescer.complete("ipGeocode", new PluginResult(PluginResult.Status.ERROR, "java.lang.IllegalStateException"));
+
+        assertTrue(coalescer.join("ipGeocode", new CallbackContext("2", null)));
+    }
+
+    @Test
+    public void distinctKeysDoNotCoalesce() {
+        assertTrue(coalescer.join("reverseGeocode:40.7128,-74.006", new CallbackContext("1", null)));
+        assertTrue(coalescer.join("reverseGeocode:40.71281,-74.006", new CallbackContext("2", null)));
+    }
+
+    @Test
+    public void completingAnUnknownKeyIsIgnored() throws Exception {
+        coalescer.complete("missing", new PluginResult(PluginResult.Status.OK));
+        assertEquals(0, coalescer.getStats().getInt("inFlight"));
+    }
+
+}
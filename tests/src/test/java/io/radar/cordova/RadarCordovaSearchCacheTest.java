@@ -0,0 +1,96 @@
+package io.radar.cordova;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RadarCordovaSearchCacheTest {
+
+    private static final double LATITUDE = 40.7128;
+    private static final double LONGITUDE = -74.0060;
+    // roughly 111 m of latitude
+    private static final double STEP = 0.001;
+
+    private final RadarCordovaSearchCache cache = new RadarCordovaSearchCache();
+    private final String filterKey = RadarCordovaSearchCache.filterKey("places", new String[] { "starbucks" }, null);
+
+    @Before
+    public void setUp() throws Exception {
+        JSONArray items = new JSONArray();
+        double[] latitudes = new double[3];
+        double[] longitudes = new double[3];
+        for (int i = 0; i < 3; i++) {
+            latitudes[i] = LATITUDE + (i + 1) * STEP;
+            longitudes[i] = LONGITUDE;
+            items.put(new JSONObject().put("_id", "place" + i));
+        }
+        cache.put(filterKey, LATITUDE, LONGITUDE, 1000, 10, items, latitudes, longitudes);
+    }
+
+    @Test
+    public void completeResultSetAnswersSmallerRadius() throws Exception {
+        JSONArray arr = cache.get(filterKey, LATITUDE, LONGITUDE, 250, 10);
+
+        assertNotNull(arr);
+        assertEquals(2, arr.length());
+        assertEquals("place0", arr.getJSONObject(0).getString("_id"));
+        assertEquals(1, cache.getStats().getLong("hits"));
+    }
+
+    @Test
+    public void resultsAreSortedFromTheNewCenterAndLimited() throws Exception {
+        JSONArray arr = cache.get(filterKey, LATITUDE + 3 * STEP, LONGITUDE, 500, 2);
+
+        assertEquals(2, arr.length());
+        assertEquals("place2", arr.getJSONObject(0).getString("_id"));
+        assertEquals("place1", arr.getJSONObject(1).getString("_id"));
+    }
+
+    @Test
+    public void queryReachingOutsideTheCachedCircleMisses() throws Exception {
+        assertNull(cache.get(filterKey, LATITUDE + 5 * STEP, LONGITUDE, 500, 10));
+        assertEquals(1, cache.getStats().getLong("misses"));
+    }
+
+    @Test
+    public void differentFiltersMiss() {
+        String otherKey = RadarCordovaSearchCache.filterKey("places", new String[] { "walmart" }, null);
+        assertNull(cache.get(otherKey, LATITUDE, LONGITUDE, 250, 10));
+    }
+
+    @Test
+    public void truncatedPageNeverAnswers() throws Exception {
+        cache.clear();
+        JSONArray items = new JSONArray().put(new JSONObject()).put(new JSONObject());
+        cache.put(filterKey, LATITUDE, LONGITUDE, 1000, 2, items, new double[] { LATITUDE, LATITUDE }, new double[] { LONGITUDE, LONGITUDE });
+
+        assertNull(cache.get(filterKey, LATITUDE, LONGITUDE, 250, 2));
+    }
+
+    @Test
+    public void filterKeyIgnoresArrayOrder() {
+        assertEquals(RadarCordovaSearchCache.filterKey("geofences", new String[] { "store", "airport" }, null),
+            RadarCordovaSearchCache.filterKey("geofences", new String[] { "airport", "store" }, null));
+    }
+
+    @Test
+    public void filterKeyExpandsArrays() {
+        assertEquals("places|[a, b]|null|5", RadarCordovaSearchCache.filterKey("places", new String[] { "a", "b" }, null, 5));
+    }
+
+    @Test
+    public void oldestEntryIsEvicted() throws Exception {
+        cache.setOptions(1, 60000);
+        cache.put("a", LATITUDE, LONGITUDE, 1000, 10, new JSONArray(), new double[0], new double[0]);
+        cache.put("b", LATITUDE, LONGITUDE, 1000, 10, new JSONArray(), new double[0], new double[0]);
+
+        assertNull(cache.get("a", LATITUDE, LONGITUDE, 100, 10));
+        assertNotNull(cache.get("b", LATITUDE, LONGITUDE, 100, 10));
+    }
+
+}
@@ -0,0 +1,112 @@
+package io.radar.cordova;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.cordova.CallbackContext;
+import org.apache.cordova.PluginResult;
+import org.json.JSONObject;
+import org.junit.Test;
+
+public class RadarCordovaStartupTest {
+
+    private final RadarCordovaStartup startup = new RadarCordovaStartup();
+
+    @Test
+    public void awaitBeforeCompleteIsSettledOnComplete() throws Exception {
+        startup.markLoaded();
+        assertTrue(startup.begin("prj_test_pk", "eager"));
+
+        CallbackContext first = new CallbackContext("1", null);
+        CallbackContext second = new CallbackContext("2", null);
+        startup.await(first);
+        startup.await(second);
+        assertFalse(first.isFinished());
+
+        startup.complete(new JSONObject("{\"userId\":\"user\"}"));
+
+        assertTrue(first.isFinished());
+        assertTrue(second.isFinished());
+        assertEquals(PluginResult.Status.OK.ordinal(), first.getResults().get(0).getStatus());
+        JSONObject ready = (JSONObject) first.getResults().get(0).getValue();
+        assertEquals("user", ready.getJSONObject("state").getString("userId"));
+        assertEquals("eager", ready.getJSONObject("metrics").getString("mode"));
+    }
+
+    @Test
+    public void awaitAfterCompleteSettlesImmediately() throws Exception {
+        startup.begin("prj_test_pk", "lazy");
+        startup.complete(new JSONObject());
+
+        CallbackContext callbackContext = new CallbackContext("1", null);
+        startup.await(callbackContext);
+
+        assertTrue(startup.isReady());
+        assertTrue(callbackContext.isFinished());
+    }
+
+    @Test
+    public void beginIsIdempotentForTheSameKey() throws Exception {
+        assertTrue(startup.begin("prj_test_pk", "eager"));
+        assertFalse(startup.begin("prj_test_pk", "eager"));
+
+        startup.complete(new JSONObject());
+        assertFalse(startup.begin("prj_test_pk", "eager"));
+
+        assertTrue(startup.begin("prj_live_pk", "eager"));
+        assertFalse(startup.isReady());
+    }
+
+    @Test
+    public void deferredWorkRunsOnceInitializeCompletes() throws Exception {
+        final List<String> ran = new ArrayList<String>();
+        Runnable runnable = new Runnable() {
+            @Override
+            public void run() {
+                ran.add("getContext");
+            }
+        };
+
+        assertFalse(startup.defer(runnable));
+
+        startup.begin("prj_test_pk", "async");
+        assertTrue(startup.defer(runnable));
+        assertTrue(ran.isEmpty());
+
+        startup.complete(new JSONObject());
+        assertEquals(1, ran.size());
+        assertFalse(startup.defer(runnable));
+        assertEquals(1, ran.size());
+    }
+
+    @Test
+    public void metricsAreNullUntilMeasured() throws Exception {
+        JSONObject metrics = startup.toJson();
+
+        assertFalse(metrics.getBoolean("ready"));
+        assertEquals(JSONObject.NULL, metrics.get("mode"));
+        assertEquals(JSONObject.NULL, metrics.get("loadToReady"));
+        assertEquals(JSONObject.NULL, metrics.get("timeToFirstTrack"));
+    }
+
+    @Test
+    public void firstTrackIsMeasuredOnce() throws Exception {
+        startup.markLoaded();
+        startup.markTracked();
+        assertEquals(JSONObject.NULL, startup.toJson().get("timeToFirstTrack"));
+
+        startup.markTrackRequested();
+        startup.markTracked();
+        Object timeToFirstTrack = startup.toJson().get("timeToFirstTrack");
+        assertTrue(timeToFirstTrack instanceof Double);
+
+        Thread.sleep(5);
+        startup.markTracked();
+        assertEquals(timeToFirstTrack, startup.toJson().get("timeToFirstTrack"));
+    }
+
+}
@@ -0,0 +1,113 @@
+package io.radar.cordova;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RadarCordovaStateCacheTest {
+
+    private final RadarCordovaStateCache cache = new RadarCordovaStateCache();
+    private final List<JSONObject> changes = new ArrayList<JSONObject>();
+
+    @Before
+    public void setUp() {
+        cache.setListener(new RadarCordovaStateCache.Listener() {
+            @Override
+            public void onStateChange(JSONObject change) {
+                changes.add(change);
+            }
+        });
+    }
+
+    @Test
+    public void writesBeforeLoadAreIgnored() throws Exception {
+        cache.put("userId", "user");
+
+        assertFalse(cache.isLoaded());
+        assertNull(cache.get("userId"));
+        assertTrue(changes.isEmpty());
+    }
+
+    @Test
+    public void loadPublishesInitialState() throws Exception {
+        cache.load(new JSONObject("{\"userId\":\"user\",\"description\":\"test\"}"));
+
+        assertTrue(cache.isLoaded());
+        assertEquals("user", cache.get("userId"));
+        assertEquals(1, changes.size());
+        assertEquals(1, changes.get(0).getLong("version"));
+        assertEquals(2, changes.get(0).getJSONArray("changed").length());
+        assertEquals("test", changes.get(0).getJSONObject("state").getString("description"));
+    }
+
+    @Test
+    public void unchangedValuesDoNotBumpVersion() throws Exception {
+        cache.load(new JSONObject("{\"userId\":\"user\",\"metadata\":{\"a\":1}}"));
+        cache.put("userId", "user");
+        cache.put("metadata", new JSONObject("{\"a\":1}"));
+
+        assertEquals(1, changes.size());
+        assertEquals(1, cache.toJson().getLong("version"));
+    }
+
+    @Test
+    public void changedValuesAreReported() throws Exception {
+        cache.load(new JSONObject("{\"userId\":\"user\",\"description\":\"test\"}"));
+        cache.update(new JSONObject("{\"userId\":\"user\",\"description\":\"updated\"}"));
+
+        assertEquals(2, changes.size());
+        JSONObject change = changes.get(1);
+        assertEquals(2, change.getLong("version"));
+        assertEquals(1, change.getJSONArray("changed").length());
+        assertEquals("description", change.getJSONArray("changed").getString(0));
+        assertEquals(2, change.getJSONObject("state").getLong("version"));
+    }
+
+    @Test
+    public void trackingStateUpdatesEmitOnlyOnChange() throws Exception {
+        cache.load(new JSONObject("{\"userId\":\"user\",\"isTracking\":false,\"trackingOptions\":null,\"tripOptions\":null}"));
+
+        cache.update(new JSONObject("{\"isTracking\":true,\"trackingOptions\":{\"desiredStoppedUpdateInterval\":0},\"tripOptions\":null}"));
+        cache.update(new JSONObject("{\"isTracking\":true,\"trackingOptions\":{\"desiredStoppedUpdateInterval\":0},\"tripOptions\":null}"));
+
+        assertEquals(2, changes.size());
+        JSONObject change = changes.get(1);
+        assertEquals(2, change.getJSONArray("changed").length());
+        assertTrue(change.getJSONObject("state").getBoolean("isTracking"));
+        assertEquals("user", change.getJSONObject("state").getString("userId"));
+
+        cache.update(new JSONObject("{\"isTracking\":false,\"trackingOptions\":{\"desiredStoppedUpdateInterval\":0},\"tripOptions\":null}"));
+        assertEquals(3, changes.size());
+        assertEquals("isTracking", changes.get(2).getJSONArray("changed").getString(0));
+    }
+
+    @Test
+    public void nullIsStoredAndReadBackAsNull() throws Exception {
+        cache.load(new JSONObject("{\"description\":\"test\"}"));
+        cache.put("description", null);
+
+        assertNull(cache.get("description"));
+        assertEquals(JSONObject.NULL, cache.toJson().get("description"));
+        assertEquals(2, changes.size());
+    }
+
+    @Test
+    public void snapshotIsDetachedFromLaterWrites() throws Exception {
+        cache.load(new JSONObject("{\"userId\":\"user\"}"));
+        JSONObject snapshot = cache.toJson();
+
+        cache.put("userId", "other");
+
+        assertEquals("user", snapshot.getString("userId"));
+        assertEquals("other", cache.get("userId"));
+    }
+
+}
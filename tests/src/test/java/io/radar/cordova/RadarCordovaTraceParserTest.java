@@ -0,0 +1,108 @@
+package io.radar.cordova;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import android.location.Location;
+
+import java.util.List;
+
+import org.junit.Test;
+
+public class RadarCordovaTraceParserTest {
+
+    @Test
+    public void csvWithHeaderMapsColumnsByName() throws Exception {
+        String csv = "time,lng,lat,accuracy,speed\n"
+            + "2023-11-14T22:13:20Z,-74.006,40.7128,5,1.5\n"
+            + "\n"
+            + "1700000001,-74.007,40.7129,,\n";
+
+        List<Location> locations = RadarCordovaTraceParser.parse(csv, RadarCordovaTraceParser.FORMAT_CSV);
+
+        assertEquals(2, locations.size());
+        assertEquals(40.7128, locations.get(0).getLatitude(), 0);
+        assertEquals(-74.006, locations.get(0).getLongitude(), 0);
+        assertEquals(5, locations.get(0).getAccuracy(), 0);
+        assertEquals(1.5, locations.get(0).getSpeed(), 0);
+        assertEquals(1700000000000L, locations.get(0).getTime());
+        assertEquals(1700000001000L, locations.get(1).getTime());
+        assertFalse(locations.get(1).hasAccuracy());
+    }
+
+    @Test
+    public void csvWithoutHeaderIsLatitudeLongitude() {
+        List<Location> locations = RadarCordovaTraceParser.parseCsv("40.7128,-74.006\r\n40.7129,-74.007");
+
+        assertEquals(2, locations.size());
+        assertEquals(40.7129, locations.get(1).getLatitude(), 0);
+        assertEquals(0, locations.get(1).getTime());
+    }
+
+    @Test
+    public void geoJsonLineStringUsesCoordTimes() throws Exception {
+        String geoJson = "{\"type\":\"Feature\",\"properties\":{\"coordTimes\":[\"2023-11-14T22:13:20.000+00:00\",\"2023-11-14T22:13:21Z\"]},"
+            + "\"geometry\":{\"type\":\"LineString\",\"coordinates\":[[-74.006,40.7128,10],[-74.007,40.7129]]}}";
+
+        List<Location> locations = RadarCordovaTraceParser.parseGeoJson(geoJson);
+
+        assertEquals(2, locations.size());
+        assertEquals(40.7128, locations.get(0).getLatitude(), 0);
+        assertEquals(10, locations.get(0).getAltitude(), 0);
+        assertEquals(1700000000000L, locations.get(0).getTime());
+        assertEquals(1700000001000L, locations.get(1).getTime());
+    }
+
+    @Test
+    public void geoJsonFeatureCollectionOfPoints() throws Exception {
+        String geoJson = "{\"type\":\"FeatureCollection\",\"features\":["
+            + "{\"type\":\"Feature\",\"properties\":{\"timestamp\":1700000000000,\"accuracy\":8},\"geometry\":{\"type\":\"Point\",\"coordinates\":[-74.006,40.7128]}},"
+            + "{\"type\":\"Feature\",\"properties\":{},\"geometry\":{\"type\":\"Point\",\"coordinates\":[-74.007,40.7129]}}]}";
+
+        List<Location> locations = RadarCordovaTraceParser.parseGeoJson(geoJson);
+
+        assertEquals(2, locations.size());
+        assertEquals(1700000000000L, locations.get(0).getTime());
+        assertEquals(8, locations.get(0).getAccuracy(), 0);
+        assertEquals(-74.007, locations.get(1).getLongitude(), 0);
+    }
+
+    @Test
+    public void gpxTrackPoints() throws Exception {
+        String gpx = "<?xml version=\"1.0\"?><gpx version=\"1.1\"><trk><trkseg>"
+            + "<trkpt lat=\"40.7128\" lon=\"-74.006\"><ele>10</ele><time>2023-11-14T22:13:20Z</time><hdop>2</hdop></trkpt>"
+            + "<trkpt lat=\"40.7129\" lon=\"-74.007\"><time>2023-11-14T22:13:21Z</time></trkpt>"
+            + "</trkseg></trk></gpx>";
+
+        List<Location> locations = RadarCordovaTraceParser.parse(gpx, RadarCordovaTraceParser.FORMAT_GPX);
+
+        assertEquals(2, locations.size());
+        assertEquals(10, locations.get(0).getAltitude(), 0);
+        assertEquals(10, locations.get(0).getAccuracy(), 0);
+        assertEquals(1700000000000L, locations.get(0).getTime());
+        assertEquals(40.7129, locations.get(1).getLatitude(), 0);
+        assertFalse(locations.get(1).hasAccuracy());
+    }
+
+    @Test
+    public void detectFormatPrefersExtensionThenContent() {
+        assertEquals(RadarCordovaTraceParser.FORMAT_GPX, RadarCordovaTraceParser.detectFormat("/tmp/Trace.GPX", "1,2"));
+        assertEquals(RadarCordovaTraceParser.FORMAT_GEOJSON, RadarCordovaTraceParser.detectFormat("trace.json", ""));
+        assertEquals(RadarCordovaTraceParser.FORMAT_GPX, RadarCordovaTraceParser.detectFormat(null, "  <gpx/>"));
+        assertEquals(RadarCordovaTraceParser.FORMAT_GEOJSON, RadarCordovaTraceParser.detectFormat(null, "[]"));
+        assertEquals(RadarCordovaTraceParser.FORMAT_CSV, RadarCordovaTraceParser.detectFormat(null, "40.7,-74.0"));
+    }
+
+    @Test
+    public void unknownFormatIsRejected() throws Exception {
+        try {
+            RadarCordovaTraceParser.parse("", "kml");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("kml"));
+            return;
+        }
+        throw new AssertionError("expected IllegalArgumentException");
+    }
+
+}
@@ -0,0 +1,142 @@
+package io.radar.cordova;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import android.location.Location;
+
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RadarCordovaTripProgressTest {
+
+    // a straight route east along the equator, about 1112 m of polyline reported by the API as 1200 m and 2 minutes
+    private static final String TRIP = "{\"externalId\":\"trip\",\"status\":\"started\",\"mode\":\"car\","
+        + "\"destinationLocation\":{\"coordinates\":[0.01,0]}}";
+    private static final String ROUTE = "{\"geometry\":{\"coordinates\":[[0,0],[0.005,0],[0.01,0]]},"
+        + "\"distance\":{\"value\":1200},\"duration\":{\"value\":2}}";
+
+    private final RadarCordovaTripProgress tripProgress = new RadarCordovaTripProgress();
+    private final long now = 1700000000000L;
+
+    @Before
+    public void setUp() {
+        tripProgress.setOptions(1000, 10000, 50, 30000);
+    }
+
+    @Test
+    public void reconcileRequestsTheRouteOnce() throws Exception {
+        assertTrue(tripProgress.reconcile(new JSONObject(TRIP)));
+
+        Location destination = tripProgress.beginRouteRequest(now);
+        assertNotNull(destination);
+        assertEquals(0.01, destination.getLongitude(), 0);
+        assertFalse(tripProgress.needsRoute(now));
+        assertNull(tripProgress.beginRouteRequest(now));
+
+        tripProgress.routeRequestFailed(0, 0.01);
+        assertTrue(tripProgress.needsRoute(now));
+    }
+
+    @Test
+    public void withoutARouteRemainingIsGeodesicWithDetour() throws Exception {
+        tripProgress.reconcile(new JSONObject(TRIP));
+        tripProgress.update(fix(0, 0), now);
+
+        JSONObject progress = tripProgress.estimate(now);
+        assertEquals("geodesic", progress.getString("source"));
+        assertEquals(RadarCordovaGeo.distance(0, 0, 0, 0.01) * 1.3, progress.getJSONObject("eta").getDouble("distance"), 0.001);
+    }
+
+    @Test
+    public void fixesAreProjectedOntoTheRoute() throws Exception {
+        startOnRoute();
+        tripProgress.update(fix(0.0001, 0.0025), now);
+
+        JSONObject progress = tripProgress.estimate(now);
+        assertEquals("route", progress.getString("source"));
+        assertEquals(0.25, progress.getDouble("progress"), 0.001);
+        assertFalse(progress.getBoolean("offRoute"));
+        assertEquals(11.1, progress.getDouble("offRouteDistance"), 0.1);
+        assertEquals(900, progress.getJSONObject("eta").getDouble("distance"), 0.5);
+        assertEquals(1.5, progress.getJSONObject("eta").getDouble("duration"), 0.01);
+    }
+
+    @Test
+    public void movingFixesAreExtrapolated() throws Exception {
+        startOnRoute();
+        Location location = fix(0, 0.0025);
+        location.setSpeed(10);
+        tripProgress.update(location, now);
+
+        JSONObject progress = tripProgress.estimate(now + 3000);
+        assertTrue(progress.getBoolean("interpolated"));
+        assertEquals(870, progress.getJSONObject("eta").getDouble("distance"), 0.5);
+
+        // capped at maxExtrapolation
+        assertEquals(800, tripProgress.estimate(now + 60000).getJSONObject("eta").getDouble("distance"), 0.5);
+    }
+
+    @Test
+    public void serverEtaCorrectsTheProjectionAndFadesOut() throws Exception {
+        startOnRoute();
+        tripProgress.update(fix(0, 0.0025), now);
+
+        tripProgress.reconcile(new JSONObject(TRIP).put("eta", new JSONObject().put("distance", 1000).put("duration", 4)));
+        JSONObject progress = tripProgress.estimate(now);
+        assertEquals(1000, progress.getJSONObject("eta").getDouble("distance"), 0.5);
+        assertEquals(4, progress.getJSONObject("eta").getDouble("duration"), 0.01);
+        assertTrue(progress.has("reconciledAt"));
+
+        // the correction shrinks with the remaining distance
+        tripProgress.update(fix(0, 0.0075), now);
+        assertEquals(300 + 100 * 300 / 900.0, tripProgress.estimate(now).getJSONObject("eta").getDouble("distance"), 0.5);
+    }
+
+    @Test
+    public void terminalStatusClearsTheTrip() throws Exception {
+        startOnRoute();
+        tripProgress.update(fix(0, 0.0025), now);
+
+        assertFalse(tripProgress.reconcile(new JSONObject(TRIP).put("status", "completed")));
+        assertNull(tripProgress.estimate(now));
+        assertEquals(Double.POSITIVE_INFINITY, tripProgress.distanceToDestination(0, 0), 0);
+    }
+
+    @Test
+    public void leavingTheRouteRefetchesAtMostOncePerInterval() throws Exception {
+        startOnRoute();
+
+        assertFalse(tripProgress.update(fix(0.0001, 0.0025), now + 1000));
+        // ~220 m off the route, but the route was only just fetched
+        assertFalse(tripProgress.update(fix(0.002, 0.0025), now + 1000));
+        assertTrue(tripProgress.estimate(now + 1000).getBoolean("offRoute"));
+
+        assertTrue(tripProgress.update(fix(0.002, 0.0025), now + 30000));
+        assertNotNull(tripProgress.beginRouteRequest(now + 30000));
+        assertFalse(tripProgress.update(fix(0.002, 0.003), now + 31000));
+
+        // a route through the new position puts the fix back on it
+        tripProgress.setRoute(0, 0.01, new JSONObject("{\"geometry\":{\"coordinates\":[[0.0025,0.002],[0.01,0.002],[0.01,0]]}}"));
+        assertFalse(tripProgress.update(fix(0.002, 0.003), now + 32000));
+        assertFalse(tripProgress.estimate(now + 32000).getBoolean("offRoute"));
+    }
+
+    private void startOnRoute() throws Exception {
+        tripProgress.reconcile(new JSONObject(TRIP));
+        Location destination = tripProgress.beginRouteRequest(now);
+        tripProgress.setRoute(destination.getLatitude(), destination.getLongitude(), new JSONObject(ROUTE));
+    }
+
+    private static Location fix(double latitude, double longitude) {
+        Location location = new Location("test");
+        location.setLatitude(latitude);
+        location.setLongitude(longitude);
+        return location;
+    }
+
+}
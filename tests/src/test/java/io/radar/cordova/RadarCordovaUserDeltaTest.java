@@ -0,0 +1,68 @@
+package io.radar.cordova;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.json.JSONObject;
+import org.junit.Test;
+
+public class RadarCordovaUserDeltaTest {
+
+    private final RadarCordovaUserDelta userDelta = new RadarCordovaUserDelta();
+
+    @Test
+    public void firstEncodeIsAKeyframe() throws Exception {
+        JSONObject delta = userDelta.encode(user("a", 1));
+
+        assertTrue(delta.getBoolean("keyframe"));
+        assertEquals(1, delta.getLong("version"));
+        assertEquals("a", delta.getJSONObject("user").getString("_id"));
+    }
+
+    @Test
+    public void laterEncodesCarryOnlyChanges() throws Exception {
+        userDelta.encode(user("a", 1).put("description", "old"));
+
+        JSONObject delta = userDelta.encode(user("a", 2));
+
+        assertFalse(delta.getBoolean("keyframe"));
+        assertEquals(2, delta.getLong("version"));
+        assertEquals(1, delta.getJSONObject("set").length());
+        assertEquals(2, delta.getJSONObject("set").getInt("locationAccuracy"));
+        assertEquals(1, delta.getJSONArray("unset").length());
+        assertEquals("description", delta.getJSONArray("unset").getString(0));
+    }
+
+    @Test
+    public void nestedChangesAreDetected() throws Exception {
+        userDelta.encode(user("a", 1).put("metadata", new JSONObject().put("plan", "free")));
+
+        JSONObject delta = userDelta.encode(user("a", 1).put("metadata", new JSONObject().put("plan", "pro")));
+
+        assertEquals("pro", delta.getJSONObject("set").getJSONObject("metadata").getString("plan"));
+    }
+
+    @Test
+    public void keyframeIntervalForcesPeriodicKeyframes() throws Exception {
+        userDelta.setKeyframeInterval(3);
+
+        assertTrue(userDelta.encode(user("a", 1)).getBoolean("keyframe"));
+        assertFalse(userDelta.encode(user("a", 1)).getBoolean("keyframe"));
+        assertFalse(userDelta.encode(user("a", 1)).getBoolean("keyframe"));
+        assertTrue(userDelta.encode(user("a", 1)).getBoolean("keyframe"));
+    }
+
+    @Test
+    public void requestKeyframeResendsTheWholeUser() throws Exception {
+        userDelta.encode(user("a", 1));
+        userDelta.requestKeyframe();
+
+        assertTrue(userDelta.encode(user("a", 1)).getBoolean("keyframe"));
+    }
+
+    private static JSONObject user(String id, int accuracy) throws Exception {
+        return new JSONObject().put("_id", id).put("locationAccuracy", accuracy);
+    }
+
+}